@@ -0,0 +1,66 @@
+package com.fdmgroup.documentuploader.benchmark;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.user.User;
+
+/**
+ * Measures {@link AccountCostCalculator#calculateRate(Account)} for service
+ * levels with a fixed price and for those whose price grows with the number of
+ * users.
+ *
+ * @author Noah Anderson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountCostCalculatorBenchmark {
+
+	private static final int USERS = 250;
+
+	@Param({ "BRONZE", "UNLIMITED", "ENTERPRISE" })
+	private ServiceLevel serviceLevel;
+
+	private final AccountCostCalculator calculator = new AccountCostCalculator();
+
+	private Account account;
+
+	@Setup
+	public void setup() {
+		Set<User> users = new HashSet<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(new User.UserBuilder().setEmail("user" + i + "@email.com").build());
+		}
+		this.account = new Account.AccountBuilder()
+				.setServiceLevel(serviceLevel)
+				.setUsers(users)
+				.build();
+	}
+
+	@Benchmark
+	public BigDecimal calculateRate() {
+		return calculator.calculateRate(account);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.fdmgroup.documentuploader.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+
+/**
+ * Measures how long Jackson takes to serialise and deserialise an
+ * {@link AccountSummary} holding a given number of documents, as JSON and as
+ * CBOR, with mappers configured the same way as the ones used by the web
+ * client.
+ *
+ * @author Noah Anderson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMappingBenchmark {
+
+	@Param({ "1", "100", "1000" })
+	private int documentCount;
+
+	private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+	private AccountSummary account;
+	private byte[] accountJson;
+	private byte[] accountCbor;
+
+	@Setup
+	public void setup() throws IOException {
+		User owner = new User.UserBuilder()
+				.setEmail("owner@email.com")
+				.setFirstName("Owner")
+				.setLastName("Name")
+				.build();
+		Set<DocumentSummary> documents = new HashSet<>();
+		for (int i = 0; i < documentCount; i++) {
+			DocumentSummary document = new DocumentSummary("document" + i, "docx", 1024L * i);
+			document.setId(i);
+			document.setHash(String.format("%064x", i));
+			document.setCreatedAt(LocalDateTime.of(2020, 1, 1, 0, 0));
+			document.setUpdatedAt(LocalDateTime.of(2020, 1, 2, 0, 0));
+			documents.add(document);
+		}
+		this.account = new AccountSummary(1, "account", owner, ServiceLevel.GOLD, Collections.singleton(owner),
+				documents);
+		this.accountJson = jsonMapper.writeValueAsBytes(account);
+		this.accountCbor = cborMapper.writeValueAsBytes(account);
+	}
+
+	@Benchmark
+	public byte[] serialiseJson() throws IOException {
+		return jsonMapper.writeValueAsBytes(account);
+	}
+
+	@Benchmark
+	public AccountSummary deserialiseJson() throws IOException {
+		return jsonMapper.readValue(accountJson, AccountSummary.class);
+	}
+
+	@Benchmark
+	public byte[] serialiseCbor() throws IOException {
+		return cborMapper.writeValueAsBytes(account);
+	}
+
+	@Benchmark
+	public AccountSummary deserialiseCbor() throws IOException {
+		return cborMapper.readValue(accountCbor, AccountSummary.class);
+	}
+
+}
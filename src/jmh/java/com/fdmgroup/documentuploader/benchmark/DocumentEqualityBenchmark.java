@@ -0,0 +1,59 @@
+package com.fdmgroup.documentuploader.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fdmgroup.documentuploader.model.document.Document;
+
+/**
+ * Measures {@link Document#hashCode()} and {@link Document#equals(Object)} on
+ * two equal documents whose contents are separate arrays, so neither can be
+ * answered by comparing references.
+ *
+ * @author Noah Anderson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentEqualityBenchmark {
+
+	@Param({ "1024", "1048576", "10485760" })
+	private int contentSize;
+
+	private Document document;
+	private Document equalDocument;
+
+	@Setup
+	public void setup() {
+		byte[] content = new byte[contentSize];
+		new Random(contentSize).nextBytes(content);
+		this.document = new Document("report", "docx", content);
+		this.equalDocument = new Document("report", "docx", content.clone());
+	}
+
+	@Benchmark
+	public int hashCodeOfDocument() {
+		return document.hashCode();
+	}
+
+	@Benchmark
+	public boolean equalsOfEqualDocuments() {
+		return document.equals(equalDocument);
+	}
+
+}
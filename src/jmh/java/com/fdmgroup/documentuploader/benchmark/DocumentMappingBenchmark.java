@@ -0,0 +1,79 @@
+package com.fdmgroup.documentuploader.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.service.api.BinaryCodecNegotiator;
+
+/**
+ * Compares sending a {@link Document} with its contents to the data service as
+ * JSON, which base64-encodes the contents, and as CBOR, which carries them as
+ * raw bytes.
+ *
+ * @author Noah Anderson
+ * @see BinaryCodecNegotiator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentMappingBenchmark {
+
+	@Param({ "1024", "1048576", "10485760" })
+	private int contentSize;
+
+	private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+	private Document document;
+	private byte[] documentJson;
+	private byte[] documentCbor;
+
+	@Setup
+	public void setup() throws IOException {
+		byte[] content = new byte[contentSize];
+		new Random(contentSize).nextBytes(content);
+		this.document = new Document("report", "docx", content);
+		this.documentJson = jsonMapper.writeValueAsBytes(document);
+		this.documentCbor = cborMapper.writeValueAsBytes(document);
+	}
+
+	@Benchmark
+	public byte[] serialiseJson() throws IOException {
+		return jsonMapper.writeValueAsBytes(document);
+	}
+
+	@Benchmark
+	public Document deserialiseJson() throws IOException {
+		return jsonMapper.readValue(documentJson, Document.class);
+	}
+
+	@Benchmark
+	public byte[] serialiseCbor() throws IOException {
+		return cborMapper.writeValueAsBytes(document);
+	}
+
+	@Benchmark
+	public Document deserialiseCbor() throws IOException {
+		return cborMapper.readValue(documentCbor, Document.class);
+	}
+
+}
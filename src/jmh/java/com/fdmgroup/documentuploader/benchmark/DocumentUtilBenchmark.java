@@ -0,0 +1,63 @@
+package com.fdmgroup.documentuploader.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.StreamUtils;
+
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.util.DocumentUtil;
+
+/**
+ * Measures creating a {@link Document} from an uploaded file with
+ * {@link DocumentUtil#createDocument}, at file sizes from 1 KB to 10 MB. The
+ * contents are copied out of the upload on every call, as they are for the
+ * multipart files of a servlet request.
+ *
+ * @author Noah Anderson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentUtilBenchmark {
+
+	@Param({ "1024", "1048576", "10485760" })
+	private int fileSize;
+
+	private MockMultipartFile file;
+
+	@Setup
+	public void setup() {
+		byte[] content = new byte[fileSize];
+		new Random(fileSize).nextBytes(content);
+		this.file = new MockMultipartFile("file", "report.docx", "application/octet-stream", content) {
+
+			@Override
+			public byte[] getBytes() throws IOException {
+				return StreamUtils.copyToByteArray(getInputStream());
+			}
+		};
+	}
+
+	@Benchmark
+	public Document createDocument() throws IOException {
+		return DocumentUtil.createDocument(file);
+	}
+
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Root of the document uploader application which was developed by the authors listed below.
@@ -15,6 +16,7 @@ import org.springframework.context.annotation.PropertySource;
 @SpringBootApplication
 @ConfigurationPropertiesScan("com.fdmgroup.documentuploader.config")
 @PropertySource(value = { "classpath:/paths.properties" })
+@EnableScheduling
 public class DocumentuploaderApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,200 @@
+package com.fdmgroup.documentuploader.aop.timing;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fdmgroup.documentuploader.aop.logging.LoggerFactory;
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Times every public controller and service method. A sample of the calls is
+ * recorded in the {@code method.calls} timer, tagged with the {@code class} and
+ * {@code method}, whose percentile histogram gives the latency of each method.
+ * Calls which take longer than the slow call threshold are logged at WARN
+ * along with a summary of their parameters, whether or not they were sampled.
+ * Methods returning a {@link Mono} or a {@link Flux} are timed until it
+ * terminates or is cancelled.
+ * </p>
+ * <p>
+ * Parameters are summarised by their type and size rather than by
+ * {@code toString()}, which would be costly for documents and would write
+ * passwords and other user input into the log.
+ * </p>
+ * <p>
+ * Unless a call is sampled or slow, timing it costs two reads of the clock. The
+ * settings start from {@link Timing} and can be changed at runtime through the
+ * {@link TimingEndpoint}.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Component
+@Aspect
+public class TimingAspect {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TimingAspect.class);
+
+	/**
+	 * The timer of each method which has had a call sampled, keyed by the method.
+	 */
+	private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	private volatile boolean enabled;
+	private volatile double sampleRate;
+	private volatile long slowCallThresholdNanos;
+
+	@Autowired
+	public TimingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+		super();
+		this.meterRegistry = meterRegistry;
+		Timing timing = applicationProperties.getTiming();
+		this.enabled = timing.isEnabled();
+		this.sampleRate = timing.getSampleRate();
+		this.slowCallThresholdNanos = timing.getSlowCallThreshold().toNanos();
+	}
+
+	/**
+	 * Times a call to a public controller or service method.
+	 *
+	 * @param point the call being timed
+	 * @return the value returned by the call
+	 * @throws Throwable anything thrown by the call
+	 */
+	@Around("execution(public * com.fdmgroup.documentuploader.controller..*.*(..)) "
+			+ "|| (within(@org.springframework.stereotype.Service *) && execution(public * *(..)))")
+	public Object timeMethod(ProceedingJoinPoint point) throws Throwable {
+		if (!enabled) {
+			return point.proceed();
+		}
+		long start = System.nanoTime();
+		Object result;
+		try {
+			result = point.proceed();
+		} catch (Throwable e) {
+			record(point, start);
+			throw e;
+		}
+		if (result instanceof Mono) {
+			return ((Mono<?>) result).doFinally(signal -> record(point, start));
+		}
+		if (result instanceof Flux) {
+			return ((Flux<?>) result).doFinally(signal -> record(point, start));
+		}
+		record(point, start);
+		return result;
+	}
+
+	private void record(ProceedingJoinPoint point, long start) {
+		long elapsedNanos = System.nanoTime() - start;
+		boolean slow = elapsedNanos >= slowCallThresholdNanos;
+		boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+		if (!slow && !sampled) {
+			return;
+		}
+		Method method = ((MethodSignature) point.getSignature()).getMethod();
+		if (sampled) {
+			timers.computeIfAbsent(method, m -> Timer.builder("method.calls")
+					.description("Time taken by calls to controller and service methods")
+					.tag("class", point.getTarget().getClass().getSimpleName())
+					.tag("method", m.getName())
+					.publishPercentileHistogram()
+					.register(meterRegistry))
+					.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		}
+		if (slow) {
+			LOGGER.warn("Slow call to " + point.getTarget().getClass().getSimpleName() + "." + method.getName()
+					+ " took " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms with parameters ("
+					+ summarise(point.getArgs()) + ")");
+		}
+	}
+
+	/**
+	 * Summarises each parameter by its type and, where it has one, its size.
+	 * Numbers, booleans and enums, which are short and carry no user input, are
+	 * written as they are.
+	 *
+	 * @param args the parameters of a call
+	 * @return the summaries, separated by commas
+	 */
+	static String summarise(Object[] args) {
+		StringBuilder summary = new StringBuilder();
+		for (int i = 0; i < args.length; i++) {
+			if (i > 0) {
+				summary.append(", ");
+			}
+			summarise(args[i], summary);
+		}
+		return summary.toString();
+	}
+
+	private static void summarise(Object arg, StringBuilder summary) {
+		if (arg == null || arg instanceof Number || arg instanceof Boolean || arg instanceof Enum) {
+			summary.append(arg);
+		} else if (arg instanceof CharSequence) {
+			summary.append("String(length=").append(((CharSequence) arg).length()).append(')');
+		} else if (arg.getClass().isArray()) {
+			summary.append(arg.getClass().getComponentType().getSimpleName())
+					.append('[').append(Array.getLength(arg)).append(']');
+		} else if (arg instanceof Collection) {
+			appendSize(arg, ((Collection<?>) arg).size(), summary);
+		} else if (arg instanceof Map) {
+			appendSize(arg, ((Map<?, ?>) arg).size(), summary);
+		} else if (arg instanceof MultipartFile) {
+			summary.append("MultipartFile(size=").append(((MultipartFile) arg).getSize()).append(')');
+		} else {
+			summary.append(arg.getClass().getSimpleName());
+		}
+	}
+
+	private static void appendSize(Object arg, int size, StringBuilder summary) {
+		summary.append(arg.getClass().getSimpleName()).append("(size=").append(size).append(')');
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	public void setSampleRate(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public long getSlowCallThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(slowCallThresholdNanos);
+	}
+
+	public void setSlowCallThresholdMillis(long slowCallThresholdMillis) {
+		this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis);
+	}
+
+}
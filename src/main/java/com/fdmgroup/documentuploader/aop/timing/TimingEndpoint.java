@@ -0,0 +1,79 @@
+package com.fdmgroup.documentuploader.aop.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.MessageSource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint, exposed at {@code /actuator/timing}, which reports and
+ * changes the settings of the {@link TimingAspect} while the application runs.
+ * A {@code POST} with any of {@code enabled}, {@code sampleRate} and
+ * {@code slowCallThresholdMillis} changes only the settings given, and none of
+ * them if any is out of range. Like every actuator endpoint but health and
+ * info, it is only served to administrators.
+ *
+ * @author Noah Anderson
+ */
+@Component
+@Endpoint(id = "timing")
+public class TimingEndpoint {
+
+	private final TimingAspect timingAspect;
+
+	/**
+	 * Used to retrieve messages from messages.properties.
+	 */
+	private final MessageSource messageSource;
+
+	@Autowired
+	public TimingEndpoint(TimingAspect timingAspect, MessageSource messageSource) {
+		super();
+		this.timingAspect = timingAspect;
+		this.messageSource = messageSource;
+	}
+
+	@ReadOperation
+	public Map<String, Object> settings() {
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("enabled", timingAspect.isEnabled());
+		settings.put("sampleRate", timingAspect.getSampleRate());
+		settings.put("slowCallThresholdMillis", timingAspect.getSlowCallThresholdMillis());
+		return settings;
+	}
+
+	@WriteOperation
+	public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double sampleRate,
+			@Nullable Long slowCallThresholdMillis) {
+		if (sampleRate != null && !(sampleRate >= 0 && sampleRate <= 1)) {
+			throw invalidRequest("timing.invalid-sample-rate");
+		}
+		if (slowCallThresholdMillis != null && slowCallThresholdMillis < 0) {
+			throw invalidRequest("timing.invalid-slow-call-threshold");
+		}
+		if (enabled != null) {
+			timingAspect.setEnabled(enabled);
+		}
+		if (sampleRate != null) {
+			timingAspect.setSampleRate(sampleRate);
+		}
+		if (slowCallThresholdMillis != null) {
+			timingAspect.setSlowCallThresholdMillis(slowCallThresholdMillis);
+		}
+		return settings();
+	}
+
+	private InvalidEndpointRequestException invalidRequest(String key) {
+		String message = messageSource.getMessage(key, null, Locale.getDefault());
+		return new InvalidEndpointRequestException(message, message);
+	}
+
+}
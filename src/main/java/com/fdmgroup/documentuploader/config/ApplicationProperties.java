@@ -1,7 +1,14 @@
 package com.fdmgroup.documentuploader.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import com.fdmgroup.documentuploader.enums.ExecutorMode;
 
 /**
  * Encapsulates all constant values to be used throughout the application which
@@ -16,16 +23,73 @@ import org.springframework.boot.context.properties.ConstructorBinding;
 public class ApplicationProperties {
 
 	private final RequestUris requestUris;
+	private final Documents documents;
+	private final Session session;
+	private final DataService dataService;
+	private final UserCache userCache;
+	private final ChunkedUpload chunkedUpload;
+	private final RequestHandling requestHandling;
+	private final WriteBehind writeBehind;
+	private final Resilience resilience;
+	private final Timing timing;
 
-	public ApplicationProperties(RequestUris requestUris) {
+	public ApplicationProperties(RequestUris requestUris, Documents documents, Session session,
+			DataService dataService, UserCache userCache, ChunkedUpload chunkedUpload,
+			RequestHandling requestHandling, WriteBehind writeBehind, Resilience resilience,
+			Timing timing) {
 		super();
 		this.requestUris = requestUris;
+		this.documents = documents;
+		this.session = session;
+		this.dataService = dataService;
+		this.userCache = userCache;
+		this.chunkedUpload = chunkedUpload;
+		this.requestHandling = requestHandling;
+		this.writeBehind = writeBehind;
+		this.resilience = resilience;
+		this.timing = timing;
 	}
 
 	public RequestUris getRequestUris() {
 		return requestUris;
 	}
 
+	public Documents getDocuments() {
+		return documents;
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	public DataService getDataService() {
+		return dataService;
+	}
+
+	public UserCache getUserCache() {
+		return userCache;
+	}
+
+	public ChunkedUpload getChunkedUpload() {
+		return chunkedUpload;
+	}
+
+	public RequestHandling getRequestHandling() {
+		return requestHandling;
+	}
+
+	public WriteBehind getWriteBehind() {
+		return writeBehind;
+	}
+
+	public Resilience getResilience() {
+		return resilience;
+	}
+
+	public Timing getTiming() {
+		return timing;
+	}
+
 	/**
 	 * Static inner class of {@link ApplicationProperties} which encapsulates all
 	 * the request uris used throughout the application.
@@ -51,11 +115,14 @@ public class ApplicationProperties {
 		private final String downloadDocument;
 		private final String confirmAccount;
 		private final String changePassword;
+		private final String upload;
+		private final String batchUpload;
 
 		public RequestUris(String login, String dashboard, String account, String settings, String editProfileInfo,
 				String updatePassword, String serviceLevel, String upgradeServiceLevel, String addUser,
 				String deleteUser, String forgotPassword, String resetPassword, String deleteDocument,
-				String downloadDocument, String confirmAccount, String changePassword) {
+				String downloadDocument, String confirmAccount, String changePassword, String upload,
+				String batchUpload) {
 			super();
 			this.login = login;
 			this.dashboard = dashboard;
@@ -73,6 +140,8 @@ public class ApplicationProperties {
 			this.downloadDocument = downloadDocument;
 			this.confirmAccount = confirmAccount;
 			this.changePassword = changePassword;
+			this.upload = upload;
+			this.batchUpload = batchUpload;
 		}
 
 		public String getLogin() {
@@ -139,5 +208,560 @@ public class ApplicationProperties {
 		public String getChangePassword() {
 			return changePassword;
 		}
+
+		public String getUpload() {
+			return upload;
+		}
+
+		public String getBatchUpload() {
+			return batchUpload;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * settings used when transferring document contents to and from the data
+	 * service.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class Documents {
+
+		/**
+		 * Whether uploaded files are streamed to the data service in chunks rather
+		 * than being read into memory and sent as part of a JSON body.
+		 */
+		private final boolean streamingUpload;
+
+		/**
+		 * The size, in bytes, of each chunk read from an uploaded file while it is
+		 * being streamed to the data service.
+		 */
+		private final int bufferSize;
+
+		/**
+		 * The maximum number of files of a batch upload sent to the data service at
+		 * the same time.
+		 */
+		private final int batchParallelism;
+
+		public Documents(@DefaultValue("true") boolean streamingUpload, @DefaultValue("8192") int bufferSize,
+				@DefaultValue("4") int batchParallelism) {
+			super();
+			this.streamingUpload = streamingUpload;
+			this.bufferSize = bufferSize;
+			this.batchParallelism = batchParallelism;
+		}
+
+		public boolean isStreamingUpload() {
+			return streamingUpload;
+		}
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public int getBatchParallelism() {
+			return batchParallelism;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * settings of the cache used to resolve the account id stored in a user's
+	 * session to the account it identifies.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class Session {
+
+		/**
+		 * How long a resolved account is reused before it is fetched from the data
+		 * service again.
+		 */
+		private final Duration cacheTtl;
+
+		/**
+		 * The maximum number of resolved accounts kept in the cache.
+		 */
+		private final long cacheMaximumSize;
+
+		public Session(@DefaultValue("30s") Duration cacheTtl, @DefaultValue("10000") long cacheMaximumSize) {
+			super();
+			this.cacheTtl = cacheTtl;
+			this.cacheMaximumSize = cacheMaximumSize;
+		}
+
+		public Duration getCacheTtl() {
+			return cacheTtl;
+		}
+
+		public long getCacheMaximumSize() {
+			return cacheMaximumSize;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * connection pool, timeout and protocol settings of the client used to call
+	 * the data service.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class DataService {
+
+		/**
+		 * The maximum number of open connections to the data service.
+		 */
+		private final int maxConnections;
+
+		/**
+		 * The maximum number of requests waiting for a free connection before
+		 * further requests are rejected.
+		 */
+		private final int pendingAcquireMaxCount;
+
+		/**
+		 * How long a request waits for a free connection before it fails.
+		 */
+		private final Duration pendingAcquireTimeout;
+
+		/**
+		 * How long a connection may stay idle in the pool before it is closed.
+		 */
+		private final Duration maxIdleTime;
+
+		/**
+		 * How long establishing a connection may take before it fails.
+		 */
+		private final Duration connectTimeout;
+
+		/**
+		 * The maximum time without receiving any data on a connection.
+		 */
+		private final Duration readTimeout;
+
+		/**
+		 * The maximum time a write to a connection may take.
+		 */
+		private final Duration writeTimeout;
+
+		/**
+		 * The maximum time to wait for the response of a request to start.
+		 */
+		private final Duration responseTimeout;
+
+		/**
+		 * Whether connections are kept open and reused between requests.
+		 */
+		private final boolean keepAlive;
+
+		/**
+		 * Whether requests are made using cleartext HTTP/2, falling back to
+		 * HTTP/1.1.
+		 */
+		private final boolean http2;
+
+		/**
+		 * Whether documents are sent to and accepted from the data service as CBOR,
+		 * so their contents travel as raw bytes rather than base64 text. JSON is
+		 * used instead once the data service rejects CBOR.
+		 */
+		private final boolean binaryDocuments;
+
+		public DataService(@DefaultValue("50") int maxConnections, @DefaultValue("100") int pendingAcquireMaxCount,
+				@DefaultValue("5s") Duration pendingAcquireTimeout, @DefaultValue("30s") Duration maxIdleTime,
+				@DefaultValue("2s") Duration connectTimeout, @DefaultValue("30s") Duration readTimeout,
+				@DefaultValue("30s") Duration writeTimeout, @DefaultValue("10s") Duration responseTimeout,
+				@DefaultValue("true") boolean keepAlive, @DefaultValue("false") boolean http2,
+				@DefaultValue("true") boolean binaryDocuments) {
+			super();
+			this.maxConnections = maxConnections;
+			this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+			this.pendingAcquireTimeout = pendingAcquireTimeout;
+			this.maxIdleTime = maxIdleTime;
+			this.connectTimeout = connectTimeout;
+			this.readTimeout = readTimeout;
+			this.writeTimeout = writeTimeout;
+			this.responseTimeout = responseTimeout;
+			this.keepAlive = keepAlive;
+			this.http2 = http2;
+			this.binaryDocuments = binaryDocuments;
+		}
+
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		public int getPendingAcquireMaxCount() {
+			return pendingAcquireMaxCount;
+		}
+
+		public Duration getPendingAcquireTimeout() {
+			return pendingAcquireTimeout;
+		}
+
+		public Duration getMaxIdleTime() {
+			return maxIdleTime;
+		}
+
+		public Duration getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public Duration getReadTimeout() {
+			return readTimeout;
+		}
+
+		public Duration getWriteTimeout() {
+			return writeTimeout;
+		}
+
+		public Duration getResponseTimeout() {
+			return responseTimeout;
+		}
+
+		public boolean isKeepAlive() {
+			return keepAlive;
+		}
+
+		public boolean isHttp2() {
+			return http2;
+		}
+
+		public boolean isBinaryDocuments() {
+			return binaryDocuments;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * settings of the cache placed in front of user lookups. The cache is turned
+	 * off entirely with {@code app.user-cache.enabled=false}.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class UserCache {
+
+		/**
+		 * How long a retrieved user is reused before it is fetched again.
+		 */
+		private final Duration ttl;
+
+		/**
+		 * The maximum number of users kept in each of the by id and by email caches.
+		 */
+		private final long maximumSize;
+
+		public UserCache(@DefaultValue("5m") Duration ttl, @DefaultValue("10000") long maximumSize) {
+			super();
+			this.ttl = ttl;
+			this.maximumSize = maximumSize;
+		}
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public long getMaximumSize() {
+			return maximumSize;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * settings of uploads sent in several chunks which are staged on local disk
+	 * until the upload is completed.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class ChunkedUpload {
+
+		/**
+		 * The directory the chunks of unfinished uploads are written to.
+		 */
+		private final Path stagingDirectory;
+
+		/**
+		 * The size of every chunk of an upload except the last.
+		 */
+		private final DataSize chunkSize;
+
+		/**
+		 * The largest file which may be uploaded in chunks.
+		 */
+		private final DataSize maxFileSize;
+
+		/**
+		 * How long an upload may go without receiving a chunk before it is
+		 * abandoned and its staged chunks are deleted.
+		 */
+		private final Duration sessionTimeout;
+
+		/**
+		 * The most unfinished uploads a single account may have at once.
+		 */
+		private final int maxSessionsPerAccount;
+
+		/**
+		 * The most disk space the unfinished uploads of a single account may take
+		 * up in the staging directory, counting the full size of each file.
+		 */
+		private final DataSize maxStagedSizePerAccount;
+
+		public ChunkedUpload(Path stagingDirectory, @DefaultValue("5MB") DataSize chunkSize,
+				@DefaultValue("1GB") DataSize maxFileSize, @DefaultValue("1h") Duration sessionTimeout,
+				@DefaultValue("5") int maxSessionsPerAccount, @DefaultValue("2GB") DataSize maxStagedSizePerAccount) {
+			super();
+			this.stagingDirectory = stagingDirectory;
+			this.chunkSize = chunkSize;
+			this.maxFileSize = maxFileSize;
+			this.sessionTimeout = sessionTimeout;
+			this.maxSessionsPerAccount = maxSessionsPerAccount;
+			this.maxStagedSizePerAccount = maxStagedSizePerAccount;
+		}
+
+		public Path getStagingDirectory() {
+			return stagingDirectory;
+		}
+
+		public DataSize getChunkSize() {
+			return chunkSize;
+		}
+
+		public DataSize getMaxFileSize() {
+			return maxFileSize;
+		}
+
+		public Duration getSessionTimeout() {
+			return sessionTimeout;
+		}
+
+		public int getMaxSessionsPerAccount() {
+			return maxSessionsPerAccount;
+		}
+
+		public DataSize getMaxStagedSizePerAccount() {
+			return maxStagedSizePerAccount;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates how
+	 * incoming requests, and the blocking data service calls made while handling
+	 * them, are executed.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class RequestHandling {
+
+		/**
+		 * Whether controllers which offer a non-blocking variant are registered in
+		 * place of their blocking counterparts.
+		 */
+		private final boolean reactive;
+
+		/**
+		 * The kind of threads which run servlet requests and blocking data service
+		 * calls.
+		 */
+		private final ExecutorMode executor;
+
+		public RequestHandling(@DefaultValue("false") boolean reactive,
+				@DefaultValue("PLATFORM") ExecutorMode executor) {
+			super();
+			this.reactive = reactive;
+			this.executor = executor;
+		}
+
+		public boolean isReactive() {
+			return reactive;
+		}
+
+		public ExecutorMode getExecutor() {
+			return executor;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * settings of the queue which sends updates to the data service after the
+	 * request which made them has been answered.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class WriteBehind {
+
+		/**
+		 * The maximum number of writes waiting to be sent or in flight.
+		 */
+		private final int capacity;
+
+		/**
+		 * How long a caller waits for space in a full queue before the write is
+		 * rejected.
+		 */
+		private final Duration offerTimeout;
+
+		/**
+		 * How many times a failed idempotent write is retried.
+		 */
+		private final int maxRetries;
+
+		/**
+		 * The delay before the first retry, doubled for each further retry and
+		 * randomised by up to half its value.
+		 */
+		private final Duration retryBackoff;
+
+		/**
+		 * How long shutdown waits for queued writes to be sent.
+		 */
+		private final Duration shutdownTimeout;
+
+		public WriteBehind(@DefaultValue("1000") int capacity, @DefaultValue("5s") Duration offerTimeout,
+				@DefaultValue("3") int maxRetries, @DefaultValue("200ms") Duration retryBackoff,
+				@DefaultValue("30s") Duration shutdownTimeout) {
+			super();
+			this.capacity = capacity;
+			this.offerTimeout = offerTimeout;
+			this.maxRetries = maxRetries;
+			this.retryBackoff = retryBackoff;
+			this.shutdownTimeout = shutdownTimeout;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public Duration getOfferTimeout() {
+			return offerTimeout;
+		}
+
+		public int getMaxRetries() {
+			return maxRetries;
+		}
+
+		public Duration getRetryBackoff() {
+			return retryBackoff;
+		}
+
+		public Duration getShutdownTimeout() {
+			return shutdownTimeout;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * retry and circuit breaker settings applied to reads from the data service.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class Resilience {
+
+		/**
+		 * How many times a read which failed with a connection error, a timeout or
+		 * a server error is retried.
+		 */
+		private final int maxRetries;
+
+		/**
+		 * The delay before the first retry, doubled for each further retry and
+		 * randomised by up to half its value.
+		 */
+		private final Duration retryBackoff;
+
+		/**
+		 * The number of consecutive failed reads from one resource of the data
+		 * service after which further reads fail immediately.
+		 */
+		private final int failureThreshold;
+
+		/**
+		 * How long reads fail immediately before a single trial read is let
+		 * through.
+		 */
+		private final Duration openDuration;
+
+		public Resilience(@DefaultValue("2") int maxRetries, @DefaultValue("100ms") Duration retryBackoff,
+				@DefaultValue("5") int failureThreshold, @DefaultValue("30s") Duration openDuration) {
+			super();
+			this.maxRetries = maxRetries;
+			this.retryBackoff = retryBackoff;
+			this.failureThreshold = failureThreshold;
+			this.openDuration = openDuration;
+		}
+
+		public int getMaxRetries() {
+			return maxRetries;
+		}
+
+		public Duration getRetryBackoff() {
+			return retryBackoff;
+		}
+
+		public int getFailureThreshold() {
+			return failureThreshold;
+		}
+
+		public Duration getOpenDuration() {
+			return openDuration;
+		}
+	}
+
+	/**
+	 * Static inner class of {@link ApplicationProperties} which encapsulates the
+	 * initial settings of the timing of controller and service methods. They can
+	 * be changed at runtime through the {@code timing} actuator endpoint.
+	 *
+	 * @author Noah Anderson
+	 *
+	 */
+	public static class Timing {
+
+		/**
+		 * Whether controller and service methods are timed at all.
+		 */
+		private final boolean enabled;
+
+		/**
+		 * The fraction of calls, between {@code 0} and {@code 1}, recorded in the
+		 * latency histograms.
+		 */
+		private final double sampleRate;
+
+		/**
+		 * How long a call may take before it is logged as slow. Slow calls are
+		 * logged whether or not they were sampled.
+		 */
+		private final Duration slowCallThreshold;
+
+		public Timing(@DefaultValue("true") boolean enabled, @DefaultValue("0.1") double sampleRate,
+				@DefaultValue("500ms") Duration slowCallThreshold) {
+			super();
+			this.enabled = enabled;
+			this.sampleRate = sampleRate;
+			this.slowCallThreshold = slowCallThreshold;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public double getSampleRate() {
+			return sampleRate;
+		}
+
+		public Duration getSlowCallThreshold() {
+			return slowCallThreshold;
+		}
 	}
 }
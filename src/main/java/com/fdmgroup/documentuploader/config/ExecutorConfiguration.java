@@ -0,0 +1,140 @@
+package com.fdmgroup.documentuploader.config;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fdmgroup.documentuploader.aop.logging.LoggerFactory;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestHandling;
+import com.fdmgroup.documentuploader.enums.ExecutorMode;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configures the threads which run servlet requests and the blocking data
+ * service calls made on behalf of them, according to the configured
+ * {@link ExecutorMode}.
+ * <p>
+ * Most blocking calls, such as those of the security and API services, block
+ * the request thread which makes them, so they run on Tomcat's executor. Only
+ * work which a request fans out to other threads, such as a batch upload, is
+ * run by the {@link Scheduler} of blocking calls. Both use the virtual thread
+ * executor when it is in use.
+ * </p>
+ * <p>
+ * The project targets Java 8, so virtual threads are created reflectively.
+ * When the running JDK does not support them, {@link ExecutorMode#PLATFORM} is
+ * used and a warning is logged. The virtual thread executor is shared by
+ * Tomcat and the {@link Scheduler} of blocking calls, so it is owned, and shut
+ * down, by this configuration rather than either of them.
+ * </p>
+ *
+ * @author Noah Anderson
+ * @see RequestHandling
+ */
+@Configuration
+public class ExecutorConfiguration implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorConfiguration.class);
+	private static final String BLOCKING_CALLS = "data-service-calls";
+
+	/**
+	 * The executor which starts a new virtual thread per task, or {@code null}
+	 * when platform threads are used.
+	 */
+	private final ExecutorService virtualThreadExecutor;
+
+	@Autowired
+	public ExecutorConfiguration(ApplicationProperties applicationProperties) {
+		this(applicationProperties, ExecutorConfiguration::newVirtualThreadExecutor);
+	}
+
+	/**
+	 * @param virtualThreadExecutorFactory creates the executor used in
+	 *                                     {@link ExecutorMode#VIRTUAL}, or an
+	 *                                     {@code empty} {@link Optional} if
+	 *                                     virtual threads are not supported
+	 */
+	ExecutorConfiguration(ApplicationProperties applicationProperties,
+			Supplier<Optional<ExecutorService>> virtualThreadExecutorFactory) {
+		RequestHandling requestHandling = applicationProperties.getRequestHandling();
+		if (requestHandling != null && requestHandling.getExecutor() == ExecutorMode.VIRTUAL) {
+			this.virtualThreadExecutor = virtualThreadExecutorFactory.get().orElse(null);
+			if (virtualThreadExecutor == null) {
+				LOGGER.warn("Virtual threads are not supported by Java " + System.getProperty("java.version")
+						+ ", using platform threads instead");
+			}
+		} else {
+			this.virtualThreadExecutor = null;
+		}
+	}
+
+	/**
+	 * Runs Tomcat's request processing on virtual threads when they are in use.
+	 * Otherwise Tomcat keeps its own bounded thread pool.
+	 */
+	@Bean
+	public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatExecutorCustomizer() {
+		return factory -> {
+			if (virtualThreadExecutor != null) {
+				factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler
+						.setExecutor(virtualThreadExecutor));
+			}
+		};
+	}
+
+	/**
+	 * The {@link Scheduler} which services use to run blocking data service calls
+	 * off the calling thread, which only a batch upload does. Calls which block
+	 * the request thread need no {@code Scheduler}, as Tomcat's executor runs
+	 * them. On virtual threads it is only given the {@code execute} method of the
+	 * shared executor, as a {@code Scheduler} shuts an {@link ExecutorService}
+	 * down when disposed, which Tomcat may still be using.
+	 */
+	@Bean(destroyMethod = "dispose")
+	public Scheduler blockingCallScheduler() {
+		if (virtualThreadExecutor != null) {
+			return Schedulers.fromExecutor(virtualThreadExecutor::execute);
+		}
+		return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+				Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, BLOCKING_CALLS);
+	}
+
+	/**
+	 * Shuts down the virtual thread executor once the web server, which is
+	 * stopped before beans are destroyed, no longer uses it.
+	 */
+	@Override
+	public void destroy() {
+		if (virtualThreadExecutor != null) {
+			virtualThreadExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Creates an executor which starts a new virtual thread per task, if the
+	 * running JDK supports virtual threads.
+	 *
+	 * @return {@link Optional} wrapping the executor, or an {@code empty}
+	 *         {@code Optional} if virtual threads are not supported
+	 */
+	static Optional<ExecutorService> newVirtualThreadExecutor() {
+		try {
+			return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null));
+		} catch (ReflectiveOperationException e) {
+			return Optional.empty();
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.fdmgroup.documentuploader.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties.DataService;
+import com.fdmgroup.documentuploader.service.api.metrics.MeteredClientHttpConnector;
+import com.fdmgroup.documentuploader.service.api.resilience.DataServiceResilienceFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Configures the single {@link WebClient} used by every service which calls the
+ * data service, so that all of them share one bounded connection pool and the
+ * same timeouts. Besides JSON, the client can encode and decode CBOR, which
+ * carries document contents as raw bytes. Reads are retried and guarded by
+ * circuit breakers, each attempt being bounded by the response timeout, and
+ * every request sent is measured by a {@link MeteredClientHttpConnector}.
+ *
+ * @author Noah Anderson
+ * @see DataService
+ */
+@Configuration
+public class WebClientConfiguration {
+
+	private static final String CONNECTION_POOL_NAME = "data-service";
+
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider dataServiceConnectionProvider(ApplicationProperties applicationProperties) {
+		DataService dataService = applicationProperties.getDataService();
+		return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+				.maxConnections(dataService.getMaxConnections())
+				.pendingAcquireMaxCount(dataService.getPendingAcquireMaxCount())
+				.pendingAcquireTimeout(dataService.getPendingAcquireTimeout())
+				.maxIdleTime(dataService.getMaxIdleTime())
+				.build();
+	}
+
+	@Bean
+	public WebClient dataServiceWebClient(WebClient.Builder webClientBuilder,
+			ConnectionProvider dataServiceConnectionProvider, ApplicationProperties applicationProperties,
+			DataServiceResilienceFilter resilienceFilter, MeterRegistry meterRegistry,
+			@Value("${data.service.url}") String baseUrl) {
+		DataService dataService = applicationProperties.getDataService();
+		HttpClient httpClient = HttpClient.create(dataServiceConnectionProvider)
+				.keepAlive(dataService.isKeepAlive())
+				.tcpConfiguration(tcpClient -> tcpClient
+						.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+								(int) dataService.getConnectTimeout().toMillis())
+						.option(ChannelOption.SO_KEEPALIVE, dataService.isKeepAlive())
+						.doOnConnected(connection -> connection
+								.addHandlerLast(new ReadTimeoutHandler(dataService.getReadTimeout().toMillis(),
+										TimeUnit.MILLISECONDS))
+								.addHandlerLast(new WriteTimeoutHandler(dataService.getWriteTimeout().toMillis(),
+										TimeUnit.MILLISECONDS))));
+		if (dataService.isHttp2()) {
+			httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+		}
+
+		return webClientBuilder
+				.baseUrl(baseUrl)
+				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.clientConnector(new MeteredClientHttpConnector(new ReactorClientHttpConnector(httpClient), meterRegistry))
+				.codecs(configurer -> {
+					configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborEncoder());
+					configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder());
+				})
+				.filter(resilienceFilter)
+				.filter(responseTimeout(dataService))
+				.build();
+	}
+
+	/**
+	 * Fails any request whose response has not started within the configured
+	 * response timeout. Only the wait for the response status and headers is
+	 * limited, so streaming a large response body is not cut short.
+	 */
+	private ExchangeFilterFunction responseTimeout(DataService dataService) {
+		return (request, next) -> next.exchange(request).timeout(dataService.getResponseTimeout());
+	}
+
+}
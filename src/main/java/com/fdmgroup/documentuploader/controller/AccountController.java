@@ -3,7 +3,6 @@ package com.fdmgroup.documentuploader.controller;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javax.activation.MimetypesFileTypeMap;
 import javax.servlet.http.HttpSession;
@@ -11,39 +10,40 @@ import javax.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
 import com.fdmgroup.documentuploader.enums.AttributeName;
-import com.fdmgroup.documentuploader.enums.ViewPath;
-import com.fdmgroup.documentuploader.model.account.Account;
-import com.fdmgroup.documentuploader.model.document.Document;
-import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.upload.FileUploadResult;
 import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
 import com.fdmgroup.documentuploader.service.account.AccountService;
 import com.fdmgroup.documentuploader.service.document.AbstractDocumentService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
 
 @Controller
-@SessionAttributes({ "user", "account" })
 @RequestMapping("${app.request-uris.account}")
 @PreAuthorize("isAuthenticated()")
 public class AccountController {
 
 	private static final String REDIRECT = "redirect:";
+	private static final String BYTES = "bytes";
 
 	/**
 	 * Used to retrieve messages from messages.properties.
@@ -51,46 +51,45 @@ public class AccountController {
 	private final MessageSource messageSource;
 	private final AbstractAccountService accountService;
 	private final AbstractDocumentService documentService;
+	private final AbstractSessionService sessionService;
 	private final RequestUris requestUris;
 	
 	@Autowired
 	public AccountController(MessageSource messageSource, AccountService accountService, AbstractDocumentService documentService,
-			ApplicationProperties applicationProperties) {
+			AbstractSessionService sessionService, ApplicationProperties applicationProperties) {
 		super();
 		this.messageSource = messageSource;
 		this.accountService = accountService;
 		this.documentService = documentService;
+		this.sessionService = sessionService;
 		this.requestUris = applicationProperties.getRequestUris();
 	}
 
-	@GetMapping("/{accountName}")
-	public String toAccount(@PathVariable(value = "accountName") String name, HttpSession httpSession, Model model) {
-		User user = (User) httpSession.getAttribute("user");
-		List<Account> accounts = accountService.getAllAccountsByUserId(user.getId());
-		Account account = accounts.stream().filter(a -> a.getName().equals(name)).collect(Collectors.toList()).get(0);
-		model.addAttribute(AttributeName.ACCOUNT.getValue(), account);
-
-		return ViewPath.ACCOUNT.getPath();
-	}
-
 	@PostMapping
-	public String uploadFile(Account account, HttpSession httpSession,
-			@RequestParam(value = "file") MultipartFile file) {
-		Account updatedAccount = accountService.addFileToAccount(file, account);
-		updateAccountInSession(httpSession, updatedAccount);
+	public String uploadFile(HttpSession httpSession, @RequestParam(value = "file") MultipartFile file) {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		AccountSummary updatedAccount = accountService.addFileToAccount(file, account);
+		sessionService.refreshAccount(updatedAccount);
 
 		return REDIRECT + requestUris.getAccount() + "/" + account.getName();
 	}
 	
-	private void updateAccountInSession(HttpSession httpSession, Account account) {
-		httpSession.setAttribute(AttributeName.ACCOUNT.getValue(), account);
+	@PostMapping("${app.request-uris.batch-upload}")
+	public ResponseEntity<List<FileUploadResult>> uploadFiles(HttpSession httpSession,
+			@RequestParam(value = "files") List<MultipartFile> files) {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		List<FileUploadResult> results = accountService.addFilesToAccount(files, account);
+		sessionService.evictAccount(account.getId());
+
+		return ResponseEntity.ok(results);
 	}
 	
 	@GetMapping("${app.request-uris.delete-document}" + "/{documentName}")
-	public String deleteDocument(Account account, HttpSession httpSession, RedirectAttributes redirectAttributes,
+	public String deleteDocument(HttpSession httpSession, RedirectAttributes redirectAttributes,
 			@PathVariable("documentName") String fileName) {
-		Account updatedAccount = accountService.removeFileFromAccountByFileName(fileName, account);
-		updateAccountInSession(httpSession, updatedAccount);
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		AccountSummary updatedAccount = accountService.removeFileFromAccountByFileName(fileName, account);
+		sessionService.refreshAccount(updatedAccount);
 		redirectAttributes.addFlashAttribute(AttributeName.MESSAGE.getValue(), fileName + " " + 
 				messageSource.getMessage("document.deleted", null, Locale.getDefault()));
 
@@ -98,24 +97,81 @@ public class AccountController {
 	}
 
 	@GetMapping("${app.request-uris.download-document}" + "/{documentName}")
-	public ResponseEntity<Object> downloadDocument(@PathVariable("documentName") String fileName) {
-		Optional<Document> optionalDocument = documentService.findByName(fileName);
-		if (!optionalDocument.isPresent()) {
+	public ResponseEntity<StreamingResponseBody> downloadDocument(@PathVariable("documentName") String fileName,
+			@RequestHeader HttpHeaders requestHeaders) {
+		Optional<DocumentSummary> optionalSummary = documentService.findSummaryByName(fileName);
+		if (!optionalSummary.isPresent()) {
 			return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
 		}
-		Document document = optionalDocument.get();
-		byte[] contents = document.getContent();
+		DocumentSummary summary = optionalSummary.get();
+		long size = summary.getSize();
+		String eTag = summary.getHash() == null ? null : "\"" + summary.getHash() + "\"";
 
-		String fileNameWithExtension = fileName + "." + document.getExtension();
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.set(HttpHeaders.ACCEPT_RANGES, BYTES);
+		if (eTag != null) {
+			responseHeaders.setETag(eTag);
+			if (matchesETag(requestHeaders.getIfNoneMatch(), eTag)) {
+				return new ResponseEntity<>(null, responseHeaders, HttpStatus.NOT_MODIFIED);
+			}
+		}
+
+		HttpRange range = getSingleRange(requestHeaders, eTag);
+		long start = range == null ? 0 : range.getRangeStart(size);
+		long end = range == null ? size - 1 : range.getRangeEnd(size);
+		if (range != null && (start >= size || start > end)) {
+			responseHeaders.set(HttpHeaders.CONTENT_RANGE, BYTES + " */" + size);
+			return new ResponseEntity<>(null, responseHeaders, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+		}
+
+		String fileNameWithExtension = fileName + "." + summary.getExtension();
 
 		MimetypesFileTypeMap fileTypeMap = new MimetypesFileTypeMap();
 		String mimeType = fileTypeMap.getContentType(fileNameWithExtension);
 
-		HttpHeaders responseHeaders = new HttpHeaders();
-		responseHeaders.setContentLength(contents.length);
 		responseHeaders.setContentType(MediaType.valueOf(mimeType));
 		responseHeaders.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileNameWithExtension);
 
-		return new ResponseEntity<>(contents, responseHeaders, HttpStatus.OK);
+		if (range == null) {
+			responseHeaders.setContentLength(size);
+			StreamingResponseBody body = outputStream -> documentService.writeContentByName(fileName, outputStream);
+			return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+		}
+
+		responseHeaders.setContentLength(end - start + 1);
+		responseHeaders.set(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + size);
+		StreamingResponseBody body = outputStream -> documentService.writeContentRangeByName(fileName, start, end,
+				outputStream);
+
+		return new ResponseEntity<>(body, responseHeaders, HttpStatus.PARTIAL_CONTENT);
+	}
+
+	/**
+	 * Returns the single byte range requested by the client, or {@code null} if
+	 * the whole document should be sent instead. This is the case when no range,
+	 * an unparsable range, or several ranges were requested, or when the
+	 * {@code If-Range} validator does not match the current entity tag.
+	 */
+	private HttpRange getSingleRange(HttpHeaders requestHeaders, String eTag) {
+		String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+		if (ifRange != null && !ifRange.equals(eTag)) {
+			return null;
+		}
+		List<HttpRange> ranges;
+		try {
+			ranges = requestHeaders.getRange();
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		return ranges.size() == 1 ? ranges.get(0) : null;
+	}
+
+	private boolean matchesETag(List<String> ifNoneMatch, String eTag) {
+		for (String candidate : ifNoneMatch) {
+			if ("*".equals(candidate) || eTag.equals(candidate) || ("W/" + eTag).equals(candidate)) {
+				return true;
+			}
+		}
+		return false;
 	}
 }
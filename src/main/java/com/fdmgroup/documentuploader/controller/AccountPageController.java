@@ -0,0 +1,58 @@
+package com.fdmgroup.documentuploader.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.enums.ViewPath;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+/**
+ * Serves the page of an account the logged in user can access. Changes to its
+ * documents are handled by {@link AccountController}.
+ *
+ * @author Noah Anderson
+ * @see ReactiveAccountPageController
+ */
+@Controller
+@ConditionalOnProperty(prefix = "app.request-handling", name = "reactive", havingValue = "false", matchIfMissing = true)
+@RequestMapping("${app.request-uris.account}")
+@PreAuthorize("isAuthenticated()")
+public class AccountPageController {
+
+	private final AbstractAccountService accountService;
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public AccountPageController(AccountService accountService, AbstractSessionService sessionService) {
+		this.accountService = accountService;
+		this.sessionService = sessionService;
+	}
+
+	@GetMapping("/{accountName}")
+	public String toAccount(@PathVariable(value = "accountName") String name, User user, HttpSession httpSession,
+			Model model) {
+		List<AccountSummary> accounts = accountService.getAllAccountsByUserId(user.getId());
+		AccountSummary account = accounts.stream().filter(a -> a.getName().equals(name)).collect(Collectors.toList()).get(0);
+		sessionService.setCurrentAccount(httpSession, account);
+		model.addAttribute(AttributeName.ACCOUNT.getValue(), account);
+
+		return ViewPath.ACCOUNT.getPath();
+	}
+
+}
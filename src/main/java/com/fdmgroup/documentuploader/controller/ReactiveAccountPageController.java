@@ -0,0 +1,67 @@
+package com.fdmgroup.documentuploader.controller;
+
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.enums.ViewPath;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AccountPageController}, registered
+ * instead of it when {@code app.request-handling.reactive} is {@code true}.
+ * Both the logged in user and their accounts are retrieved without holding the
+ * servlet thread.
+ *
+ * @author Noah Anderson
+ * @see ReactiveDashboardController
+ */
+@Controller
+@ConditionalOnProperty(prefix = "app.request-handling", name = "reactive", havingValue = "true")
+@RequestMapping("${app.request-uris.account}")
+@PreAuthorize("isAuthenticated()")
+public class ReactiveAccountPageController {
+
+	private final AbstractAccountService accountService;
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public ReactiveAccountPageController(AccountService accountService, AbstractSessionService sessionService) {
+		this.accountService = accountService;
+		this.sessionService = sessionService;
+	}
+
+	@GetMapping("/{accountName}")
+	public Mono<String> toAccount(@PathVariable(value = "accountName") String name, HttpSession httpSession,
+			Model model) {
+		return sessionService.getCurrentUserAsync(httpSession)
+				.flatMap(user -> {
+					model.addAttribute(AttributeName.USER.getValue(), user);
+					return accountService.getAllAccountsByUserIdAsync(user.getId());
+				})
+				.map(accounts -> {
+					AccountSummary account = accounts.stream().filter(a -> a.getName().equals(name))
+							.collect(Collectors.toList()).get(0);
+					sessionService.setCurrentAccount(httpSession, account);
+					model.addAttribute(AttributeName.ACCOUNT.getValue(), account);
+
+					return ViewPath.ACCOUNT.getPath();
+				});
+	}
+
+}
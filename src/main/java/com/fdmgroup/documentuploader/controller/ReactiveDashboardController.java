@@ -0,0 +1,59 @@
+package com.fdmgroup.documentuploader.controller;
+
+import javax.servlet.http.HttpSession;
+
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.enums.ViewPath;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link DashboardController}, registered instead
+ * of it when {@code app.request-handling.reactive} is {@code true}. The
+ * {@link Mono} returned by each handler is subscribed to by Spring MVC's async
+ * request processing, so the servlet thread is released while the data service
+ * responds rather than being blocked until it does. This includes retrieving
+ * the logged in user.
+ *
+ * @author Noah Anderson
+ */
+@Controller
+@ConditionalOnProperty(prefix = "app.request-handling", name = "reactive", havingValue = "true")
+@RequestMapping("${app.request-uris.dashboard}")
+@PreAuthorize("isAuthenticated()")
+public class ReactiveDashboardController {
+
+	private final AbstractAccountService accountService;
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public ReactiveDashboardController(AccountService accountService, AbstractSessionService sessionService) {
+		this.accountService = accountService;
+		this.sessionService = sessionService;
+	}
+
+	@GetMapping
+	public Mono<String> returnToDashboard(HttpSession session, Model model) {
+		return sessionService.getCurrentUserAsync(session)
+				.flatMap(user -> {
+					model.addAttribute(AttributeName.USER.getValue(), user);
+					return accountService.getAllAccountsByUserIdAsync(user.getId());
+				})
+				.map(accounts -> {
+					model.addAttribute(AttributeName.ACCOUNTS.getValue(), accounts);
+					return ViewPath.DASHBOARD.getPath();
+				});
+	}
+
+}
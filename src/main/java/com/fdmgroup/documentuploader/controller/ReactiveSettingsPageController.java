@@ -0,0 +1,73 @@
+package com.fdmgroup.documentuploader.controller;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.enums.ViewPath;
+import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link SettingsPageController}, registered
+ * instead of it when {@code app.request-handling.reactive} is {@code true}.
+ * Both the logged in user and their account are retrieved without holding the
+ * servlet thread.
+ *
+ * @author Noah Anderson
+ * @see ReactiveDashboardController
+ */
+@Controller
+@ConditionalOnProperty(prefix = "app.request-handling", name = "reactive", havingValue = "true")
+@RequestMapping("${app.request-uris.settings}")
+@PreAuthorize("isAuthenticated()")
+public class ReactiveSettingsPageController {
+
+	private final AccountCostCalculator costCalculator;
+	private final AbstractAccountService accountService;
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public ReactiveSettingsPageController(AccountCostCalculator costCalculator,
+			AbstractAccountService accountService, AbstractSessionService sessionService) {
+		this.costCalculator = costCalculator;
+		this.accountService = accountService;
+		this.sessionService = sessionService;
+	}
+
+	@GetMapping
+	public Mono<String> toSettings(HttpSession session, Model model) {
+		return toView(session, model, ViewPath.SETTINGS);
+	}
+
+	@GetMapping("${app.request-uris.edit-profile-info}")
+	public Mono<String> toEditProfileInformation(HttpSession session, Model model) {
+		return toView(session, model, ViewPath.EDIT_PROFILE_INFO);
+	}
+
+	@GetMapping("${app.request-uris.service-level}")
+	public Mono<String> toServiceLevel(HttpSession session, Model model) {
+		return toView(session, model, ViewPath.SERVICE_LEVEL_INFO);
+	}
+
+	private Mono<String> toView(HttpSession session, Model model, ViewPath viewPath) {
+		return sessionService.getCurrentUserAsync(session)
+				.flatMap(user -> {
+					model.addAttribute(AttributeName.USER.getValue(), user);
+					return accountService.findSummaryByOwnerIdAsync(user.getId());
+				})
+				.doOnNext(account -> SettingsAttributes.addAccount(model, account, costCalculator))
+				.thenReturn(viewPath.getPath());
+	}
+
+}
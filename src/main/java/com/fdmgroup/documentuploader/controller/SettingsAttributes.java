@@ -0,0 +1,40 @@
+package com.fdmgroup.documentuploader.controller;
+
+import java.util.EnumSet;
+
+import org.springframework.ui.Model;
+
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+
+/**
+ * Adds the {@link AccountSummary} of the {@link Account} owned by the logged in
+ * user, its price and the service levels it can be changed to, to the model of
+ * the settings pages.
+ * Shared by the blocking and reactive settings controllers.
+ *
+ * @author Noah Anderson
+ */
+final class SettingsAttributes {
+
+	private SettingsAttributes() {
+		super();
+	}
+
+	static void addAccount(Model model, AccountSummary account, AccountCostCalculator costCalculator) {
+		model.addAttribute(AttributeName.ACCOUNT.getValue(), account);
+		model.addAttribute(AttributeName.PRICE.getValue(), costCalculator.calculateRate(account));
+		model.addAttribute(AttributeName.LEVELS.getValue(), getServiceLevels(account));
+	}
+
+	private static EnumSet<ServiceLevel> getServiceLevels(AccountSummary account) {
+		EnumSet<ServiceLevel> levels = EnumSet.allOf(ServiceLevel.class);
+		levels.remove(account.getServiceLevel());
+
+		return levels;
+	}
+
+}
@@ -1,40 +1,30 @@
 package com.fdmgroup.documentuploader.controller;
 
-import java.math.BigDecimal;
-import java.util.EnumSet;
 import java.util.Locale;
-import java.util.Optional;
-
-import javax.servlet.http.HttpSession;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
 import com.fdmgroup.documentuploader.enums.AttributeName;
-import com.fdmgroup.documentuploader.enums.ViewPath;
-import com.fdmgroup.documentuploader.model.account.Account;
-import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
-import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.exception.AccountNotFoundException;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
 import com.fdmgroup.documentuploader.service.user.AbstractUserService;
 import com.fdmgroup.documentuploader.service.user.UserService;
 
 @Controller
-@SessionAttributes({ "user", "account" })
 @RequestMapping("${app.request-uris.settings}")
 @PreAuthorize("isAuthenticated()")
 public class SettingsController {
@@ -42,58 +32,22 @@ public class SettingsController {
 	private static final String REDIRECT = "redirect:";
 	
 	private final AbstractUserService userService;
-	private final AccountCostCalculator costCalculator;
 	private final AbstractAccountService accountService;
 	private final RequestUris requestUris;
 	private final MessageSource messageSource;
+	private final AbstractSessionService sessionService;
 	
 	@Autowired
-	public SettingsController(AccountCostCalculator costCalculator, UserService userService,
-			AbstractAccountService accountService, ApplicationProperties applicationProperties,
-			MessageSource messageSource) {
-		this.costCalculator = costCalculator;
+	public SettingsController(UserService userService, AbstractAccountService accountService,
+			ApplicationProperties applicationProperties, MessageSource messageSource,
+			AbstractSessionService sessionService) {
 		this.userService = userService;
 		this.accountService = accountService;
 		this.requestUris = applicationProperties.getRequestUris();
 		this.messageSource = messageSource;
+		this.sessionService = sessionService;
 	}
 
-	@ModelAttribute
-	public void addAttributesToModel(Model model, User user) {
-		Optional<Account> optionalAccount = accountService.findByOwnerId(user.getId());
-		if (optionalAccount.isPresent()) {
-			Account account = optionalAccount.get();
-			model.addAttribute(AttributeName.ACCOUNT.getValue(), account);
-
-			BigDecimal price = costCalculator.calculateRate(account);
-			model.addAttribute(AttributeName.PRICE.getValue(), price);
-
-			model.addAttribute(AttributeName.LEVELS.getValue(), getServiceLevels(account));
-		}
-	}
-
-	private EnumSet<ServiceLevel> getServiceLevels(Account account) {
-		EnumSet<ServiceLevel> levels = EnumSet.allOf(ServiceLevel.class);
-		levels.remove(account.getServiceLevel());
-
-		return levels;
-	}
-
-	@GetMapping
-	public String toSettings() {
-		return ViewPath.SETTINGS.getPath();
-	}
-
-	@GetMapping("${app.request-uris.edit-profile-info}")
-	public String toEditProfileInformation() {
-		return ViewPath.EDIT_PROFILE_INFO.getPath();
-	}
-
-	@GetMapping("${app.request-uris.service-level}")
-	public String toServiceLevel() {
-		return ViewPath.SERVICE_LEVEL_INFO.getPath();
-	}
-	
 	@PostMapping("${app.request-uris.update-password}")
 	public String updatePassword(User user, RedirectAttributes redirectAttributes,
 			@RequestParam("currentPassword") String currentPassword,
@@ -108,34 +62,42 @@ public class SettingsController {
 	}
 
 	@PostMapping("${app.request-uris.upgrade-service-level}")
-	public String editServiceLevel(Account account, HttpSession httpSession,
-			@RequestParam(name = "selected") String serviceLevelName) {
-		Account updatedAccount = accountService.updateAccountServiceLevel(account, serviceLevelName);
-		updateAccountInSession(httpSession, updatedAccount);
+	public String editServiceLevel(User user, @RequestParam(name = "selected") String serviceLevelName) {
+		AccountSummary account = findOwnedAccount(user);
+		accountService.updateAccountServiceLevel(account, serviceLevelName);
+		sessionService.evictAccount(account.getId());
 		
 		return REDIRECT + requestUris.getSettings() + requestUris.getServiceLevel();
 	}
 
-	private void updateAccountInSession(HttpSession httpSession, Account account) {
-		httpSession.setAttribute(AttributeName.ACCOUNT.getValue(), account);
-	}
-
 	@PostMapping("${app.request-uris.add-user}")
-	public String addUser(Account account, HttpSession httpSession,
-			@RequestParam String guestEmail) {
-		Account updatedAccount = accountService.addUserToAccountByEmail(guestEmail, account);
-		updateAccountInSession(httpSession, updatedAccount);
+	public String addUser(User user, @RequestParam String guestEmail) {
+		AccountSummary account = findOwnedAccount(user);
+		accountService.addUserToAccountByEmail(guestEmail, account);
+		sessionService.evictAccount(account.getId());
 
 		return REDIRECT + requestUris.getSettings() + requestUris.getServiceLevel();
 	}
 
 	@GetMapping("${app.request-uris.delete-user}" + "/{deletedId}")
-	public String deleteUser(User user, Account account, HttpSession httpSession,
-			@PathVariable long deletedId) {
-		Account updatedAccount = accountService.removeUserFromAccountById(deletedId, user, account);
-		updateAccountInSession(httpSession, updatedAccount);
+	public String deleteUser(User user, @PathVariable long deletedId) {
+		AccountSummary account = findOwnedAccount(user);
+		accountService.removeUserFromAccountById(deletedId, user, account);
+		sessionService.evictAccount(account.getId());
 
 		return REDIRECT + requestUris.getSettings() + requestUris.getServiceLevel();
 	}
 
+	/**
+	 * Finds the {@link AccountSummary} of the account owned by the given
+	 * {@link User}, without the contents of its documents.
+	 *
+	 * @throws AccountNotFoundException if the {@code user} owns no account
+	 */
+	private AccountSummary findOwnedAccount(User user) {
+		return accountService.findSummaryByOwnerId(user.getId())
+				.orElseThrow(() -> new AccountNotFoundException(
+						messageSource.getMessage("account.not-found", null, Locale.getDefault())));
+	}
+
 }
@@ -0,0 +1,60 @@
+package com.fdmgroup.documentuploader.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fdmgroup.documentuploader.enums.ViewPath;
+import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+
+/**
+ * Serves the settings pages, which only read the logged in user's account.
+ * Changes to the account are handled by {@link SettingsController}.
+ *
+ * @author Noah Anderson
+ * @see ReactiveSettingsPageController
+ */
+@Controller
+@ConditionalOnProperty(prefix = "app.request-handling", name = "reactive", havingValue = "false", matchIfMissing = true)
+@RequestMapping("${app.request-uris.settings}")
+@PreAuthorize("isAuthenticated()")
+public class SettingsPageController {
+
+	private final AccountCostCalculator costCalculator;
+	private final AbstractAccountService accountService;
+
+	@Autowired
+	public SettingsPageController(AccountCostCalculator costCalculator, AbstractAccountService accountService) {
+		this.costCalculator = costCalculator;
+		this.accountService = accountService;
+	}
+
+	@GetMapping
+	public String toSettings(User user, Model model) {
+		return toView(user, model, ViewPath.SETTINGS);
+	}
+
+	@GetMapping("${app.request-uris.edit-profile-info}")
+	public String toEditProfileInformation(User user, Model model) {
+		return toView(user, model, ViewPath.EDIT_PROFILE_INFO);
+	}
+
+	@GetMapping("${app.request-uris.service-level}")
+	public String toServiceLevel(User user, Model model) {
+		return toView(user, model, ViewPath.SERVICE_LEVEL_INFO);
+	}
+
+	private String toView(User user, Model model, ViewPath viewPath) {
+		accountService.findSummaryByOwnerId(user.getId())
+				.ifPresent(account -> SettingsAttributes.addAccount(model, account, costCalculator));
+
+		return viewPath.getPath();
+	}
+
+}
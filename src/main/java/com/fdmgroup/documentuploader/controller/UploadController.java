@@ -0,0 +1,118 @@
+package com.fdmgroup.documentuploader.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
+import com.fdmgroup.documentuploader.exception.FileException;
+import com.fdmgroup.documentuploader.exception.InvalidChunkException;
+import com.fdmgroup.documentuploader.exception.UploadSessionNotFoundException;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+import com.fdmgroup.documentuploader.service.upload.AbstractChunkedUploadService;
+
+/**
+ * <p>
+ * Handles files uploaded to the current account in several chunks. An upload
+ * is created, its chunks are sent with {@code PUT} requests stating their
+ * offset within the file, and it is then completed, which adds the file to the
+ * account. The progress of an upload can be retrieved at any time to resume it
+ * after a dropped connection.
+ * </p>
+ * <p>
+ * Errors are returned as a status code with the message as the response body,
+ * rather than as a redirect, as the requests are sent by a script.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Controller
+@RequestMapping("${app.request-uris.account}" + "${app.request-uris.upload}")
+@PreAuthorize("isAuthenticated()")
+public class UploadController {
+
+	private final AbstractChunkedUploadService chunkedUploadService;
+	private final AbstractSessionService sessionService;
+	private final RequestUris requestUris;
+
+	@Autowired
+	public UploadController(AbstractChunkedUploadService chunkedUploadService, AbstractSessionService sessionService,
+			ApplicationProperties applicationProperties) {
+		super();
+		this.chunkedUploadService = chunkedUploadService;
+		this.sessionService = sessionService;
+		this.requestUris = applicationProperties.getRequestUris();
+	}
+
+	@PostMapping
+	public ResponseEntity<UploadSession> createUpload(HttpSession httpSession,
+			@RequestParam("fileName") String fileName, @RequestParam("size") long size) throws IOException {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		UploadSession uploadSession = chunkedUploadService.createSession(account.getId(), fileName, size);
+
+		URI location = URI.create(requestUris.getAccount() + requestUris.getUpload() + "/" + uploadSession.getId());
+		return ResponseEntity.created(location).body(uploadSession);
+	}
+
+	@GetMapping("/{uploadId}")
+	public ResponseEntity<UploadSession> getUpload(HttpSession httpSession, @PathVariable("uploadId") String uploadId) {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		return ResponseEntity.ok(chunkedUploadService.getSession(uploadId, account.getId()));
+	}
+
+	@PutMapping("/{uploadId}")
+	public ResponseEntity<UploadSession> uploadChunk(HttpSession httpSession, HttpServletRequest request,
+			@PathVariable("uploadId") String uploadId, @RequestParam("offset") long offset) throws IOException {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		UploadSession uploadSession = chunkedUploadService.writeChunk(uploadId, account.getId(), offset,
+				request.getInputStream());
+		return ResponseEntity.ok(uploadSession);
+	}
+
+	@PostMapping("/{uploadId}/complete")
+	public ResponseEntity<Void> completeUpload(HttpSession httpSession, @PathVariable("uploadId") String uploadId) {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		AccountSummary updatedAccount = chunkedUploadService.completeSession(uploadId, account);
+		sessionService.refreshAccount(updatedAccount);
+
+		URI location = URI.create(requestUris.getAccount() + "/" + account.getName());
+		return ResponseEntity.noContent().location(location).build();
+	}
+
+	@DeleteMapping("/{uploadId}")
+	public ResponseEntity<Void> cancelUpload(HttpSession httpSession, @PathVariable("uploadId") String uploadId) {
+		AccountSummary account = sessionService.getCurrentAccount(httpSession);
+		chunkedUploadService.cancelSession(uploadId, account.getId());
+		return ResponseEntity.noContent().build();
+	}
+
+	@ExceptionHandler({ FileException.class, InvalidChunkException.class })
+	public ResponseEntity<String> handleInvalidUpload(RuntimeException e) {
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(UploadSessionNotFoundException.class)
+	public ResponseEntity<String> handleUploadSessionNotFound(UploadSessionNotFoundException e) {
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+	}
+
+}
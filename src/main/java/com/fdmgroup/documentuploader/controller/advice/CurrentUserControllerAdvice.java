@@ -0,0 +1,83 @@
+package com.fdmgroup.documentuploader.controller.advice;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+import com.fdmgroup.documentuploader.controller.AccountPageController;
+import com.fdmgroup.documentuploader.controller.DashboardController;
+import com.fdmgroup.documentuploader.controller.SettingsController;
+import com.fdmgroup.documentuploader.controller.SettingsPageController;
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.security.AppUserPrincipal;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+/**
+ * Adds the logged in {@link User}, resolved from the id stored in the
+ * {@link HttpSession}, to the model of every request handled by the
+ * blocking controllers which require it.
+ * 
+ * @author Noah Anderson
+ * @see AbstractSessionService
+ * @see ReactiveCurrentUserControllerAdvice
+ */
+@ControllerAdvice(assignableTypes = { AccountPageController.class, DashboardController.class,
+		SettingsController.class, SettingsPageController.class })
+public class CurrentUserControllerAdvice {
+
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public CurrentUserControllerAdvice(AbstractSessionService sessionService) {
+		super();
+		this.sessionService = sessionService;
+	}
+
+	/**
+	 * Prevents request parameters from being bound to the {@link User} in the
+	 * model, which may be the instance shared by every request through the user
+	 * cache.
+	 * 
+	 * @param binder the binder of the {@code user} model attribute
+	 */
+	@InitBinder("user")
+	public void disallowUserBinding(WebDataBinder binder) {
+		binder.setDisallowedFields("*");
+	}
+
+	/**
+	 * Resolves the logged in {@link User}. If the session does not hold a user id
+	 * yet, as is the case when the user was authenticated by a remember-me cookie
+	 * rather than the login form, it is taken from the authenticated principal.
+	 * 
+	 * @param session        the session of the logged in user
+	 * @param authentication the authenticated principal of the request
+	 * @return the logged in {@code User}
+	 */
+	@ModelAttribute("user")
+	public User addUserToModel(HttpSession session, Authentication authentication) {
+		storeAuthenticatedUser(sessionService, session, authentication);
+		return sessionService.getCurrentUser(session);
+	}
+
+	/**
+	 * Stores the id of the authenticated {@link User} in the session if it does
+	 * not hold one yet. Only the principal of the request is read, so no request
+	 * is made to the data service.
+	 */
+	static void storeAuthenticatedUser(AbstractSessionService sessionService, HttpSession session,
+			Authentication authentication) {
+		if (session.getAttribute(AttributeName.USER_ID.getValue()) == null && authentication != null
+				&& authentication.getPrincipal() instanceof AppUserPrincipal) {
+			AppUserPrincipal principal = (AppUserPrincipal) authentication.getPrincipal();
+			sessionService.setCurrentUser(session, principal.getUser());
+		}
+	}
+
+}
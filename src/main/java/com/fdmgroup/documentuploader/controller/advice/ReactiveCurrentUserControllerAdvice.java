@@ -0,0 +1,52 @@
+package com.fdmgroup.documentuploader.controller.advice;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+import com.fdmgroup.documentuploader.controller.ReactiveAccountPageController;
+import com.fdmgroup.documentuploader.controller.ReactiveDashboardController;
+import com.fdmgroup.documentuploader.controller.ReactiveSettingsPageController;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
+
+/**
+ * Counterpart of {@link CurrentUserControllerAdvice} for the reactive
+ * controllers. Model attribute methods cannot return a {@code Mono} which Spring
+ * MVC waits for, so the logged in {@link User} is not resolved here. Only the
+ * user id is stored in the {@link HttpSession}, and each handler retrieves the
+ * {@code User} through {@link AbstractSessionService#getCurrentUserAsync} and
+ * adds it to the model itself.
+ * 
+ * @author Noah Anderson
+ * @see CurrentUserControllerAdvice
+ */
+@ControllerAdvice(assignableTypes = { ReactiveAccountPageController.class, ReactiveDashboardController.class,
+		ReactiveSettingsPageController.class })
+public class ReactiveCurrentUserControllerAdvice {
+
+	private final AbstractSessionService sessionService;
+
+	@Autowired
+	public ReactiveCurrentUserControllerAdvice(AbstractSessionService sessionService) {
+		super();
+		this.sessionService = sessionService;
+	}
+
+	/**
+	 * Stores the id of the logged in {@link User} in the session if it does not
+	 * hold one yet, as is the case when the user was authenticated by a
+	 * remember-me cookie rather than the login form.
+	 * 
+	 * @param session        the session of the logged in user
+	 * @param authentication the authenticated principal of the request
+	 */
+	@ModelAttribute
+	public void storeUserId(HttpSession session, Authentication authentication) {
+		CurrentUserControllerAdvice.storeAuthenticatedUser(sessionService, session, authentication);
+	}
+
+}
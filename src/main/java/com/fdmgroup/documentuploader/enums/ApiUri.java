@@ -1,5 +1,10 @@
 package com.fdmgroup.documentuploader.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Enum containing the request uris for the REST api.
  *
@@ -10,12 +15,25 @@ public enum ApiUri {
     ACCOUNTS ("/accounts"),
     REGISTER ("/register"),
     DOCUMENTS ("/documents"),
+    STREAM ("/stream"),
+    METADATA ("/metadata"),
+    CONTENT ("/content"),
+    SUMMARIES ("/summaries"),
+    HASH ("/hash"),
+    REFERENCE ("/reference"),
     AUTH_GROUP ("/authGroup"),
     IS_ENABLED ("/isEnabled"),
     CONFIRM_TOKEN ("/confirm-token"),
     RESET_PASSWORD ("/reset-password"),
     TOKEN ("/token");
 
+    /**
+     * The top-level resources of the REST api, one of which every request path
+     * starts with.
+     */
+    private static final Set<ApiUri> RESOURCES = Collections.unmodifiableSet(
+            EnumSet.of(USERS, ACCOUNTS, DOCUMENTS, AUTH_GROUP, REGISTER));
+
     private final String uri;
 
     ApiUri(String uri) {
@@ -25,4 +43,26 @@ public enum ApiUri {
     public String getUri() {
         return this.uri;
     }
+
+    public static Set<ApiUri> resources() {
+        return RESOURCES;
+    }
+
+    /**
+     * Finds the top-level resource of the REST api a request path belongs to.
+     *
+     * @param path the path of a request to the REST api, such as
+     *             {@code "/accounts/1/documents"}
+     * @return the resource, or an empty {@link Optional} if the path does not
+     *         start with one
+     */
+    public static Optional<ApiUri> resourceOf(String path) {
+        for (ApiUri apiUri : RESOURCES) {
+            String uri = apiUri.getUri();
+            if (path.startsWith(uri) && (path.length() == uri.length() || path.charAt(uri.length()) == '/')) {
+                return Optional.of(apiUri);
+            }
+        }
+        return Optional.empty();
+    }
 }
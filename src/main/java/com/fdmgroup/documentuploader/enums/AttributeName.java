@@ -10,6 +10,8 @@ public enum AttributeName {
     ACCOUNTS ("accounts"),
     MESSAGE ("message"),
     USER ("user"),
+    USER_ID ("userId"),
+    ACCOUNT_ID ("accountId"),
     DOCUMENT_DELETED ("documentDeleted"),
     LOGIN_DTO ("loginDto"),
     LEVELS ("levels"),
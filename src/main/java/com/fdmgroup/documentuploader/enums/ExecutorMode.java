@@ -0,0 +1,20 @@
+package com.fdmgroup.documentuploader.enums;
+
+/**
+ * Enum containing the kinds of threads which servlet requests and blocking data
+ * service calls can be executed on.
+ *
+ * @author Noah Anderson
+ */
+public enum ExecutorMode {
+    /**
+     * A bounded pool of operating system threads, which is the default.
+     */
+    PLATFORM,
+    /**
+     * A new virtual thread per task, so a thread blocked on the data service
+     * does not hold an operating system thread. Requires a JDK which supports
+     * virtual threads; on older JDKs {@link #PLATFORM} is used instead.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,27 @@
+package com.fdmgroup.documentuploader.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fdmgroup.documentuploader.model.account.Account;
+
+/**
+ * Exception thrown when the logged in user does not own an {@link Account} to
+ * change.
+ *
+ * @author Noah Anderson
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class AccountNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = -3851047163729580512L;
+
+	public AccountNotFoundException() {
+		super();
+	}
+
+	public AccountNotFoundException(String message) {
+		super(message);
+	}
+
+}
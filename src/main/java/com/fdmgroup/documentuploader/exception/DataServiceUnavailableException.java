@@ -0,0 +1,23 @@
+package com.fdmgroup.documentuploader.exception;
+
+import com.fdmgroup.documentuploader.service.api.resilience.CircuitBreaker;
+
+/**
+ * Exception thrown instead of calling the data service while the
+ * {@link CircuitBreaker} for the requested resource is open.
+ *
+ * @author Noah Anderson
+ */
+public class DataServiceUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 6018423297430187715L;
+
+	public DataServiceUnavailableException() {
+		super();
+	}
+
+	public DataServiceUnavailableException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.fdmgroup.documentuploader.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+
+/**
+ * Exception thrown when a chunk sent to an {@link UploadSession} does not fit
+ * the upload, or when an upload is completed before all of its chunks have
+ * been received.
+ *
+ * @author Noah Anderson
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidChunkException extends RuntimeException {
+
+	private static final long serialVersionUID = -1729465133190846577L;
+
+	public InvalidChunkException() {
+		super();
+	}
+
+	public InvalidChunkException(String message) {
+		super(message);
+	}
+
+}
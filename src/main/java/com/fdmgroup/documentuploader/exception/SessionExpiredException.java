@@ -0,0 +1,23 @@
+package com.fdmgroup.documentuploader.exception;
+
+import javax.servlet.http.HttpSession;
+
+/**
+ * Exception thrown when the ids stored in a {@link HttpSession} are missing or
+ * no longer identify an existing object, meaning the user has to log in again.
+ * 
+ * @author Noah Anderson
+ */
+public class SessionExpiredException extends RuntimeException {
+
+	private static final long serialVersionUID = -3137412871829150546L;
+
+	public SessionExpiredException() {
+		super();
+	}
+
+	public SessionExpiredException(String message) {
+		super(message);
+	}
+
+}
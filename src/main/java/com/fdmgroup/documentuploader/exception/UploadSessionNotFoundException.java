@@ -0,0 +1,27 @@
+package com.fdmgroup.documentuploader.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+
+/**
+ * Exception thrown when an {@link UploadSession} does not exist, has been
+ * abandoned, or belongs to a different account.
+ *
+ * @author Noah Anderson
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UploadSessionNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = 6012519958381617204L;
+
+	public UploadSessionNotFoundException() {
+		super();
+	}
+
+	public UploadSessionNotFoundException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.fdmgroup.documentuploader.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
+
+/**
+ * Exception thrown when the {@link WriteBehindQueue} has no space left for a
+ * write within the configured offer timeout.
+ *
+ * @author Noah Anderson
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteQueueFullException extends RuntimeException {
+
+	private static final long serialVersionUID = -3379187241645902416L;
+
+	public WriteQueueFullException() {
+		super();
+	}
+
+	public WriteQueueFullException(String message) {
+		super(message);
+	}
+
+}
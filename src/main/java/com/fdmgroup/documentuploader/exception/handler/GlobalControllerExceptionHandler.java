@@ -4,9 +4,11 @@ import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
 import com.fdmgroup.documentuploader.enums.ApiUri;
 import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.exception.SessionExpiredException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -63,6 +65,9 @@ public class GlobalControllerExceptionHandler {
 		if (e.getMessage() != null) {
 			redirectAttributes.addFlashAttribute(AttributeName.MESSAGE.getValue(), e.getMessage());
 		}
+		if (e instanceof SessionExpiredException) {
+			return REDIRECT + requestUris.getLogin();
+		}
 
 		// get request uri
 		String origin = URL_PREFIX + request.getHeader("host");
@@ -95,9 +100,10 @@ public class GlobalControllerExceptionHandler {
 			RedirectAttributes redirectAttributes, String uri) {
 		HttpRequest httpRequest = responseException.getRequest();
 		if (httpRequest != null) {
-			String requestUri = httpRequest.getURI().toString();
+			String requestUri = httpRequest.getURI().getPath();
 
-			if (requestUri.contains(ApiUri.ACCOUNTS.getUri()) && requestUri.endsWith(ApiUri.DOCUMENTS.getUri())) {
+			if (httpRequest.getMethod() == HttpMethod.PUT && requestUri.contains(ApiUri.ACCOUNTS.getUri())
+					&& requestUri.contains(ApiUri.DOCUMENTS.getUri())) {
 				redirectAttributes.addFlashAttribute(AttributeName.MESSAGE.getValue(),
 						messageSource.getMessage("document.not-added", null, Locale.getDefault()));
 			}
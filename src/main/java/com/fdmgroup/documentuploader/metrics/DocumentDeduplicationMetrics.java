@@ -0,0 +1,77 @@
+package com.fdmgroup.documentuploader.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * <p>
+ * Records how many uploaded documents were attached to an account as a
+ * reference to contents the data service already stored, rather than being
+ * uploaded in full.
+ * </p>
+ * <p>
+ * The counts are published as {@code documents.uploads}, tagged with whether
+ * the upload was {@code deduplicated}, together with the bytes which did not
+ * need to be sent as {@code documents.deduplicated.size} and the share of
+ * deduplicated uploads as {@code documents.deduplication.ratio}.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Component
+public class DocumentDeduplicationMetrics {
+
+	private static final String UPLOADS_METRIC = "documents.uploads";
+	private static final String DEDUPLICATED_TAG = "deduplicated";
+
+	private final Counter deduplicatedUploads;
+	private final Counter fullUploads;
+	private final Counter deduplicatedSize;
+
+	@Autowired
+	public DocumentDeduplicationMetrics(MeterRegistry meterRegistry) {
+		this.deduplicatedUploads = Counter.builder(UPLOADS_METRIC)
+				.description("Documents added to an account")
+				.tag(DEDUPLICATED_TAG, Boolean.TRUE.toString())
+				.register(meterRegistry);
+		this.fullUploads = Counter.builder(UPLOADS_METRIC)
+				.description("Documents added to an account")
+				.tag(DEDUPLICATED_TAG, Boolean.FALSE.toString())
+				.register(meterRegistry);
+		this.deduplicatedSize = Counter.builder("documents.deduplicated.size")
+				.description("Document contents which were already stored and not uploaded again")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("documents.deduplication.ratio", this, DocumentDeduplicationMetrics::getDeduplicationRatio)
+				.description("Share of added documents whose contents were already stored")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Records a document whose contents were already stored and was added to an
+	 * account by reference.
+	 *
+	 * @param size the size of the document contents in bytes
+	 */
+	public void recordDeduplicated(long size) {
+		deduplicatedUploads.increment();
+		deduplicatedSize.increment(size);
+	}
+
+	/**
+	 * Records a document whose contents were uploaded in full.
+	 */
+	public void recordUploaded() {
+		fullUploads.increment();
+	}
+
+	double getDeduplicationRatio() {
+		double total = deduplicatedUploads.count() + fullUploads.count();
+		return total == 0 ? 0 : deduplicatedUploads.count() / total;
+	}
+
+}
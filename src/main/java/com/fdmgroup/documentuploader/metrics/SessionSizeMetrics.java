@@ -0,0 +1,105 @@
+package com.fdmgroup.documentuploader.metrics;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Enumeration;
+
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionAttributeListener;
+import javax.servlet.http.HttpSessionBindingEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * <p>
+ * Records the serialized size of a {@link HttpSession} every time one of its
+ * attributes is added, replaced or removed, so that growth of the state kept
+ * per user is visible as the {@code http.session.size} metric.
+ * </p>
+ * <p>
+ * Attributes which are not {@link Serializable} cannot be replicated and are
+ * not counted.
+ * </p>
+ * 
+ * @author Noah Anderson
+ */
+@Component
+public class SessionSizeMetrics implements HttpSessionAttributeListener {
+
+	private final DistributionSummary sessionSize;
+
+	@Autowired
+	public SessionSizeMetrics(MeterRegistry meterRegistry) {
+		this.sessionSize = DistributionSummary.builder("http.session.size")
+				.description("Serialized size of the attributes stored in an HTTP session")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void attributeAdded(HttpSessionBindingEvent event) {
+		record(event.getSession());
+	}
+
+	@Override
+	public void attributeRemoved(HttpSessionBindingEvent event) {
+		record(event.getSession());
+	}
+
+	@Override
+	public void attributeReplaced(HttpSessionBindingEvent event) {
+		record(event.getSession());
+	}
+
+	private void record(HttpSession session) {
+		long size = 0;
+		Enumeration<String> attributeNames = session.getAttributeNames();
+		while (attributeNames.hasMoreElements()) {
+			size += getSerializedSize(session.getAttribute(attributeNames.nextElement()));
+		}
+		sessionSize.record(size);
+	}
+
+	/**
+	 * Returns the number of bytes the given {@code value} occupies when
+	 * serialized, or {@code 0} if it cannot be serialized.
+	 */
+	static long getSerializedSize(Object value) {
+		if (!(value instanceof Serializable)) {
+			return 0;
+		}
+		CountingOutputStream countingStream = new CountingOutputStream();
+		try (ObjectOutputStream objectStream = new ObjectOutputStream(countingStream)) {
+			objectStream.writeObject(value);
+		} catch (IOException e) {
+			return 0;
+		}
+		return countingStream.count;
+	}
+
+	/**
+	 * {@link OutputStream} which discards everything written to it, only keeping
+	 * count of the number of bytes.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.fdmgroup.documentuploader.model.account;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import com.fdmgroup.documentuploader.dto.validation.annotation.UniqueAccountName;
@@ -40,6 +41,22 @@ public class Account {
 		this.documents = builder.documents;
 	}
 
+	/**
+	 * Creates a copy of the given {@code Account} which can be changed without
+	 * affecting it. The sets of users and documents are copied, their elements
+	 * are shared.
+	 * 
+	 * @param account the {@code Account} to copy
+	 */
+	public Account(Account account) {
+		this.id = account.getId();
+		this.name = account.getName();
+		this.owner = account.getOwner();
+		this.serviceLevel = account.getServiceLevel();
+		this.users = account.getUsers() == null ? null : new HashSet<>(account.getUsers());
+		this.documents = account.getDocuments() == null ? null : new HashSet<>(account.getDocuments());
+	}
+
 	public long getId() {
 		return id;
 	}
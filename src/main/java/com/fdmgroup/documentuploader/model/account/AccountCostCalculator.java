@@ -44,22 +44,37 @@ public class AccountCostCalculator {
 	 * @return the monetary cost of the account
 	 */
 	public BigDecimal calculateRate(Account account) {
-		ServiceLevel serviceLevel = account.getServiceLevel();
+		return calculateRate(account.getServiceLevel(), account.getUsers().size());
+	}
+	
+	/**
+	 * Calculates and returns the monetary cost of the {@link Account} described
+	 * by the given {@link AccountSummary}.
+	 * 
+	 * @param account {@link AccountSummary} of the account to calculate the
+	 *                monetary cost of
+	 * @return the monetary cost of the account
+	 */
+	public BigDecimal calculateRate(AccountSummary account) {
+		return calculateRate(account.getServiceLevel(), account.getUsers().size());
+	}
+	
+	private BigDecimal calculateRate(ServiceLevel serviceLevel, int userCount) {
 		BigDecimal rate = serviceLevel.getPrice();
 		
-		int priceToAdd = getPriceToAdd(account, serviceLevel);
+		int priceToAdd = getPriceToAdd(userCount, serviceLevel);
 		rate = addToRate(rate, priceToAdd);
 		
 		return rate;
 	}
 	
-	private int getPriceToAdd(Account account, ServiceLevel level) {
+	private int getPriceToAdd(int userCount, ServiceLevel level) {
 		int priceToAdd = 0;
 		if (isUnlimited(level)) {
-			priceToAdd = (account.getUsers().size() - 1) / UNLIMITED_THRESHOLD;
+			priceToAdd = (userCount - 1) / UNLIMITED_THRESHOLD;
 		}
 		if (isEnterprise(level) ) {
-			priceToAdd = (account.getUsers().size() - VALUE_TO_MAKE_ENTERPRISE_CALC_SIMPLE) / ENTERPRISE_THRESHOLD;
+			priceToAdd = (userCount - VALUE_TO_MAKE_ENTERPRISE_CALC_SIMPLE) / ENTERPRISE_THRESHOLD;
 		}
 		
 		return priceToAdd;
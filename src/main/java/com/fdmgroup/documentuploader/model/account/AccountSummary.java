@@ -0,0 +1,165 @@
+package com.fdmgroup.documentuploader.model.account;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.util.DocumentUtil;
+
+/**
+ * <p>
+ * Read-only view of an {@link Account} which holds only the metadata of its
+ * documents. Used to list and display accounts without transferring document
+ * contents. It is never sent back to the data source; an update of an
+ * {@code Account} is built from it with handles standing in for the document
+ * contents, which are left out of the update.
+ * </p>
+ * <p>
+ * Instances cannot be changed once created, so a single instance can be shared
+ * between requests. Operations changing an account return a new instance.
+ * </p>
+ *
+ * @author Noah Anderson
+ * @see Account
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountSummary {
+
+	private final long id;
+	private final String name;
+	private final User owner;
+	private final ServiceLevel serviceLevel;
+	private final Set<User> users;
+	private final Set<DocumentSummary> documents;
+
+	/**
+	 * Used to find documents by name without scanning {@link #documents}. Keyed
+	 * by the {@link DocumentUtil#normaliseName(String) normalised} name only, as
+	 * the data source identifies documents by name regardless of their extension.
+	 * Built once in the constructor and never changed, so it can be read by
+	 * concurrent requests sharing this instance.
+	 */
+	private final Map<String, DocumentSummary> documentsByName;
+
+	@JsonCreator
+	public AccountSummary(@JsonProperty("id") long id, @JsonProperty("name") String name,
+			@JsonProperty("owner") User owner, @JsonProperty("serviceLevel") ServiceLevel serviceLevel,
+			@JsonProperty("users") Set<User> users, @JsonProperty("documents") Set<DocumentSummary> documents) {
+		this.id = id;
+		this.name = name;
+		this.owner = owner;
+		this.serviceLevel = serviceLevel;
+		this.users = users == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(users));
+		this.documents = documents == null ? Collections.emptySet()
+				: Collections.unmodifiableSet(new HashSet<>(documents));
+
+		Map<String, DocumentSummary> index = new HashMap<>();
+		this.documents.forEach(document -> index.put(DocumentUtil.normaliseName(document.getName()), document));
+		this.documentsByName = Collections.unmodifiableMap(index);
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public User getOwner() {
+		return owner;
+	}
+
+	public ServiceLevel getServiceLevel() {
+		return serviceLevel;
+	}
+
+	public Set<User> getUsers() {
+		return users;
+	}
+
+	public Set<DocumentSummary> getDocuments() {
+		return documents;
+	}
+
+	/**
+	 * Checks if this account has as many users as its {@link ServiceLevel}
+	 * allows, in the same way as {@link Account#hasMaxUsers()}.
+	 *
+	 * @return {@code true} if no more users can be added to this account,
+	 *         {@code false} otherwise
+	 */
+	public boolean hasMaxUsers() {
+		if (serviceLevel == ServiceLevel.UNLIMITED || serviceLevel == ServiceLevel.ENTERPRISE) {
+			return false;
+		}
+		return users.size() >= serviceLevel.getMaxUsers();
+	}
+
+	/**
+	 * Checks if this account has a document with the given name, as the name is
+	 * stored by the data source, without its extension. Names are compared once
+	 * {@link DocumentUtil#normaliseName(String) normalised}.
+	 *
+	 * @param documentName the name of the document to look for
+	 * @return {@code true} if this account has a document with the given name,
+	 *         {@code false} otherwise
+	 */
+	public boolean hasDocument(String documentName) {
+		return documentsByName.containsKey(DocumentUtil.normaliseName(documentName));
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (int) (id ^ (id >>> 32));
+		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		result = prime * result + ((owner == null) ? 0 : owner.hashCode());
+		result = prime * result + ((serviceLevel == null) ? 0 : serviceLevel.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		AccountSummary other = (AccountSummary) obj;
+		if (id != other.id)
+			return false;
+		if (name == null) {
+			if (other.name != null)
+				return false;
+		} else if (!name.equals(other.name))
+			return false;
+		if (owner == null) {
+			if (other.owner != null)
+				return false;
+		} else if (!owner.equals(other.owner))
+			return false;
+		if (serviceLevel == null) {
+			if (other.serviceLevel != null)
+				return false;
+		} else if (!serviceLevel.equals(other.serviceLevel))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "AccountSummary [id=" + id + ", documents=" + documents + "]";
+	}
+
+}
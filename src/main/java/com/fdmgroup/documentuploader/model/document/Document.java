@@ -1,13 +1,36 @@
 package com.fdmgroup.documentuploader.model.document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fdmgroup.documentuploader.util.DocumentUtil;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 
 /**
+ * <p>
  * Encapsulates information related to a document/file uploaded from a client to
- * the database.
+ * the database. Documents are compared by their id, name, extension and the
+ * hash of their contents, so neither {@link #equals(Object)} nor
+ * {@link #hashCode()} reads the contents byte by byte. The hash is calculated
+ * the first time a document is compared and cached until the contents are
+ * replaced; documents whose contents differ in length are told apart before
+ * any hash is calculated.
+ * </p>
+ * <p>
+ * The contents can be held in memory or, when only the metadata of a document
+ * has been retrieved, be a {@link DocumentContent} handle which is read on
+ * first access. Contents which have not been loaded are left out when the
+ * document is serialised, so sending it back to the data source does not
+ * retrieve them.
+ * </p>
  * 
  * @author Noah Anderson
  * @author Roy Coates
@@ -20,9 +43,16 @@ public class Document {
 	private long id;
 	
 	/**
-	 * The contents of the document.
+	 * The contents of the document, or {@code null} if they have not been
+	 * loaded from the {@link #contentSource} yet.
 	 */
-	private byte[] content;
+	private volatile byte[] content;
+
+	/**
+	 * Used to retrieve the contents when they are first needed, if the document
+	 * was created without them.
+	 */
+	private volatile DocumentContent contentSource;
 	
 	/**
 	 * The name of the document.
@@ -34,6 +64,12 @@ public class Document {
 	 */
 	private String extension;
 
+	/**
+	 * Hex encoded SHA-256 hash of the contents, calculated the first time it is
+	 * needed and cleared whenever the contents are replaced.
+	 */
+	private volatile String hash;
+
 	public Document() {
 	}
 
@@ -51,12 +87,132 @@ public class Document {
 		this.id = id;
 	}
 
+	/**
+	 * Returns the contents of this document, first loading them into memory from
+	 * its {@link DocumentContent} handle if they have not been loaded yet. Use
+	 * {@link #openStream()} to read them without holding them in memory.
+	 * 
+	 * @return the contents of this document, or {@code null} if it has none
+	 * @throws UncheckedIOException if the contents cannot be loaded
+	 */
+	@JsonIgnore
 	public byte[] getContent() {
+		byte[] loadedContent = content;
+		if (loadedContent == null && contentSource != null) {
+			loadedContent = loadContent();
+		}
+		return loadedContent;
+	}
+
+	private synchronized byte[] loadContent() {
+		DocumentContent source = contentSource;
+		if (content == null && source != null) {
+			try (InputStream inputStream = source.openStream()) {
+				content = StreamUtils.copyToByteArray(inputStream);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
 		return content;
 	}
 
-	public void setContent(byte[] content) {
+	/**
+	 * Used to serialise the contents only if they are held in memory, so a
+	 * document whose contents are a {@link DocumentContent} handle is sent
+	 * without them.
+	 */
+	@JsonProperty("content")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private byte[] getLoadedContent() {
+		return content;
+	}
+
+	/**
+	 * Opens a stream of the contents of this document. Contents which have not
+	 * been loaded are streamed from the {@link DocumentContent} handle without
+	 * being kept, so every call retrieves them again.
+	 * 
+	 * @return {@link InputStream} of the contents, which must be closed by the
+	 *         caller
+	 * @throws IOException           if the contents cannot be retrieved
+	 * @throws IllegalStateException if this document has no contents
+	 */
+	public InputStream openStream() throws IOException {
+		byte[] loadedContent = content;
+		if (loadedContent != null) {
+			return new ByteArrayInputStream(loadedContent);
+		}
+		DocumentContent source = contentSource;
+		if (source == null) {
+			throw new IllegalStateException("Document " + name + " has no content");
+		}
+		return source.openStream();
+	}
+
+	/**
+	 * @return {@code true} if the contents of this document are held in memory
+	 */
+	@JsonIgnore
+	public boolean isContentLoaded() {
+		return content != null;
+	}
+
+	/**
+	 * Replaces the contents of this document. The array is not copied, so it
+	 * must not be modified afterwards, or the cached hash of the contents no
+	 * longer matches them.
+	 * 
+	 * @param content the new contents of this document
+	 */
+	@JsonProperty("content")
+	public synchronized void setContent(byte[] content) {
 		this.content = content;
+		this.contentSource = null;
+		this.hash = null;
+	}
+
+	/**
+	 * Replaces the contents of this document with a handle which retrieves them
+	 * when they are first read. The cached hash is cleared, so the hash of the
+	 * contents should be set afterwards if it is known, or reading it loads the
+	 * contents.
+	 * 
+	 * @param contentSource the handle to retrieve the contents with
+	 */
+	@JsonIgnore
+	public synchronized void setContentSource(DocumentContent contentSource) {
+		this.content = null;
+		this.contentSource = contentSource;
+		this.hash = null;
+	}
+
+	/**
+	 * @return the lower case, hex encoded SHA-256 hash of the contents, or
+	 *         {@code null} if this document has no contents. Contents which
+	 *         have not been loaded are loaded if their hash is not known
+	 */
+	public String getHash() {
+		String contentHash = hash;
+		if (contentHash == null) {
+			byte[] loadedContent = getContent();
+			if (loadedContent != null) {
+				contentHash = DocumentUtil.calculateHash(loadedContent);
+				hash = contentHash;
+			}
+		}
+		return contentHash;
+	}
+
+	/**
+	 * Used to accept the hash of the contents when the data service already
+	 * knows it, so it does not have to be calculated again. It is not sent back
+	 * to the data service.
+	 * 
+	 * @param hash the lower case, hex encoded SHA-256 hash of the contents
+	 */
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+	public void setHash(String hash) {
+		this.hash = hash;
 	}
 
 	public String getName() {
@@ -85,7 +241,6 @@ public class Document {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Arrays.hashCode(content);
 		result = prime * result + ((extension == null) ? 0 : extension.hashCode());
 		result = prime * result + (int) (id ^ (id >>> 32));
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
@@ -101,8 +256,6 @@ public class Document {
 		if (getClass() != obj.getClass())
 			return false;
 		Document other = (Document) obj;
-		if (!Arrays.equals(content, other.content))
-			return false;
 		if (extension == null) {
 			if (other.extension != null)
 				return false;
@@ -115,6 +268,14 @@ public class Document {
 				return false;
 		} else if (!name.equals(other.name))
 			return false;
+		if (content != null && other.content != null && content.length != other.content.length)
+			return false;
+		String contentHash = getHash();
+		if (contentHash == null) {
+			if (other.getHash() != null)
+				return false;
+		} else if (!contentHash.equals(other.getHash()))
+			return false;
 		return true;
 	}
 
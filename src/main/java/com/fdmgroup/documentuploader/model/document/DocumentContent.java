@@ -0,0 +1,26 @@
+package com.fdmgroup.documentuploader.model.document;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Handle to the contents of a {@link Document} which are stored elsewhere and
+ * only retrieved when they are read.
+ * 
+ * @author Noah Anderson
+ * @see Document#openStream()
+ */
+@FunctionalInterface
+public interface DocumentContent {
+
+	/**
+	 * Starts retrieving the contents. Each call retrieves them again, so the
+	 * returned stream should be read once and then closed.
+	 * 
+	 * @return {@link InputStream} of the contents, which must be closed by the
+	 *         caller
+	 * @throws IOException if the contents cannot be retrieved
+	 */
+	InputStream openStream() throws IOException;
+
+}
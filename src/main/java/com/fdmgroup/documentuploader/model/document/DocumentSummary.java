@@ -0,0 +1,197 @@
+package com.fdmgroup.documentuploader.model.document;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Encapsulates the metadata of a {@link Document} without its contents. Used
+ * wherever information about a document is needed but loading the document
+ * contents into memory is not, such as when listing the documents of an
+ * account.
+ *
+ * @author Noah Anderson
+ * @see Document
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DocumentSummary {
+
+	private long id;
+
+	/**
+	 * The name of the document.
+	 */
+	private String name;
+
+	/**
+	 * The document type (e.g., docx, csv, txt, jpg, etc.)
+	 */
+	private String extension;
+
+	/**
+	 * The size of the document contents in bytes.
+	 */
+	private long size;
+
+	/**
+	 * Hex encoded hash of the document contents, used as the entity tag of the
+	 * document when it is downloaded.
+	 */
+	private String hash;
+
+	/**
+	 * When the document was first uploaded.
+	 */
+	private LocalDateTime createdAt;
+
+	/**
+	 * When the document was last modified.
+	 */
+	private LocalDateTime updatedAt;
+
+	public DocumentSummary() {
+	}
+
+	public DocumentSummary(String name, String extension, long size) {
+		this.name = name;
+		this.extension = extension;
+		this.size = size;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public void setExtension(String extension) {
+		this.extension = extension;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public void setSize(long size) {
+		this.size = size;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public void setHash(String hash) {
+		this.hash = hash;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	/**
+	 * Creates a {@link Document} with the metadata of this summary whose contents
+	 * are retrieved through the given handle when they are first read. The hash
+	 * of this summary is kept, so comparing the document does not retrieve them.
+	 * 
+	 * @param contentSource the handle to retrieve the contents of the document
+	 *                      with
+	 * @return a {@code Document} which has not loaded its contents
+	 */
+	public Document toDocument(DocumentContent contentSource) {
+		Document document = new Document();
+		document.setId(id);
+		document.setName(name);
+		document.setExtension(extension);
+		document.setContentSource(contentSource);
+		document.setHash(hash);
+		return document;
+	}
+
+	@Override
+	public String toString() {
+		return "DocumentSummary [id=" + id + ", name=" + name + ", extension=" + extension + ", size=" + size + ", hash="
+				+ hash + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+		result = prime * result + ((extension == null) ? 0 : extension.hashCode());
+		result = prime * result + ((hash == null) ? 0 : hash.hashCode());
+		result = prime * result + (int) (id ^ (id >>> 32));
+		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		result = prime * result + (int) (size ^ (size >>> 32));
+		result = prime * result + ((updatedAt == null) ? 0 : updatedAt.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DocumentSummary other = (DocumentSummary) obj;
+		if (createdAt == null) {
+			if (other.createdAt != null)
+				return false;
+		} else if (!createdAt.equals(other.createdAt))
+			return false;
+		if (extension == null) {
+			if (other.extension != null)
+				return false;
+		} else if (!extension.equals(other.extension))
+			return false;
+		if (hash == null) {
+			if (other.hash != null)
+				return false;
+		} else if (!hash.equals(other.hash))
+			return false;
+		if (id != other.id)
+			return false;
+		if (name == null) {
+			if (other.name != null)
+				return false;
+		} else if (!name.equals(other.name))
+			return false;
+		if (size != other.size)
+			return false;
+		if (updatedAt == null) {
+			if (other.updatedAt != null)
+				return false;
+		} else if (!updatedAt.equals(other.updatedAt))
+			return false;
+		return true;
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.fdmgroup.documentuploader.model.upload;
+
+/**
+ * Encapsulates the outcome of adding one file of a batch upload to an account.
+ *
+ * @author Noah Anderson
+ */
+public class FileUploadResult {
+
+	/**
+	 * The original name of the file, including its extension.
+	 */
+	private final String fileName;
+
+	/**
+	 * Whether the file was added to the account.
+	 */
+	private final boolean uploaded;
+
+	/**
+	 * Why the file was not added to the account, or {@code null} if it was.
+	 */
+	private final String message;
+
+	private FileUploadResult(String fileName, boolean uploaded, String message) {
+		this.fileName = fileName;
+		this.uploaded = uploaded;
+		this.message = message;
+	}
+
+	public static FileUploadResult uploaded(String fileName) {
+		return new FileUploadResult(fileName, true, null);
+	}
+
+	public static FileUploadResult failed(String fileName, String message) {
+		return new FileUploadResult(fileName, false, message);
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public boolean isUploaded() {
+		return uploaded;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "FileUploadResult [fileName=" + fileName + ", uploaded=" + uploaded + ", message=" + message + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((fileName == null) ? 0 : fileName.hashCode());
+		result = prime * result + ((message == null) ? 0 : message.hashCode());
+		result = prime * result + (uploaded ? 1231 : 1237);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FileUploadResult other = (FileUploadResult) obj;
+		if (fileName == null) {
+			if (other.fileName != null)
+				return false;
+		} else if (!fileName.equals(other.fileName))
+			return false;
+		if (message == null) {
+			if (other.message != null)
+				return false;
+		} else if (!message.equals(other.message))
+			return false;
+		if (uploaded != other.uploaded)
+			return false;
+		return true;
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.fdmgroup.documentuploader.model.upload;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * <p>
+ * Encapsulates the state of a file being uploaded in several chunks. Every
+ * chunk has the same size except the last, and is identified by its index
+ * within the file. Chunks may arrive in any order, concurrently, and more than
+ * once, so an interrupted upload can be resumed by sending only the chunks
+ * which are still missing.
+ * </p>
+ * <p>
+ * The received chunks are written to a staging file on local disk until the
+ * upload is completed.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public class UploadSession {
+
+	private final String id;
+
+	/**
+	 * The id of the account the file is uploaded to.
+	 */
+	private final long accountId;
+
+	/**
+	 * The original name of the file, including its extension.
+	 */
+	private final String fileName;
+
+	/**
+	 * The size of the file in bytes.
+	 */
+	private final long size;
+
+	/**
+	 * The size of every chunk except the last in bytes.
+	 */
+	private final long chunkSize;
+
+	/**
+	 * The file on local disk the received chunks are written to.
+	 */
+	private final Path stagingFile;
+
+	/**
+	 * The indexes of the chunks received so far.
+	 */
+	private final BitSet receivedChunks = new BitSet();
+
+	/**
+	 * Whether the upload is being added to its account, so that it is only
+	 * completed once and no chunk is written while it is read.
+	 */
+	private boolean completing;
+
+	/**
+	 * The number of chunks currently being written to the staging file.
+	 */
+	private int chunksBeingWritten;
+
+	/**
+	 * When the upload was created or last received a chunk.
+	 */
+	private volatile Instant lastActivity;
+
+	public UploadSession(String id, long accountId, String fileName, long size, long chunkSize, Path stagingFile,
+			Instant createdAt) {
+		this.id = id;
+		this.accountId = accountId;
+		this.fileName = fileName;
+		this.size = size;
+		this.chunkSize = chunkSize;
+		this.stagingFile = stagingFile;
+		this.lastActivity = createdAt;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	@JsonIgnore
+	public long getAccountId() {
+		return accountId;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getChunkSize() {
+		return chunkSize;
+	}
+
+	@JsonIgnore
+	public Path getStagingFile() {
+		return stagingFile;
+	}
+
+	@JsonIgnore
+	public Instant getLastActivity() {
+		return lastActivity;
+	}
+
+	/**
+	 * @return the number of chunks the file is split into
+	 */
+	public int getChunkCount() {
+		return (int) ((size + chunkSize - 1) / chunkSize);
+	}
+
+	/**
+	 * @param index the index of a chunk of the file
+	 * @return the size of the chunk with the given {@code index} in bytes
+	 */
+	public long getChunkLength(int index) {
+		return Math.min(chunkSize, size - index * chunkSize);
+	}
+
+	/**
+	 * @return the number of bytes of the file received so far
+	 */
+	public synchronized long getReceivedBytes() {
+		long receivedBytes = 0;
+		for (int index = receivedChunks.nextSetBit(0); index >= 0; index = receivedChunks.nextSetBit(index + 1)) {
+			receivedBytes += getChunkLength(index);
+		}
+		return receivedBytes;
+	}
+
+	/**
+	 * @return the indexes of the chunks which have not been received yet
+	 */
+	public synchronized List<Integer> getMissingChunks() {
+		List<Integer> missingChunks = new ArrayList<>();
+		int chunkCount = getChunkCount();
+		for (int index = receivedChunks.nextClearBit(0); index < chunkCount;
+				index = receivedChunks.nextClearBit(index + 1)) {
+			missingChunks.add(index);
+		}
+		return missingChunks;
+	}
+
+	/**
+	 * @return {@code true} if every chunk of the file has been received
+	 */
+	public synchronized boolean isComplete() {
+		return receivedChunks.cardinality() == getChunkCount();
+	}
+
+	/**
+	 * Records that the chunk with the given {@code index} has been written to the
+	 * staging file.
+	 *
+	 * @param index      the index of the received chunk
+	 * @param receivedAt when the chunk was received
+	 */
+	public synchronized void markChunkReceived(int index, Instant receivedAt) {
+		receivedChunks.set(index);
+		this.lastActivity = receivedAt;
+	}
+
+	/**
+	 * Records that a chunk is about to be written to the staging file, unless
+	 * the upload is being completed. Every successful call must be followed by
+	 * a call to {@link #finishWritingChunk()}.
+	 *
+	 * @return {@code false} if the upload is being completed, so the chunk must
+	 *         not be written
+	 */
+	public synchronized boolean startWritingChunk() {
+		if (completing) {
+			return false;
+		}
+		chunksBeingWritten++;
+		return true;
+	}
+
+	/**
+	 * Records that a chunk is no longer being written to the staging file.
+	 */
+	public synchronized void finishWritingChunk() {
+		chunksBeingWritten--;
+	}
+
+	/**
+	 * Marks the upload as being completed.
+	 *
+	 * @return {@code false} if the upload is already being completed, or a chunk
+	 *         is still being written
+	 */
+	public synchronized boolean startCompleting() {
+		if (completing || chunksBeingWritten > 0) {
+			return false;
+		}
+		completing = true;
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if the upload is being added to its account
+	 */
+	@JsonIgnore
+	public synchronized boolean isCompleting() {
+		return completing;
+	}
+
+	/**
+	 * Allows the upload to be completed again after completing it failed.
+	 */
+	public synchronized void cancelCompleting() {
+		completing = false;
+	}
+
+	@Override
+	public String toString() {
+		return "UploadSession [id=" + id + ", accountId=" + accountId + ", fileName=" + fileName + ", size=" + size
+				+ ", chunkSize=" + chunkSize + ", stagingFile=" + stagingFile + ", lastActivity=" + lastActivity + "]";
+	}
+
+}
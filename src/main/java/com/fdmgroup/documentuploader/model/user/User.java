@@ -34,6 +34,21 @@ public class User {
 		this.lastName = builder.lastName;
 	}
 
+	/**
+	 * Creates a copy of the given {@code User} which can be changed without
+	 * affecting it.
+	 * 
+	 * @param user the {@code User} to copy
+	 */
+	public User(User user) {
+		super();
+		this.id = user.getId();
+		this.email = user.getEmail();
+		this.password = user.getPassword();
+		this.firstName = user.getFirstName();
+		this.lastName = user.getLastName();
+	}
+
 	public long getId() {
 		return id;
 	}
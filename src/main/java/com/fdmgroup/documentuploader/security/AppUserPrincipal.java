@@ -2,7 +2,6 @@ package com.fdmgroup.documentuploader.security;
 
 import com.fdmgroup.documentuploader.model.user.AuthGroup;
 import com.fdmgroup.documentuploader.model.user.User;
-import com.fdmgroup.documentuploader.service.user.AbstractUserService;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,15 +23,21 @@ import java.util.Set;
 public class AppUserPrincipal implements UserDetails {
 
 	private static final long serialVersionUID = 4495843355464014174L;
-	private final AbstractUserService userService;
 	private final User user;
 	private final List<AuthGroup> authGroups;
 
-	public AppUserPrincipal(AbstractUserService userService, User user, List<AuthGroup> authGroups) {
+	/**
+	 * Whether the {@link User} has activated their account. Resolved once when the
+	 * principal is created, as Spring Security checks it several times per
+	 * authentication.
+	 */
+	private final boolean enabled;
+
+	public AppUserPrincipal(User user, List<AuthGroup> authGroups, boolean enabled) {
 		super();
-		this.userService = userService;
 		this.user = user;
 		this.authGroups = authGroups;
+		this.enabled = enabled;
 	}
 
 	@Override
@@ -76,7 +81,7 @@ public class AppUserPrincipal implements UserDetails {
 
 	@Override
 	public boolean isEnabled() {
-		return userService.hasActivatedAccount(this.user.getEmail());
+		return enabled;
 	}
 
 	@Override
@@ -84,13 +89,13 @@ public class AppUserPrincipal implements UserDetails {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		AppUserPrincipal that = (AppUserPrincipal) o;
-		return userService.equals(that.userService) &&
+		return enabled == that.enabled &&
 				user.equals(that.user) &&
 				authGroups.equals(that.authGroups);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(userService, user, authGroups);
+		return Objects.hash(user, authGroups, enabled);
 	}
 }
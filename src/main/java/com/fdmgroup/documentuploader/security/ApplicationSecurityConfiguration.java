@@ -2,6 +2,9 @@ package com.fdmgroup.documentuploader.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,11 +17,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.session.HttpSessionEventPublisher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import com.fdmgroup.documentuploader.model.user.Role;
 import com.fdmgroup.documentuploader.security.authhandler.LoginAuthenticationSuccessHandler;
 import com.fdmgroup.documentuploader.service.security.AppUserDetailsService;
 
 /**
  * Central Configuration class for the use of Spring Security within the scope of this application.
+ * <p>
+ * Actuator endpoints other than health and info, such as the metrics and the endpoints which change
+ * settings at runtime, are only served to users with {@link Role#ROLE_ADMIN}, which a Prometheus
+ * scraper authenticates as through HTTP Basic. They can be moved off the public port as well by
+ * setting {@code management.server.port}.
+ * </p>
  * 
  * @author Noah Anderson
  *
@@ -58,6 +68,7 @@ public class ApplicationSecurityConfiguration extends WebSecurityConfigurerAdapt
 		http
 				.authorizeRequests()
 					.antMatchers("/", loginPath, "/forgotPassword", "/resetPassword", "/changePassword", "/user/login", "/user/changePassword", "/register", "/css/*", "/js/*", "/register/confirm-account").permitAll()
+					.requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class, InfoEndpoint.class)).hasAuthority(Role.ROLE_ADMIN.name())
 					.antMatchers("/dashboard", "/editProfileInformation", "/serviceLevelInformation",
 							"/settings", "/settings/**", "/account", "/account/**", "/serviceLevel").hasAuthority("ROLE_USER")
 					.anyRequest().authenticated()
@@ -69,6 +80,8 @@ public class ApplicationSecurityConfiguration extends WebSecurityConfigurerAdapt
 					.successHandler(authenticationSuccessHandler)
 					.usernameParameter("email")
 					.passwordParameter("password")
+				.and()
+					.httpBasic()
 				.and()
 					.logout()
 					.invalidateHttpSession(true)
@@ -17,6 +17,7 @@ import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.security.AppUserPrincipal;
+import com.fdmgroup.documentuploader.service.session.AbstractSessionService;
 
 /**
  * <p>
@@ -37,11 +38,14 @@ public class LoginAuthenticationSuccessHandler implements AuthenticationSuccessH
 
 	private static final String NONE = "none";
 	private final RequestUris requestUris;
+	private final AbstractSessionService sessionService;
 
 	@Autowired
-	public LoginAuthenticationSuccessHandler(ApplicationProperties applicationProperties) {
+	public LoginAuthenticationSuccessHandler(ApplicationProperties applicationProperties,
+			AbstractSessionService sessionService) {
 		super();
 		this.requestUris = applicationProperties.getRequestUris();
+		this.sessionService = sessionService;
 	}
 
 	@Override
@@ -58,7 +62,7 @@ public class LoginAuthenticationSuccessHandler implements AuthenticationSuccessH
 			session.setAttribute(roleAttribute, String.valueOf(userPrincipal.getAuthorities()));
 
 			User user = userPrincipal.getUser();
-			session.setAttribute(AttributeName.USER.getValue(), user);
+			sessionService.setCurrentUser(session, user);
 		}
 		response.sendRedirect(requestUris.getDashboard());
 	}
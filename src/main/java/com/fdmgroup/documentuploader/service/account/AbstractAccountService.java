@@ -4,10 +4,13 @@ import com.fdmgroup.documentuploader.exception.CannotAddUserToAccountException;
 import com.fdmgroup.documentuploader.exception.FileException;
 import com.fdmgroup.documentuploader.exception.InvalidServiceLevelException;
 import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.upload.FileUploadResult;
 import com.fdmgroup.documentuploader.model.user.User;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,87 +27,151 @@ public interface AbstractAccountService {
 
 	/**
 	 * Adds a {@link User} with an email equal to {@code email} to the given
-	 * {@link Account}.
+	 * {@link Account}, returning once the data source has stored the change.
 	 * 
 	 * @param email   the email of the {@code User} to add to the {@code account}
-	 * @param account the {@code Account} to add a {@code user} to
-	 * @return the updated {@code Account} object
+	 * @param account the {@link AccountSummary} of the {@code Account} to add a
+	 *                {@code user} to
+	 * @return an {@code AccountSummary} of the updated {@code Account}
 	 * @throws CannotAddUserToAccountException when a {@code User} with an email
 	 *                                         equal to {@code email} cannot be
 	 *                                         added to the {@code account} for any
 	 *                                         reason.
 	 */
-	Account addUserToAccountByEmail(String email, Account account);
+	AccountSummary addUserToAccountByEmail(String email, AccountSummary account);
 
 	/**
 	 * Removes a {@link User} with the given {@code id} from the given
-	 * {@link Account}.
+	 * {@link Account}, returning once the data source has stored the change.
 	 * 
 	 * @param id      the {@code id} of the {@code User} to remove from
 	 *                {@code account}
 	 * @param user    the current user of the application
-	 * @param account the {@code Account} to remove the {@code user} from
-	 * @return the updated {@code Account} instance
+	 * @param account the {@link AccountSummary} of the {@code Account} to remove
+	 *                the {@code user} from
+	 * @return an {@code AccountSummary} of the updated {@code Account}
 	 */
-	Account removeUserFromAccountById(long id, User user, Account account);
+	AccountSummary removeUserFromAccountById(long id, User user, AccountSummary account);
 
 	/**
 	 * Updates the given {@link Account} with a {@link ServiceLevel} with a name
-	 * equal to {@code serviceLevelName}
+	 * equal to {@code serviceLevelName}, returning once the data source has
+	 * stored the change.
 	 *
-	 * @param account      	   the {@code Account} to update
+	 * @param account      	   the {@link AccountSummary} of the {@code Account} to
+	 *                         update
 	 * @param serviceLevelName the name of a {@code ServiceLevel} to update the
 	 *                     {@code account} with
-	 * @return the updated {@code Account} instance
+	 * @return an {@code AccountSummary} of the updated {@code Account}
 	 * @throws InvalidServiceLevelException when the {@code account} cannot be given
 	 *                                      a {@code ServiceLevel} with a name equal
 	 *                                      to {@code serviceLevel} for any reason.
 	 */
-	Account updateAccountServiceLevel(Account account, String serviceLevelName);
+	AccountSummary updateAccountServiceLevel(AccountSummary account, String serviceLevelName);
 
 	/**
 	 * Uploads the given {@link MultipartFile} to the data source, and adds it to
 	 * the {@code Set} of {@link Document} objects belonging to the {@link Account}
 	 *
 	 * @param file    the {@code MultipartFile} to upload
-	 * @param account the {@code account} to add the {@code Document} created from
-	 *                the given {@code file} to
-	 * @return the updated {@code Account}
-	 * @throws FileException if the given {@code file} is empty, or has already been
-	 *                       uploaded to the {@code account}.
+	 * @param account the {@link AccountSummary} of the {@code Account} to add the
+	 *                {@code Document} created from the given {@code file} to
+	 * @return an {@code AccountSummary} of the updated {@code Account}
+	 * @throws FileException if the given {@code file} is empty, has already been
+	 *                       uploaded to the {@code account}, or the
+	 *                       {@code account} has reached the upload limit of its
+	 *                       {@link ServiceLevel}.
 	 */
-	Account addFileToAccount(MultipartFile file, Account account);
+	AccountSummary addFileToAccount(MultipartFile file, AccountSummary account);
+
+	/**
+	 * Uploads the given {@link MultipartFile} objects to the data source
+	 * concurrently and adds them to the {@code Set} of {@link Document} objects
+	 * belonging to the given {@link Account}. Files which are empty, have the
+	 * name of a {@code Document} already on the {@code account} or earlier in the
+	 * batch, or exceed the upload limit of its {@link ServiceLevel} are not
+	 * uploaded.
+	 *
+	 * @param files   the {@code MultipartFile} objects to upload
+	 * @param account the {@link AccountSummary} of the {@code Account} to add the
+	 *                files to
+	 * @return the outcome for each of the given {@code files}, in the same order
+	 */
+	List<FileUploadResult> addFilesToAccount(List<MultipartFile> files, AccountSummary account);
 
 	/**
 	 * Removes a file from the given {@link Account} with a name equal to
 	 * {@code fileName}.
 	 * 
 	 * @param fileName the name of the file to remove from the {@code account}
-	 * @param account  the {@code Account} to remove a file with a name equal to
-	 *                 {@code fileName} from
-	 * @return the updated {@code Account}
+	 * @param account  the {@link AccountSummary} of the {@code Account} to remove
+	 *                 a file with a name equal to {@code fileName} from
+	 * @return an {@code AccountSummary} of the updated {@code Account}
 	 * @throws FileException if a file with the given {@code fileName} does not
 	 *                       exist.
 	 */
-	Account removeFileFromAccountByFileName(String fileName, Account account);
+	AccountSummary removeFileFromAccountByFileName(String fileName, AccountSummary account);
 
 	/**
 	 * Finds all the {@link Account} objects which are accessible by {@link User}
-	 * which has an {@code id} equaling the given {@code userId}.
+	 * which has an {@code id} equaling the given {@code userId}. Only the metadata
+	 * of the documents on each {@code Account} is retrieved.
+	 *
+	 * @param userId the possible {@code user} id
+	 * @return a {@link List} of {@link AccountSummary}
+	 */
+	List<AccountSummary> getAllAccountsByUserId(long userId);
+
+	/**
+	 * Non-blocking variant of {@link #getAllAccountsByUserId(long)}.
 	 *
 	 * @param userId the possible {@code user} id
-	 * @return a {@link List} of {@code Account}
+	 * @return {@link Mono} emitting a {@link List} of {@link AccountSummary}
 	 */
-	List<Account> getAllAccountsByUserId(long userId);
+	Mono<List<AccountSummary>> getAllAccountsByUserIdAsync(long userId);
 
 	/**
-	 * Finds an {@link Account} object with an owner id equal to {@code id}.
+	 * Finds an {@link AccountSummary} of the {@link Account} with an owner id
+	 * equal to {@code id}. Only the metadata of its documents is retrieved.
 	 *
-	 * @param id the owner {@code id} to search for an {@code Account} object with
+	 * @param id the owner {@code id} to search for an {@code Account} with
 	 * @return empty {@link Optional} if no account is found with the given owner
 	 *         {@code id}, <br/>
+	 *         {@code Optional} encapsulating the {@code AccountSummary} of the
+	 *         found {@code Account} otherwise
+	 */
+	Optional<AccountSummary> findSummaryByOwnerId(long id);
+
+	/**
+	 * Non-blocking variant of {@link #findSummaryByOwnerId(long)}.
+	 *
+	 * @param id the owner {@code id} to search for an {@code Account} with
+	 * @return {@link Mono} emitting the found {@link AccountSummary}, or
+	 *         completing empty when no account is found with the given owner
+	 *         {@code id}
+	 */
+	Mono<AccountSummary> findSummaryByOwnerIdAsync(long id);
+
+	/**
+	 * Finds an {@link Account} object with an id equal to {@code id}.
+	 *
+	 * @param id the {@code id} to search for an {@code Account} object with
+	 * @return empty {@link Optional} if no account is found with the given
+	 *         {@code id}, <br/>
 	 *         {@code Optional} encapsulating the found {@code Account} object
 	 *         otherwise
 	 */
-	Optional<Account> findByOwnerId(long id);
+	Optional<Account> findById(long id);
+
+	/**
+	 * Finds an {@link AccountSummary} of the {@link Account} with an id equal to
+	 * {@code id}.
+	 *
+	 * @param id the {@code id} to search for an {@code Account} object with
+	 * @return empty {@link Optional} if no account is found with the given
+	 *         {@code id}, <br/>
+	 *         {@code Optional} encapsulating the {@code AccountSummary} of the
+	 *         found {@code Account} object otherwise
+	 */
+	Optional<AccountSummary> findSummaryById(long id);
 }
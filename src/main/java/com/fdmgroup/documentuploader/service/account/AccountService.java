@@ -1,12 +1,14 @@
 package com.fdmgroup.documentuploader.service.account;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
@@ -15,18 +17,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.exception.CannotAddUserToAccountException;
 import com.fdmgroup.documentuploader.exception.CannotRemoveUserFromAccountException;
 import com.fdmgroup.documentuploader.exception.FileException;
 import com.fdmgroup.documentuploader.exception.InvalidServiceLevelException;
+import com.fdmgroup.documentuploader.metrics.DocumentDeduplicationMetrics;
 import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.upload.FileUploadResult;
 import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 import com.fdmgroup.documentuploader.service.api.account.AbstractAccountApiService;
+import com.fdmgroup.documentuploader.service.api.document.AbstractDocumentApiService;
 import com.fdmgroup.documentuploader.service.user.AbstractUserService;
+import com.fdmgroup.documentuploader.util.DataBufferInputStream;
 import com.fdmgroup.documentuploader.util.DocumentUtil;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
 /**
  * <p>
  * Implementing class of {@link AbstractAccountService} which performs
@@ -39,6 +53,8 @@ import com.fdmgroup.documentuploader.util.DocumentUtil;
 @Service
 public class AccountService implements AbstractAccountService {
 
+	private static final String ACCOUNT_KEY = "account:";
+
 	/**
 	 * Used to perform operations on and retrieve {@link User} objects.
 	 */
@@ -55,16 +71,56 @@ public class AccountService implements AbstractAccountService {
 	 */
 	private final MessageSource messageSource;
 
+	/**
+	 * Whether uploaded files are streamed to the data source rather than being
+	 * read into memory first.
+	 */
+	private final boolean streamingUpload;
+
+	/**
+	 * Used to check whether the contents of an uploaded file are already stored.
+	 */
+	private final AbstractDocumentApiService documentApiService;
+
+	/**
+	 * Used to record whether uploaded files were deduplicated.
+	 */
+	private final DocumentDeduplicationMetrics deduplicationMetrics;
+
+	/**
+	 * The maximum number of files of a batch upload sent to the data source at
+	 * the same time.
+	 */
+	private final int batchParallelism;
+
+	/**
+	 * Used to run the blocking uploads of a batch off the calling thread.
+	 */
+	private final Scheduler blockingCallScheduler;
+
+	/**
+	 * Used to send account updates in order after the request has been answered.
+	 */
+	private final WriteBehindQueue writeBehindQueue;
+
 	@Autowired
 	public AccountService(AbstractUserService userService, AbstractAccountApiService accountApiService,
-			MessageSource messageSource) {
+			AbstractDocumentApiService documentApiService, MessageSource messageSource,
+			ApplicationProperties applicationProperties, DocumentDeduplicationMetrics deduplicationMetrics,
+			Scheduler blockingCallScheduler, WriteBehindQueue writeBehindQueue) {
 		this.userService = userService;
 		this.accountApiService = accountApiService;
+		this.documentApiService = documentApiService;
 		this.messageSource = messageSource;
+		this.streamingUpload = applicationProperties.getDocuments().isStreamingUpload();
+		this.deduplicationMetrics = deduplicationMetrics;
+		this.batchParallelism = applicationProperties.getDocuments().getBatchParallelism();
+		this.blockingCallScheduler = blockingCallScheduler;
+		this.writeBehindQueue = writeBehindQueue;
 	}
 
 	@Override
-	public Account addUserToAccountByEmail(String email, Account account) {
+	public AccountSummary addUserToAccountByEmail(String email, AccountSummary account) {
 		if (isEmailOnAccount(email, account)) {
 			throw new CannotAddUserToAccountException(
 					messageSource.getMessage("account.user-on-account", null, Locale.getDefault()));
@@ -80,10 +136,10 @@ public class AccountService implements AbstractAccountService {
 		}
 
 		User user = optionalUser.get();
-		account = addUserToAccount(user, account);
-		accountApiService.update(account).subscribe();
+		Account updatedAccount = addUserToAccount(user, account);
+		submitUpdate(updatedAccount).block();
 
-		return account;
+		return toSummary(updatedAccount, account);
 	}
 
 	/**
@@ -92,33 +148,35 @@ public class AccountService implements AbstractAccountService {
 	 *
 	 * @param email   the email which may or may not belong to a {@code User} on the
 	 *                account
-	 * @param account the {@code Account} object which may or may not have a
-	 *                {@code User} with an email equal to {@code email}
+	 * @param account the {@link AccountSummary} of the {@code Account} which may
+	 *                or may not have a {@code User} with an email equal to
+	 *                {@code email}
 	 * @return {@code true} if the {@code email} is on the {@code account}, false
 	 *         otherwise
 	 */
-	private boolean isEmailOnAccount(String email, Account account) {
+	private boolean isEmailOnAccount(String email, AccountSummary account) {
 		return account.getUsers().stream().anyMatch(e -> e.getEmail().equals(email));
 	}
 
 	/**
-	 * Adds the given {@link User} to the given {@link Account}.
+	 * Adds the given {@link User} to an {@link Account} created from the given
+	 * {@link AccountSummary}, which itself is not modified.
 	 *
 	 * @param user    the {@code User} to add to {@code account}
-	 * @param account the {@code Account} to add the {@code user} to
+	 * @param account the {@code AccountSummary} of the {@code Account} to add the
+	 *                {@code user} to
 	 * @return an {@code Account} instance which has the given {@code User user} in
 	 *         its Set of users
 	 */
-	private Account addUserToAccount(User user, Account account) {
-		Set<User> accountUsers = account.getUsers();
-		accountUsers.add(user);
-		account.setUsers(accountUsers);
+	private Account addUserToAccount(User user, AccountSummary account) {
+		Account updatedAccount = toAccount(account);
+		updatedAccount.getUsers().add(user);
 
-		return account;
+		return updatedAccount;
 	}
 
 	@Override
-	public Account removeUserFromAccountById(long id, User user, Account account) {
+	public AccountSummary removeUserFromAccountById(long id, User user, AccountSummary account) {
 		long userId = user.getId();
 		if (id == userId) {
 			throw new CannotRemoveUserFromAccountException(
@@ -130,28 +188,46 @@ public class AccountService implements AbstractAccountService {
 					messageSource.getMessage("account.user-not-found", null, Locale.getDefault()));
 		}
 
-		Set<User> users = account.getUsers();
-		User guest = optionalUser.get();
-		users.remove(guest);
-		account.setUsers(users);
-		accountApiService.update(account).block();
+		Account updatedAccount = toAccount(account);
+		updatedAccount.getUsers().remove(optionalUser.get());
+		submitUpdate(updatedAccount).block();
 
-		return account;
+		return toSummary(updatedAccount, account);
 	}
 
 	@Override
-	public Account updateAccountServiceLevel(Account account, String serviceLevelName) {
+	public AccountSummary updateAccountServiceLevel(AccountSummary account, String serviceLevelName) {
 		Optional<ServiceLevel> optionalServiceLevel = getServiceLevelByName(serviceLevelName);
 		if (!optionalServiceLevel.isPresent()) {
 			throw new InvalidServiceLevelException(
 					messageSource.getMessage("account.invalid-service-level", null, Locale.getDefault()));
 		}
 
-		ServiceLevel selectedServiceLevel = optionalServiceLevel.get();
-		account.setServiceLevel(selectedServiceLevel);
-		accountApiService.update(account).block();
+		Account updatedAccount = toAccount(account);
+		updatedAccount.setServiceLevel(optionalServiceLevel.get());
+		submitUpdate(updatedAccount).block();
 
-		return account;
+		return toSummary(updatedAccount, account);
+	}
+
+	/**
+	 * Creates an {@link AccountSummary} of the given updated {@link Account},
+	 * whose documents are those of the {@code AccountSummary} it was created from.
+	 */
+	private AccountSummary toSummary(Account updatedAccount, AccountSummary account) {
+		return new AccountSummary(updatedAccount.getId(), updatedAccount.getName(), updatedAccount.getOwner(),
+				updatedAccount.getServiceLevel(), updatedAccount.getUsers(), account.getDocuments());
+	}
+
+	/**
+	 * Queues an update of the given {@link Account} behind any update of it which
+	 * has not been sent yet, so updates reach the data source in the order they
+	 * were made.
+	 *
+	 * @return {@link Mono} completing once the update has been sent
+	 */
+	private Mono<Void> submitUpdate(Account account) {
+		return writeBehindQueue.submitUpdate(ACCOUNT_KEY + account.getId(), () -> accountApiService.update(account));
 	}
 
 	/**
@@ -171,14 +247,22 @@ public class AccountService implements AbstractAccountService {
 
 	@Override
 	@Transactional
-	public Account addFileToAccount(MultipartFile file, Account account) {
+	public AccountSummary addFileToAccount(MultipartFile file, AccountSummary account) {
+		if (file.isEmpty()) {
+			throw new FileException(
+					messageSource.getMessage("account.choose-file", null, Locale.getDefault()));
+		}
+		if (!hasValidFileName(file)) {
+			throw new FileException(
+					messageSource.getMessage("upload.invalid-file-name", null, Locale.getDefault()));
+		}
 		if (isFileOnAccount(account, file)) {
 			throw new FileException(
 					messageSource.getMessage("account.file-on-account", null, Locale.getDefault()));
 		}
-		if (file.isEmpty()) {
+		if (getRemainingUploads(account) <= 0) {
 			throw new FileException(
-					messageSource.getMessage("account.choose-file", null, Locale.getDefault()));
+					messageSource.getMessage("account.upload-limit", null, Locale.getDefault()));
 		}
 
 		try {
@@ -190,64 +274,205 @@ public class AccountService implements AbstractAccountService {
 	}
 
 	/**
-	 * Checks if the file name of {@link MultipartFile file} matches the name of any
-	 * {@link Document} within the {@code Set} of {@code Document} objects belonging
-	 * to the given {@link Account}
+	 * Checks if the name the {@link MultipartFile file} would be stored under,
+	 * taken from its original file name without the extension, matches the name
+	 * of any {@link Document} belonging to the given {@link Account}
 	 *
 	 * @param account the {@code Account} which may have a {@code Document} with a
 	 *                name matching the name of the given {@code file}
 	 * @param file    the {@code file} which may or may not have a name belonging to
 	 *                a {@code Document} on the {@code Account} given
-	 * @return {@code true} if file name of {@link MultipartFile file} matches the
-	 *         name of any {@link Document} within the {@code Set} of
-	 *         {@code Document} objects belonging to the given {@link Account},
-	 *         {@code false} otherwise
+	 * @return {@code true} if the document name of {@link MultipartFile file}
+	 *         matches the name of any {@link Document} belonging to the given
+	 *         {@link Account}, {@code false} otherwise
+	 */
+	private boolean isFileOnAccount(AccountSummary account, MultipartFile file) {
+		return account.hasDocument(DocumentUtil.createDocumentMetadata(file).getName());
+	}
+
+	/**
+	 * Checks that the original file name of the given {@link MultipartFile} has a
+	 * name and an extension, which a {@link Document} name and extension can be
+	 * taken from.
 	 */
-	private boolean isFileOnAccount(Account account, MultipartFile file) {
-		String fileName = file.getName();
-		return account.getDocuments().stream().anyMatch(document -> fileName.equals(document.getName()));
+	private boolean hasValidFileName(MultipartFile file) {
+		return DocumentUtil.hasValidFileName(file.getOriginalFilename());
 	}
 
 	/**
-	 * Adds the given {@link MultipartFile} to the given {@link Account}.
+	 * Adds the given {@link MultipartFile} to the given {@link Account}. When the
+	 * data source already stores contents with the same SHA-256 hash, only a
+	 * reference to them is attached to the {@code account}. Otherwise, when
+	 * streaming uploads are enabled the contents of the {@code file} are streamed
+	 * to the data source in chunks, or else they are read into memory and sent as
+	 * part of the {@link Document}.
 	 *
 	 * @param account the {@code Account} to add the {@code file} to
 	 * @param file    the {@code MultipartFile} to add to the given {@code account}
-	 * @return the updated {@code Account} instance
+	 * @return an {@link AccountSummary} of the updated {@code Account} returned by
+	 *         the data source
 	 * @throws IOException if an error occurs while trying to upload the file to the
 	 *                     data source
 	 */
-	private Account uploadFile(Account account, MultipartFile file) throws IOException {
-		Document document = DocumentUtil.createDocument(file);
-		Account updatedAccount = accountApiService.addDocumentToAccountByAccountId(document, account.getId());
-		account.setDocuments(updatedAccount.getDocuments());
-		return account;
+	private AccountSummary uploadFile(AccountSummary account, MultipartFile file) throws IOException {
+		Optional<AccountSummary> deduplicatedAccount = addFileReference(account, file);
+		if (deduplicatedAccount.isPresent()) {
+			deduplicationMetrics.recordDeduplicated(file.getSize());
+			return deduplicatedAccount.get();
+		}
+
+		AccountSummary updatedAccount;
+		if (streamingUpload) {
+			Document document = DocumentUtil.createDocumentMetadata(file);
+			updatedAccount = accountApiService.addDocumentStreamToAccountByAccountId(document.getName(),
+					document.getExtension(), file.getResource(), account.getId());
+		} else {
+			Document document = DocumentUtil.createDocument(file);
+			updatedAccount = accountApiService.addDocumentToAccountByAccountId(document, account.getId());
+		}
+		deduplicationMetrics.recordUploaded();
+		return updatedAccount;
+	}
+
+	@Override
+	public List<FileUploadResult> addFilesToAccount(List<MultipartFile> files, AccountSummary account) {
+		FileUploadResult[] results = new FileUploadResult[files.size()];
+		List<Integer> acceptedFiles = new ArrayList<>();
+		Set<String> batchDocumentNames = new HashSet<>();
+		int remainingUploads = getRemainingUploads(account);
+
+		for (int i = 0; i < files.size(); i++) {
+			MultipartFile file = files.get(i);
+			String originalFilename = file.getOriginalFilename();
+			if (file.isEmpty()) {
+				results[i] = FileUploadResult.failed(originalFilename, getMessage("account.choose-file"));
+			} else if (!hasValidFileName(file)) {
+				results[i] = FileUploadResult.failed(originalFilename, getMessage("upload.invalid-file-name"));
+			} else if (isFileOnAccount(account, file)
+					|| !batchDocumentNames.add(DocumentUtil.normaliseName(DocumentUtil.createDocumentMetadata(file).getName()))) {
+				results[i] = FileUploadResult.failed(originalFilename, getMessage("account.file-on-account"));
+			} else if (acceptedFiles.size() >= remainingUploads) {
+				results[i] = FileUploadResult.failed(originalFilename, getMessage("account.upload-limit"));
+			} else {
+				acceptedFiles.add(i);
+			}
+		}
+
+		Flux.fromIterable(acceptedFiles)
+				.flatMap(i -> Mono.fromCallable(() -> uploadFile(account, files.get(i)))
+						.subscribeOn(blockingCallScheduler)
+						.doOnNext(updatedAccount -> results[i] = FileUploadResult
+								.uploaded(files.get(i).getOriginalFilename()))
+						.onErrorResume(e -> {
+							results[i] = FileUploadResult.failed(files.get(i).getOriginalFilename(),
+									getMessage("account.could-not-upload"));
+							return Mono.empty();
+						}), batchParallelism)
+				.blockLast();
+
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Returns how many more documents may be added to the given {@link Account}
+	 * under the upload limit of its {@link ServiceLevel}.
+	 */
+	private int getRemainingUploads(AccountSummary account) {
+		int maxUploads = account.getServiceLevel().getMaxUploads();
+		if (maxUploads < 0) {
+			return Integer.MAX_VALUE;
+		}
+		return Math.max(0, maxUploads - account.getDocuments().size());
+	}
+
+	private String getMessage(String key) {
+		return messageSource.getMessage(key, null, Locale.getDefault());
+	}
+
+	/**
+	 * Attaches a reference to already stored contents to the given
+	 * {@link Account} if the data source stores contents with the same hash as
+	 * the given {@link MultipartFile}.
+	 *
+	 * @return {@link Optional} wrapping an {@link AccountSummary} of the updated
+	 *         {@code Account}, or an {@code empty} {@code Optional} if the
+	 *         contents must be uploaded
+	 * @throws IOException if the contents of the {@code file} cannot be read
+	 */
+	private Optional<AccountSummary> addFileReference(AccountSummary account, MultipartFile file)
+			throws IOException {
+		String hash = DocumentUtil.calculateHash(file);
+		if (!documentApiService.existsByHash(hash)) {
+			return Optional.empty();
+		}
+		Document document = DocumentUtil.createDocumentMetadata(file);
+		return accountApiService.addDocumentReferenceToAccountByAccountId(document.getName(),
+				document.getExtension(), hash, account.getId());
 	}
 
 	@Override
 	@Transactional
-	public Account removeFileFromAccountByFileName(String fileName, Account account) {
-		Set<Document> accountDocuments = account.getDocuments();
-		List<Document> documentsWithFileName = accountDocuments.stream()
-				.filter(document -> document.getName().equals(fileName)).collect(Collectors.toList());
-		if (documentsWithFileName.isEmpty()) {
+	public AccountSummary removeFileFromAccountByFileName(String fileName, AccountSummary account) {
+		if (!account.hasDocument(fileName)) {
 			throw new FileException(fileName +
 					messageSource.getMessage("account.file-does-not-exist", null, Locale.getDefault()));
 		}
 
-		Account updatedAccount = accountApiService.removeDocumentFromAccountByAccountId(fileName, account.getId());
-		account.setDocuments(updatedAccount.getDocuments());
+		return accountApiService.removeDocumentFromAccountByAccountId(fileName, account.getId());
+	}
+
+	@Override
+	public List<AccountSummary> getAllAccountsByUserId(long userId) {
+		return accountApiService.findAccountSummariesByUserId(userId);
+	}
+
+	@Override
+	public Mono<List<AccountSummary>> getAllAccountsByUserIdAsync(long userId) {
+		return accountApiService.findAccountSummariesByUserIdAsync(userId);
+	}
+
+	@Override
+	public Optional<AccountSummary> findSummaryByOwnerId(long id) {
+		return accountApiService.findSummaryByOwnerId(id);
+	}
+
+	@Override
+	public Mono<AccountSummary> findSummaryByOwnerIdAsync(long id) {
+		return accountApiService.findSummaryByOwnerIdAsync(id);
+	}
+
+	/**
+	 * Creates an {@link Account} to send as an update from the given
+	 * {@link AccountSummary}. Its documents retrieve their contents through a
+	 * handle when first read, so the contents are neither retrieved to build
+	 * the {@code Account} nor sent back to the data source with the update.
+	 */
+	private Account toAccount(AccountSummary summary) {
+		Set<Document> documents = new HashSet<>();
+		for (DocumentSummary documentSummary : summary.getDocuments()) {
+			String documentName = documentSummary.getName();
+			documents.add(documentSummary.toDocument(
+					() -> new DataBufferInputStream(documentApiService.findContentByName(documentName))));
+		}
+		Account account = new Account.AccountBuilder()
+				.setName(summary.getName())
+				.setOwner(summary.getOwner())
+				.setServiceLevel(summary.getServiceLevel())
+				.setUsers(new HashSet<>(summary.getUsers()))
+				.setDocuments(documents)
+				.build();
+		account.setId(summary.getId());
 		return account;
 	}
 
 	@Override
-	public List<Account> getAllAccountsByUserId(long userId) {
-		return accountApiService.findAccountsByUserId(userId);
+	public Optional<Account> findById(long id) {
+		return accountApiService.findById(id);
 	}
 
 	@Override
-	public Optional<Account> findByOwnerId(long id) {
-		return accountApiService.findByOwnerId(id);
+	public Optional<AccountSummary> findSummaryById(long id) {
+		return accountApiService.findSummaryById(id);
 	}
 
 	/**
@@ -0,0 +1,78 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fdmgroup.documentuploader.aop.logging.LoggerFactory;
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.model.document.Document;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Chooses the content type of requests and responses to the REST API which
+ * carry {@link Document} contents. JSON base64-encodes the contents, making
+ * them a third larger, so CBOR is preferred, which carries them as raw bytes.
+ * </p>
+ * <p>
+ * Responses may be sent in either format. Requests are sent as CBOR until the
+ * REST API rejects it with {@code 415 Unsupported Media Type}; the rejected
+ * request is then sent again as JSON, as is every later request.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Component
+public class BinaryCodecNegotiator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BinaryCodecNegotiator.class);
+
+	/**
+	 * Whether the REST API is still assumed to accept CBOR.
+	 */
+	private final AtomicBoolean binaryAccepted;
+
+	@Autowired
+	public BinaryCodecNegotiator(ApplicationProperties applicationProperties) {
+		this.binaryAccepted = new AtomicBoolean(applicationProperties.getDataService().isBinaryDocuments());
+	}
+
+	/**
+	 * @return the media types a response carrying document contents may be sent
+	 *         in, most preferred first
+	 */
+	public MediaType[] getAcceptableMediaTypes() {
+		if (binaryAccepted.get()) {
+			return new MediaType[] { MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON };
+		}
+		return new MediaType[] { MediaType.APPLICATION_JSON };
+	}
+
+	/**
+	 * Sends a request carrying document contents in the preferred format, sending
+	 * it again as JSON if the REST API does not accept CBOR.
+	 *
+	 * @param request creates the request with the given content type
+	 * @return {@link Mono} emitting the result of the request
+	 */
+	public <T> Mono<T> send(Function<MediaType, Mono<T>> request) {
+		if (!binaryAccepted.get()) {
+			return request.apply(MediaType.APPLICATION_JSON);
+		}
+		return request.apply(MediaType.APPLICATION_CBOR)
+				.onErrorResume(WebClientResponseException.UnsupportedMediaType.class, e -> {
+					if (binaryAccepted.compareAndSet(true, false)) {
+						LOGGER.info("The data service does not accept CBOR, sending documents as JSON instead");
+					}
+					return request.apply(MediaType.APPLICATION_JSON);
+				});
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fdmgroup.documentuploader.enums.ApiUri;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Collapses identical read requests to the REST API which are in flight at the
+ * same time into a single HTTP Request. The first caller for a key sends the
+ * request and every caller arriving before it completes shares its result.
+ * Once the request has completed, the next caller sends a new one, so no
+ * result is kept for longer than the request took.
+ * </p>
+ * <p>
+ * The result is shared between callers only while the request is in flight;
+ * each caller receives its own copy of it, made by the copier it passed, so a
+ * caller changing its result does not affect the others. The number of collapsed requests is published as the
+ * {@code data-service.requests.coalesced} metric, tagged with the
+ * {@link ApiUri} of the request.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Component
+public class RequestCoalescer {
+
+	private static final String COALESCED_METRIC = "data-service.requests.coalesced";
+	private static final String URI_TAG = "uri";
+
+	/**
+	 * The requests currently in flight, keyed by their {@link ApiUri} and
+	 * request key.
+	 */
+	private final Map<Map.Entry<ApiUri, Object>, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Used to count the requests which were collapsed into one already in
+	 * flight, for each {@link ApiUri}.
+	 */
+	private final Map<ApiUri, Counter> coalescedRequests = new EnumMap<>(ApiUri.class);
+
+	@Autowired
+	public RequestCoalescer(MeterRegistry meterRegistry) {
+		for (ApiUri apiUri : ApiUri.values()) {
+			coalescedRequests.put(apiUri, Counter.builder(COALESCED_METRIC)
+					.description("Data service requests which joined an identical request already in flight")
+					.tag(URI_TAG, apiUri.getUri())
+					.register(meterRegistry));
+		}
+	}
+
+	/**
+	 * Returns a {@link Mono} which, when subscribed to, joins the request for the
+	 * given {@code apiUri} and {@code key} already in flight or, if there is
+	 * none, sends a new one obtained from {@code request}.
+	 *
+	 * @param apiUri  the {@code ApiUri} the request is sent to
+	 * @param key     identifies the request among those sent to {@code apiUri},
+	 *                such as its query parameters
+	 * @param request supplies the request to send when none is in flight
+	 * @param copier  copies the shared result for each caller
+	 * @return {@code Mono} emitting a copy of the result of the request
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Mono<T> coalesce(ApiUri apiUri, Object key, Supplier<Mono<T>> request, UnaryOperator<T> copier) {
+		Counter coalesced = coalescedRequests.get(apiUri);
+		Map.Entry<ApiUri, Object> inFlightKey = new SimpleImmutableEntry<>(apiUri, key);
+		return Mono.defer(() -> {
+			boolean[] sent = new boolean[1];
+			Mono<?> shared = inFlight.computeIfAbsent(inFlightKey, k -> {
+				sent[0] = true;
+				return request.get()
+						.doFinally(signal -> inFlight.remove(k))
+						.cache();
+			});
+			if (!sent[0]) {
+				coalesced.increment();
+			}
+			return ((Mono<T>) shared).map(copier);
+		});
+	}
+
+}
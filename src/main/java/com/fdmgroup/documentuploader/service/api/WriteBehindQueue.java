@@ -0,0 +1,332 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fdmgroup.documentuploader.aop.logging.LoggerFactory;
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.WriteBehind;
+import com.fdmgroup.documentuploader.exception.WriteQueueFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.util.retry.Retry;
+
+/**
+ * <p>
+ * Sends writes to the data service after the request which made them has been
+ * answered, in the order they were submitted for each entity. A write for an
+ * entity is only sent once the previous write for the same entity has
+ * completed, while writes for different entities are sent concurrently.
+ * </p>
+ * <p>
+ * An update submitted while an earlier update of the same entity is still
+ * waiting replaces it, as both send the entity's complete state. Idempotent
+ * writes which fail for any reason other than a client error are retried with
+ * jittered exponential backoff, and writes which still fail are logged. The
+ * number of waiting and in-flight writes is bounded; once the bound is reached
+ * callers wait for space and a {@link WriteQueueFullException} is thrown if
+ * none frees up in time. Queued writes are flushed before the application
+ * shuts down.
+ * </p>
+ * <p>
+ * The outcome of every write is published as the {@code data-service.writes}
+ * metric, tagged with its {@code outcome}, alongside the
+ * {@code data-service.writes.retries} and {@code data-service.writes.pending}
+ * metrics.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Component
+public class WriteBehindQueue implements SmartLifecycle {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindQueue.class);
+	private static final String WRITES_METRIC = "data-service.writes";
+	private static final String OUTCOME_TAG = "outcome";
+
+	/**
+	 * The writes waiting to be sent for each entity with a write in flight,
+	 * keyed by entity. Guarded by {@code this}.
+	 */
+	private final Map<String, Deque<PendingWrite>> waitingWrites = new HashMap<>();
+
+	/**
+	 * The number of writes waiting to be sent or in flight. Guarded by
+	 * {@code this}.
+	 */
+	private int pendingWrites;
+
+	/**
+	 * Whether the queue has been started and not yet stopped. Guarded by
+	 * {@code this}.
+	 */
+	private boolean running;
+
+	/**
+	 * Used to bound the number of writes waiting to be sent or in flight.
+	 */
+	private final Semaphore capacity;
+
+	private final WriteBehind settings;
+
+	/**
+	 * Used to retrieve messages from messages.properties.
+	 */
+	private final MessageSource messageSource;
+
+	private final Counter succeededWrites;
+	private final Counter failedWrites;
+	private final Counter coalescedWrites;
+	private final Counter retriedWrites;
+
+	@Autowired
+	public WriteBehindQueue(ApplicationProperties applicationProperties, MessageSource messageSource,
+			MeterRegistry meterRegistry) {
+		this.settings = applicationProperties.getWriteBehind();
+		this.messageSource = messageSource;
+		this.capacity = new Semaphore(settings.getCapacity());
+		this.succeededWrites = writesCounter("succeeded", meterRegistry);
+		this.failedWrites = writesCounter("failed", meterRegistry);
+		this.coalescedWrites = writesCounter("coalesced", meterRegistry);
+		this.retriedWrites = Counter.builder(WRITES_METRIC + ".retries")
+				.description("Data service writes which were sent again after failing")
+				.register(meterRegistry);
+		Gauge.builder(WRITES_METRIC + ".pending", this, WriteBehindQueue::getPendingWrites)
+				.description("Data service writes waiting to be sent or in flight")
+				.register(meterRegistry);
+	}
+
+	private static Counter writesCounter(String outcome, MeterRegistry meterRegistry) {
+		return Counter.builder(WRITES_METRIC)
+				.description("Data service writes sent by the write-behind queue")
+				.tag(OUTCOME_TAG, outcome)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Queues an update which sends the complete state of the entity identified by
+	 * {@code entityKey}. It replaces an update of the same entity which is still
+	 * waiting to be sent, and is retried if it fails.
+	 *
+	 * @param entityKey identifies the entity the update is for, such as
+	 *                  {@code "account:1"}
+	 * @param update    supplies the request which sends the update
+	 * @return {@link Mono} completing once the update, or the later update which
+	 *         replaced it, has been sent. Callers which need not wait may ignore
+	 *         it
+	 * @throws WriteQueueFullException if the queue stays full for longer than the
+	 *                                 offer timeout
+	 */
+	public Mono<Void> submitUpdate(String entityKey, Supplier<Mono<?>> update) {
+		synchronized (this) {
+			Deque<PendingWrite> writes = waitingWrites.get(entityKey);
+			PendingWrite last = writes == null ? null : writes.peekLast();
+			if (last != null && last.isUpdate) {
+				last.write = update;
+				coalescedWrites.increment();
+				return last.completion;
+			}
+		}
+		return submit(entityKey, update, true, true);
+	}
+
+	/**
+	 * Queues a write to the entity identified by {@code entityKey}.
+	 *
+	 * @param entityKey  identifies the entity the write is for, such as
+	 *                   {@code "document:1"}
+	 * @param write      supplies the request which sends the write
+	 * @param idempotent whether sending the write more than once has the same
+	 *                   effect as sending it once, in which case it is retried
+	 *                   if it fails
+	 * @return {@link Mono} completing once the write has been sent. Callers which
+	 *         need not wait may ignore it
+	 * @throws WriteQueueFullException if the queue stays full for longer than the
+	 *                                 offer timeout
+	 */
+	public Mono<Void> submit(String entityKey, Supplier<Mono<?>> write, boolean idempotent) {
+		return submit(entityKey, write, idempotent, false);
+	}
+
+	private Mono<Void> submit(String entityKey, Supplier<Mono<?>> write, boolean idempotent, boolean isUpdate) {
+		acquireCapacity();
+		PendingWrite pendingWrite = new PendingWrite(write, idempotent, isUpdate);
+		synchronized (this) {
+			pendingWrites++;
+			Deque<PendingWrite> writes = waitingWrites.get(entityKey);
+			if (writes != null) {
+				writes.addLast(pendingWrite);
+				return pendingWrite.completion;
+			}
+			waitingWrites.put(entityKey, new ArrayDeque<>());
+		}
+		send(entityKey, pendingWrite);
+		return pendingWrite.completion;
+	}
+
+	private void acquireCapacity() {
+		try {
+			if (capacity.tryAcquire(settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		throw new WriteQueueFullException(messageSource.getMessage("write-behind.full", null, Locale.getDefault()));
+	}
+
+	private void send(String entityKey, PendingWrite pendingWrite) {
+		Mono<?> write = Mono.defer(pendingWrite.write);
+		if (pendingWrite.idempotent) {
+			write = write.retryWhen(Retry.backoff(settings.getMaxRetries(), settings.getRetryBackoff())
+					.filter(WriteBehindQueue::isRetryable)
+					.doBeforeRetry(signal -> retriedWrites.increment())
+					.onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+		}
+		write.then().subscribe(null, e -> {
+			failedWrites.increment();
+			LOGGER.error("Could not send write for " + entityKey, e);
+			complete(entityKey, pendingWrite, e);
+		}, () -> {
+			succeededWrites.increment();
+			complete(entityKey, pendingWrite, null);
+		});
+	}
+
+	/**
+	 * Client errors are caused by the write itself, so sending it again would
+	 * fail in the same way.
+	 */
+	private static boolean isRetryable(Throwable e) {
+		return !(e instanceof WebClientResponseException
+				&& ((WebClientResponseException) e).getStatusCode().is4xxClientError());
+	}
+
+	/**
+	 * Signals the outcome of a sent write to its callers and sends the next
+	 * write waiting for the same entity, if any.
+	 */
+	private void complete(String entityKey, PendingWrite pendingWrite, Throwable error) {
+		PendingWrite next;
+		synchronized (this) {
+			next = waitingWrites.get(entityKey).pollFirst();
+			if (next == null) {
+				waitingWrites.remove(entityKey);
+			}
+			pendingWrites--;
+			if (pendingWrites == 0) {
+				notifyAll();
+			}
+		}
+		capacity.release();
+		if (error == null) {
+			pendingWrite.completion.onComplete();
+		} else {
+			pendingWrite.completion.onError(error);
+		}
+		if (next != null) {
+			send(entityKey, next);
+		}
+	}
+
+	public synchronized int getPendingWrites() {
+		return pendingWrites;
+	}
+
+	/**
+	 * Waits until every queued write has been sent, or until the given
+	 * {@code timeout} has elapsed.
+	 *
+	 * @param timeout the longest time to wait
+	 * @return {@code true} if every queued write has been sent, {@code false} if
+	 *         some were still pending when the timeout elapsed
+	 */
+	public synchronized boolean awaitDrained(Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		try {
+			while (pendingWrites > 0) {
+				long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remainingMillis <= 0) {
+					return false;
+				}
+				wait(remainingMillis);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized void start() {
+		running = true;
+	}
+
+	/**
+	 * Flushes the queued writes before the application shuts down.
+	 */
+	@Override
+	public void stop() {
+		if (!awaitDrained(settings.getShutdownTimeout())) {
+			LOGGER.warn(getPendingWrites() + " writes to the data service were not sent before shutdown");
+		}
+		synchronized (this) {
+			running = false;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Stops after the web server has stopped accepting requests, so no new writes
+	 * arrive while the queue is being flushed.
+	 */
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 2048;
+	}
+
+	/**
+	 * A write waiting to be sent or in flight.
+	 */
+	private static final class PendingWrite {
+
+		/**
+		 * Supplies the request which sends the write. Replaced when a later update
+		 * of the same entity is coalesced into this one.
+		 */
+		private volatile Supplier<Mono<?>> write;
+		private final boolean idempotent;
+		private final boolean isUpdate;
+		private final MonoProcessor<Void> completion = MonoProcessor.create();
+
+		private PendingWrite(Supplier<Mono<?>> write, boolean idempotent, boolean isUpdate) {
+			this.write = write;
+			this.idempotent = idempotent;
+			this.isUpdate = isUpdate;
+		}
+	}
+
+}
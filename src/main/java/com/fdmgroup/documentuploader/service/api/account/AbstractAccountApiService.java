@@ -1,19 +1,31 @@
 package com.fdmgroup.documentuploader.service.api.account;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.core.io.Resource;
+
 import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.document.Document;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
 
+import reactor.core.publisher.Mono;
+
 /**
  * <p>
  * Interface that defines basic CRUD operations for {@link Account} objects
  * which, when implemented, should send requests to an external API to retrieve
  * information from an external data source.
  * </p>
+ * <p>
+ * Methods which add documents to or remove them from an {@code Account} do not
+ * read the body the data source responds with, which holds the contents of
+ * every document of the {@code Account}. They request an
+ * {@link AccountSummary} of the updated {@code Account} instead.
+ * </p>
  * 
  * @author Noah Anderson
  */
@@ -32,6 +44,42 @@ public interface AbstractAccountApiService extends AbstractApiService<Account, L
 	 */
 	Optional<Account> findByOwnerId(long ownerId);
 
+	/**
+	 * Non-blocking variant of {@link #findByOwnerId(long)}. The request is only
+	 * sent once the returned {@link Mono} is subscribed to.
+	 * 
+	 * @param ownerId the {@code id} of the {@code User} owning the
+	 *                {@code Account}
+	 * @return {@link Mono} emitting the found {@code Account}, or completing empty
+	 *         when the {@code User} owns no {@code Account}
+	 */
+	Mono<Account> findByOwnerIdAsync(long ownerId);
+
+	/**
+	 * Attempts to retrieve an {@link AccountSummary} of the {@link Account} owned
+	 * by a {@link User} with an {@code id} equaling the value of
+	 * {@code ownerId}. Only the metadata of its documents is requested from the
+	 * data source, never their contents.
+	 * 
+	 * @param ownerId the {@code id} of the {@code User} owning the
+	 *                {@code Account}
+	 * @return {@code empty} {@link Optional} if the {@code User} owns no
+	 *         {@code Account}. Otherwise, an {@code Optional} encapsulating the
+	 *         {@code AccountSummary} of the found {@code Account} is returned
+	 */
+	Optional<AccountSummary> findSummaryByOwnerId(long ownerId);
+
+	/**
+	 * Non-blocking variant of {@link #findSummaryByOwnerId(long)}. The request is
+	 * only sent once the returned {@link Mono} is subscribed to.
+	 * 
+	 * @param ownerId the {@code id} of the {@code User} owning the
+	 *                {@code Account}
+	 * @return {@link Mono} emitting the found {@code AccountSummary}, or
+	 *         completing empty when the {@code User} owns no {@code Account}
+	 */
+	Mono<AccountSummary> findSummaryByOwnerIdAsync(long ownerId);
+
 	/**
 	 * Attempts to retrieve an {@link Account} instance with a name equaling the
 	 * value of the given {@code name}.
@@ -54,6 +102,41 @@ public interface AbstractAccountApiService extends AbstractApiService<Account, L
 	 */
 	List<Account> findAccountsByUserId(long userId);
 
+	/**
+	 * Retrieves an {@link AccountSummary} of every {@link Account} which a
+	 * {@link User} with an {@code id} equaling the given {@code userId} can
+	 * access, with only the metadata of each {@link Document} on them. Document
+	 * contents are never transferred.
+	 * 
+	 * @param userId the {@code id} of a {@code User}
+	 * @return {@link List} containing an {@code AccountSummary} of every
+	 *         {@code Account} which is accessible to a {@code User} with an
+	 *         {@code id} equaling the given {@code userId}
+	 */
+	List<AccountSummary> findAccountSummariesByUserId(long userId);
+
+	/**
+	 * Non-blocking variant of {@link #findAccountSummariesByUserId(long)}.
+	 * 
+	 * @param userId the {@code id} of a {@code User}
+	 * @return {@link Mono} emitting a {@link List} containing an
+	 *         {@code AccountSummary} of every {@code Account} which is accessible
+	 *         to the {@code User}
+	 */
+	Mono<List<AccountSummary>> findAccountSummariesByUserIdAsync(long userId);
+
+	/**
+	 * Attempts to retrieve an {@link AccountSummary} of the {@link Account} with
+	 * an {@code id} equaling the given {@code id}. Only the metadata of its
+	 * documents is requested from the data source, never their contents.
+	 * 
+	 * @param id the {@code id} of an {@code Account}
+	 * @return {@code empty} {@link Optional} if no account is found with the given
+	 *         {@code id}. Otherwise, an {@code Optional} encapsulating the
+	 *         {@code AccountSummary} of the found {@code Account} is returned
+	 */
+	Optional<AccountSummary> findSummaryById(long id);
+
 	/**
 	 * Adds the given {@link Document} to an {@link Account} with an {@code id}
 	 * equaling the value of {@code accountId} and returns the updated
@@ -61,9 +144,46 @@ public interface AbstractAccountApiService extends AbstractApiService<Account, L
 	 * 
 	 * @param document  the {@code Document} to be added to an {@code Account}
 	 * @param accountId the {@code id} of the {@code Account} to add
-	 * @return the updated {@code Account} instance.
+	 * @return an {@link AccountSummary} of the updated {@code Account}
+	 */
+	AccountSummary addDocumentToAccountByAccountId(Document document, long accountId);
+
+	/**
+	 * Streams the contents of the given {@link Resource} to the data source as a
+	 * new {@link Document} named {@code documentName} which is added to an
+	 * {@link Account} with an {@code id} equaling the value of {@code accountId}.
+	 * The contents are sent in fixed size chunks so the whole file is never held
+	 * in memory.
+	 * 
+	 * @param documentName the {@code name} of the {@code Document} to create
+	 * @param extension    the {@code extension} of the {@code Document} to create
+	 * @param content      the {@code Resource} providing the contents of the
+	 *                     {@code Document}
+	 * @param accountId    the {@code id} of the {@code Account} to add the
+	 *                     {@code Document} to
+	 * @return an {@link AccountSummary} of the updated {@code Account}
+	 * @throws IOException if the contents of the {@code Resource} cannot be read
+	 */
+	AccountSummary addDocumentStreamToAccountByAccountId(String documentName, String extension, Resource content,
+			long accountId) throws IOException;
+
+	/**
+	 * Adds a {@link Document} to an {@link Account} with an {@code id} equaling
+	 * the value of {@code accountId} whose contents are those already stored by
+	 * the data source under the given SHA-256 {@code hash}. Only the reference is
+	 * sent, not the contents.
+	 * 
+	 * @param documentName the {@code name} of the {@code Document} to create
+	 * @param extension    the {@code extension} of the {@code Document} to create
+	 * @param hash         the hex encoded SHA-256 hash of the stored contents
+	 * @param accountId    the {@code id} of the {@code Account} to add the
+	 *                     {@code Document} to
+	 * @return {@link Optional} wrapping an {@link AccountSummary} of the updated
+	 *         {@code Account}, or an {@code empty} {@code Optional} if no contents
+	 *         with the given {@code hash} are stored any more
 	 */
-	Account addDocumentToAccountByAccountId(Document document, long accountId);
+	Optional<AccountSummary> addDocumentReferenceToAccountByAccountId(String documentName, String extension, String hash,
+			long accountId);
 
 	/**
 	 * Removes a {@link Document} with a {@code name} equal to {@code documentName}
@@ -71,7 +191,7 @@ public interface AbstractAccountApiService extends AbstractApiService<Account, L
 	 *
 	 * @param documentName the {@code name} of a {@code Document}
 	 * @param accountId    the {@code id} of an {@code Account}
-	 * @return the updated {@code Account}
+	 * @return an {@link AccountSummary} of the updated {@code Account}
 	 */
-	Account removeDocumentFromAccountByAccountId(String documentName, long accountId);
+	AccountSummary removeDocumentFromAccountByAccountId(String documentName, long accountId);
 }
@@ -1,22 +1,36 @@
 package com.fdmgroup.documentuploader.service.api.account;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
+import java.io.IOException;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.enums.ApiUri;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.document.Document;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
+import com.fdmgroup.documentuploader.service.api.BinaryCodecNegotiator;
+import com.fdmgroup.documentuploader.service.api.RequestCoalescer;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -31,22 +45,46 @@ import reactor.core.publisher.Mono;
 public class AccountApiService implements AbstractAccountApiService {
 
 	private static final String DOCUMENT_NAME = "documentName";
+	private static final String EXTENSION = "extension";
 	private static final String NAME = "name";
 	private static final String QUERY_PARAM_ID = "id";
 	private static final String PATH_PARAM_ID = "/{id}";
 	private static final String OWNER_ID = "ownerId";
 	private static final String USER_ID = "userId";
+	private static final String HASH = "hash";
 
 	/**
 	 * Used to perform HTTP Requests and retrieve data from the associated HTTP
 	 * Responses.
 	 */
 	private final WebClient webClient;
+
+	/**
+	 * Used to allocate the buffers which uploaded document contents are read into.
+	 */
+	private final DataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
+
+	/**
+	 * The size, in bytes, of each chunk read from an uploaded document.
+	 */
+	private final int bufferSize;
+
+	/**
+	 * Used to share identical read requests which are in flight at the same time.
+	 */
+	private final RequestCoalescer requestCoalescer;
+
+	/**
+	 * Used to choose the format documents are sent in.
+	 */
+	private final BinaryCodecNegotiator codecNegotiator;
 	
-	public AccountApiService(@Value("${data.service.url}") String baseUrl) {
-		this.webClient = WebClient.builder().baseUrl(baseUrl)
-				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-				.build();
+	public AccountApiService(WebClient webClient, ApplicationProperties applicationProperties,
+			RequestCoalescer requestCoalescer, BinaryCodecNegotiator codecNegotiator) {
+		this.webClient = webClient;
+		this.bufferSize = applicationProperties.getDocuments().getBufferSize();
+		this.requestCoalescer = requestCoalescer;
+		this.codecNegotiator = codecNegotiator;
 	}
 
 	@Override
@@ -71,6 +109,30 @@ public class AccountApiService implements AbstractAccountApiService {
 				.blockOptional();
 	}
 
+	@Override
+	public Optional<AccountSummary> findSummaryById(long id) {
+		return findSummaryByIdAsync(id).blockOptional();
+	}
+
+	private Mono<AccountSummary> findSummaryByIdAsync(long id) {
+		return webClient.get()
+				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
+						.path(ApiUri.SUMMARIES.getUri())
+						.queryParam(QUERY_PARAM_ID, id)
+						.build())
+				.retrieve()
+				.bodyToMono(AccountSummary.class);
+	}
+
+	/**
+	 * Sends the given {@link Account} to the data source. Documents whose
+	 * contents have not been loaded are sent without them, which the data source
+	 * takes to mean their stored contents are kept. The response, which holds the
+	 * contents of every document, is not read.
+	 * 
+	 * @return {@link Mono} emitting the given {@code account} once the data source
+	 *         has stored it
+	 */
 	@Override
 	public Mono<Account> update(Account account) {
 		return webClient.put()
@@ -78,7 +140,8 @@ public class AccountApiService implements AbstractAccountApiService {
 						.build())
 				.bodyValue(account)
 				.retrieve()
-				.bodyToMono(Account.class);
+				.toBodilessEntity()
+				.thenReturn(account);
 	}
 
 	@Override
@@ -93,13 +156,35 @@ public class AccountApiService implements AbstractAccountApiService {
 
 	@Override
 	public Optional<Account> findByOwnerId(long ownerId) {
-		return webClient.get()
+		return findByOwnerIdAsync(ownerId).blockOptional();
+	}
+
+	@Override
+	public Mono<Account> findByOwnerIdAsync(long ownerId) {
+		return requestCoalescer.coalesce(ApiUri.ACCOUNTS, OWNER_ID + "=" + ownerId, () -> webClient.get()
 				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
 						.queryParam(OWNER_ID, ownerId)
 						.build())
 				.retrieve()
-				.bodyToMono(Account.class)
-				.blockOptional();
+				.bodyToMono(Account.class), Account::new);
+	}
+
+	@Override
+	public Optional<AccountSummary> findSummaryByOwnerId(long ownerId) {
+		return findSummaryByOwnerIdAsync(ownerId).blockOptional();
+	}
+
+	@Override
+	public Mono<AccountSummary> findSummaryByOwnerIdAsync(long ownerId) {
+		return requestCoalescer.coalesce(ApiUri.SUMMARIES, OWNER_ID + "=" + ownerId, () -> webClient.get()
+				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
+						.path(ApiUri.SUMMARIES.getUri())
+						.queryParam(OWNER_ID, ownerId)
+						.build())
+				.retrieve()
+				.bodyToMono(AccountSummary.class)
+				.onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()),
+				UnaryOperator.identity());
 	}
 
 	@Override
@@ -115,34 +200,55 @@ public class AccountApiService implements AbstractAccountApiService {
 
 	@Override
 	public List<Account> findAccountsByUserId(long userId) {
-		return webClient.get()
+		return requestCoalescer.coalesce(ApiUri.ACCOUNTS, USER_ID + "=" + userId, () -> webClient.get()
 				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
 						.queryParam(USER_ID, userId)
 						.build())
 				.retrieve()
 				.bodyToFlux(Account.class)
-				.collectList()
+				.collectList(), AccountApiService::copyAccounts)
 				.toFuture()
 				.join();
 	}
 
 	@Override
-	public Account addDocumentToAccountByAccountId(Document document, long accountId) {
-		return webClient.put()
+	public List<AccountSummary> findAccountSummariesByUserId(long userId) {
+		return findAccountSummariesByUserIdAsync(userId)
+				.toFuture()
+				.join();
+	}
+
+	@Override
+	public Mono<List<AccountSummary>> findAccountSummariesByUserIdAsync(long userId) {
+		return requestCoalescer.coalesce(ApiUri.SUMMARIES, USER_ID + "=" + userId, () -> webClient.get()
+				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
+						.path(ApiUri.SUMMARIES.getUri())
+						.queryParam(USER_ID, userId)
+						.build())
+				.retrieve()
+				.bodyToFlux(AccountSummary.class)
+				.collectList(), ArrayList::new);
+	}
+
+	@Override
+	public AccountSummary addDocumentToAccountByAccountId(Document document, long accountId) {
+		return codecNegotiator.send(contentType -> webClient.put()
 				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
 						.path(PATH_PARAM_ID)
 						.path(ApiUri.DOCUMENTS.getUri())
 						.build(accountId))
+				.contentType(contentType)
 				.bodyValue(document)
 				.retrieve()
 				.onStatus(HttpStatus.BAD_REQUEST::equals,
 						ClientResponse::createException)
-				.bodyToMono(Account.class)
+				.toBodilessEntity())
+				.then(findSummaryByIdAsync(accountId))
 				.block();
 	}
 
 	@Override
-	public Account removeDocumentFromAccountByAccountId(String documentName, long accountId) {
+	public AccountSummary removeDocumentFromAccountByAccountId(String documentName, long accountId) {
 		return webClient.delete()
 				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
 						.path(PATH_PARAM_ID)
@@ -152,7 +258,64 @@ public class AccountApiService implements AbstractAccountApiService {
 				.retrieve()
 				.onStatus(HttpStatus.BAD_REQUEST::equals,
 						ClientResponse::createException)
-				.bodyToMono(Account.class)
+				.toBodilessEntity()
+				.then(findSummaryByIdAsync(accountId))
+				.block();
+	}
+
+	@Override
+	public Optional<AccountSummary> addDocumentReferenceToAccountByAccountId(String documentName, String extension,
+			String hash, long accountId) {
+		return webClient.put()
+				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
+						.path(PATH_PARAM_ID)
+						.path(ApiUri.DOCUMENTS.getUri())
+						.path(ApiUri.REFERENCE.getUri())
+						.queryParam(DOCUMENT_NAME, documentName)
+						.queryParam(EXTENSION, extension)
+						.queryParam(HASH, hash)
+						.build(accountId))
+				.retrieve()
+				.onStatus(HttpStatus.BAD_REQUEST::equals,
+						ClientResponse::createException)
+				.toBodilessEntity()
+				.onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+				.flatMap(response -> findSummaryByIdAsync(accountId))
+				.blockOptional();
+	}
+
+	@Override
+	public AccountSummary addDocumentStreamToAccountByAccountId(String documentName, String extension, Resource content,
+			long accountId) throws IOException {
+		long contentLength = content.contentLength();
+		Flux<DataBuffer> body = DataBufferUtils.readInputStream(content::getInputStream, dataBufferFactory,
+				bufferSize);
+		return webClient.put()
+				.uri(builder -> builder.path(ApiUri.ACCOUNTS.getUri())
+						.path(PATH_PARAM_ID)
+						.path(ApiUri.DOCUMENTS.getUri())
+						.path(ApiUri.STREAM.getUri())
+						.queryParam(DOCUMENT_NAME, documentName)
+						.queryParam(EXTENSION, extension)
+						.build(accountId))
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.contentLength(contentLength)
+				.body(body, DataBuffer.class)
+				.retrieve()
+				.onStatus(HttpStatus.BAD_REQUEST::equals,
+						ClientResponse::createException)
+				.toBodilessEntity()
+				.then(findSummaryByIdAsync(accountId))
 				.block();
 	}
+
+	/**
+	 * Copies each {@link Account} of a coalesced result, so the caller can change
+	 * them without affecting the other callers.
+	 */
+	private static List<Account> copyAccounts(List<Account> accounts) {
+		return accounts.stream()
+				.map(Account::new)
+				.collect(Collectors.toList());
+	}
 }
@@ -2,9 +2,14 @@ package com.fdmgroup.documentuploader.service.api.document;
 
 import java.util.Optional;
 
+import org.springframework.core.io.buffer.DataBuffer;
+
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
 
+import reactor.core.publisher.Flux;
+
 /**
  * <p>
  * Interface that defines basic CRUD operations for {@link Document} objects
@@ -27,4 +32,52 @@ public interface AbstractDocumentApiService extends AbstractApiService<Document,
 	 */
 	Optional<Document> findByName(String name);
 
+	/**
+	 * Attempts to retrieve the metadata of a {@link Document} with a name
+	 * equaling the value of the given {@code name}, without its contents.
+	 * 
+	 * @param name the {@code Document} name to search for
+	 * @return {@code empty} {@link Optional} if no document is found with a name
+	 *         equaling the given {@code name}. Otherwise, an {@code Optional}
+	 *         encapsulating the found {@link DocumentSummary} is returned
+	 */
+	Optional<DocumentSummary> findSummaryByName(String name);
+
+	/**
+	 * Retrieves the raw contents of a {@link Document} with a name equaling the
+	 * value of the given {@code name}. The contents are emitted as they are
+	 * received and are never held in memory as a whole.
+	 * 
+	 * @param name the {@code Document} name to retrieve the contents of
+	 * @return {@link Flux} of {@link DataBuffer} chunks making up the contents of
+	 *         the document. Each emitted buffer must be released by the consumer
+	 */
+	Flux<DataBuffer> findContentByName(String name);
+
+	/**
+	 * Retrieves the bytes from {@code start} to {@code end}, both inclusive, of
+	 * the contents of a {@link Document} with a name equaling the value of the
+	 * given {@code name}. Only the requested range is transferred from the data
+	 * source, unless it answers with the whole contents, in which case the
+	 * range is cut from them.
+	 * 
+	 * @param name  the {@code Document} name to retrieve the contents of
+	 * @param start the zero based index of the first byte to retrieve
+	 * @param end   the zero based index of the last byte to retrieve
+	 * @return {@link Flux} of {@link DataBuffer} chunks making up the requested
+	 *         range. Each emitted buffer must be released by the consumer
+	 */
+	Flux<DataBuffer> findContentRangeByName(String name, long start, long end);
+
+	/**
+	 * Checks if the data source already stores document contents with the given
+	 * SHA-256 {@code hash}, in which case the contents do not need to be uploaded
+	 * again and a reference to them can be attached to an account instead.
+	 * 
+	 * @param hash the hex encoded SHA-256 hash of the document contents
+	 * @return {@code true} if contents with the given {@code hash} are stored and
+	 *         {@code false} otherwise
+	 */
+	boolean existsByHash(String hash);
+
 }
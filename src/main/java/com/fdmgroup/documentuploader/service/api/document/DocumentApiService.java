@@ -1,11 +1,14 @@
 package com.fdmgroup.documentuploader.service.api.document;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import com.fdmgroup.documentuploader.enums.ApiUri;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -13,8 +16,11 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
+import com.fdmgroup.documentuploader.service.api.BinaryCodecNegotiator;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -30,6 +36,9 @@ public class DocumentApiService implements AbstractDocumentApiService {
 
 	private static final String PATH_PARAM_ID = "/{id}";
 	private static final String ID = "id";
+	private static final String DOCUMENT_NAME = "documentName";
+	private static final String PATH_PARAM_HASH = "/{hash}";
+	private static final String BYTES_UNIT = "bytes ";
 
 	/**
 	 * Used to perform HTTP Requests and retrieve data from the associated HTTP
@@ -37,25 +46,30 @@ public class DocumentApiService implements AbstractDocumentApiService {
 	 */
 	private final WebClient webClient;
 
-	public DocumentApiService(@Value("${data.service.url}") String baseUrl) {
-		this.webClient = WebClient.builder()
-				.baseUrl(baseUrl)
-				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-				.build();
+	/**
+	 * Used to choose the format documents are sent and received in.
+	 */
+	private final BinaryCodecNegotiator codecNegotiator;
+
+	public DocumentApiService(WebClient webClient, BinaryCodecNegotiator codecNegotiator) {
+		this.webClient = webClient;
+		this.codecNegotiator = codecNegotiator;
 	}
 
 	@Override
 	public Document save(Document document) {
-		return webClient
+		return codecNegotiator.send(contentType -> webClient
 				.post()
 				.uri(builder -> builder
 						.path(ApiUri.DOCUMENTS.getUri())
 						.build())
+				.contentType(contentType)
+				.accept(codecNegotiator.getAcceptableMediaTypes())
 				.bodyValue(document)
 				.retrieve()
 				.onStatus(HttpStatus.BAD_REQUEST::equals,
 						ClientResponse::createException)
-				.bodyToMono(Document.class)
+				.bodyToMono(Document.class))
 				.toFuture()
 				.join();
 	}
@@ -68,6 +82,7 @@ public class DocumentApiService implements AbstractDocumentApiService {
 						.path(ApiUri.DOCUMENTS.getUri())
 						.queryParam(ID, id)
 						.build())
+				.accept(codecNegotiator.getAcceptableMediaTypes())
 				.retrieve()
 				.bodyToMono(Document.class)
 				.blockOptional();
@@ -75,16 +90,18 @@ public class DocumentApiService implements AbstractDocumentApiService {
 
 	@Override
 	public Mono<Document> update(Document document) {
-		return webClient
+		return codecNegotiator.send(contentType -> webClient
 				.put()
 				.uri(builder -> builder
 						.path(ApiUri.DOCUMENTS.getUri())
 						.build())
+				.contentType(contentType)
+				.accept(codecNegotiator.getAcceptableMediaTypes())
 				.bodyValue(document)
 				.retrieve()
 				.onStatus(HttpStatus.NOT_FOUND::equals,
 						ClientResponse::createException)
-				.bodyToMono(Document.class);
+				.bodyToMono(Document.class));
 	}
 
 	@Override
@@ -107,11 +124,136 @@ public class DocumentApiService implements AbstractDocumentApiService {
 				.get()
 				.uri(builder -> builder
 						.path(ApiUri.DOCUMENTS.getUri())
-						.queryParam("documentName", name)
+						.queryParam(DOCUMENT_NAME, name)
 						.build())
+				.accept(codecNegotiator.getAcceptableMediaTypes())
 				.retrieve()
 				.bodyToMono(Document.class)
 				.blockOptional();
 	}
 
+	@Override
+	public Optional<DocumentSummary> findSummaryByName(String name) {
+		return webClient
+				.get()
+				.uri(builder -> builder
+						.path(ApiUri.DOCUMENTS.getUri())
+						.path(ApiUri.METADATA.getUri())
+						.queryParam(DOCUMENT_NAME, name)
+						.build())
+				.retrieve()
+				.bodyToMono(DocumentSummary.class)
+				.blockOptional();
+	}
+
+	@Override
+	public Flux<DataBuffer> findContentByName(String name) {
+		return requestContent(name)
+				.retrieve()
+				.onStatus(HttpStatus.NOT_FOUND::equals,
+						ClientResponse::createException)
+				.bodyToFlux(DataBuffer.class);
+	}
+
+	/**
+	 * Requests only the given range from the data source, and checks the
+	 * response actually holds it before passing it on, as the caller has
+	 * already promised the range to its own client. A data source which ignores
+	 * the range and answers with the whole contents, or with a larger range
+	 * including the requested one, has the requested bytes cut out of its
+	 * response. Any other response fails with a
+	 * {@link org.springframework.web.reactive.function.client.WebClientResponseException}.
+	 */
+	@Override
+	public Flux<DataBuffer> findContentRangeByName(String name, long start, long end) {
+		return requestContent(name)
+				.headers(headers -> headers.setRange(Collections.singletonList(HttpRange.createByteRange(start, end))))
+				.exchange()
+				.flatMapMany(response -> {
+					long offset = getOffsetOfRange(response, start, end);
+					if (offset < 0) {
+						return response.createException().flatMapMany(Flux::error);
+					}
+					Flux<DataBuffer> content = response.bodyToFlux(DataBuffer.class);
+					return DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(content, start - offset),
+							end - start + 1);
+				});
+	}
+
+	@Override
+	public boolean existsByHash(String hash) {
+		return webClient
+				.head()
+				.uri(builder -> builder
+						.path(ApiUri.DOCUMENTS.getUri())
+						.path(ApiUri.HASH.getUri())
+						.path(PATH_PARAM_HASH)
+						.build(hash))
+				.exchange()
+				.flatMap(response -> response.releaseBody()
+						.thenReturn(response.statusCode().is2xxSuccessful()))
+				.toFuture()
+				.join();
+	}
+
+	/**
+	 * Returns the index, within the whole contents, of the first byte in the
+	 * body of the given response, if the body holds every byte from
+	 * {@code start} to {@code end}. That is {@code 0} for a {@code 200}
+	 * response, or the start of its {@code Content-Range} for a {@code 206}
+	 * response.
+	 * 
+	 * @return the index of the first byte of the body, or {@code -1} if the
+	 *         response does not hold the requested range
+	 */
+	private static long getOffsetOfRange(ClientResponse response, long start, long end) {
+		if (response.statusCode() == HttpStatus.OK) {
+			return 0;
+		}
+		if (response.statusCode() != HttpStatus.PARTIAL_CONTENT) {
+			return -1;
+		}
+		long[] contentRange = parseContentRange(response.headers().asHttpHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		if (contentRange == null || contentRange[0] > start || contentRange[1] < end) {
+			return -1;
+		}
+		return contentRange[0];
+	}
+
+	/**
+	 * Parses a {@code Content-Range} header such as {@code bytes 0-99/1000}.
+	 * 
+	 * @return the first and last byte of the range, or {@code null} if the header
+	 *         is missing or not a satisfied byte range
+	 */
+	private static long[] parseContentRange(String contentRange) {
+		if (contentRange == null || !contentRange.startsWith(BYTES_UNIT)) {
+			return null;
+		}
+		String range = contentRange.substring(BYTES_UNIT.length()).trim();
+		int dash = range.indexOf('-');
+		int slash = range.indexOf('/');
+		if (dash <= 0 || slash < dash) {
+			return null;
+		}
+		try {
+			long first = Long.parseLong(range.substring(0, dash));
+			long last = Long.parseLong(range.substring(dash + 1, slash));
+			return first <= last ? new long[] { first, last } : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private WebClient.RequestHeadersSpec<?> requestContent(String name) {
+		return webClient
+				.get()
+				.uri(builder -> builder
+						.path(ApiUri.DOCUMENTS.getUri())
+						.path(ApiUri.CONTENT.getUri())
+						.queryParam(DOCUMENT_NAME, name)
+						.build())
+				.accept(MediaType.APPLICATION_OCTET_STREAM);
+	}
+
 }
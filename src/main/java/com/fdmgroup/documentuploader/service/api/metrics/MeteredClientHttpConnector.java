@@ -0,0 +1,178 @@
+package com.fdmgroup.documentuploader.service.api.metrics;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.client.reactive.ClientHttpResponseDecorator;
+
+import com.fdmgroup.documentuploader.enums.ApiUri;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * <p>
+ * Records metrics for every request sent to the data service, tagged with the
+ * top-level resource it was sent to, such as {@code /accounts}, so that slow
+ * resources can be told apart. Requests to any other path are tagged
+ * {@code other}.
+ * </p>
+ * <p>
+ * The time until each response starts is published as the
+ * {@code data-service.requests} timer, tagged with the {@code uri},
+ * {@code method} and {@code status}, where the status is {@code IO_ERROR} if no
+ * response was received and {@code CANCELLED} if the caller stopped waiting.
+ * Its percentile histogram lets the p99 of each resource be derived. The bytes
+ * of request and response bodies are counted by the
+ * {@code data-service.request.bytes} and {@code data-service.response.bytes}
+ * metrics, and the number of requests awaiting a response by the
+ * {@code data-service.requests.in-flight} metric.
+ * </p>
+ * <p>
+ * The metrics are recorded around the connector rather than in an exchange
+ * filter so that each retried attempt is recorded on its own and the bodies
+ * are counted as they are actually written and read.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public class MeteredClientHttpConnector implements ClientHttpConnector {
+
+	private static final String REQUESTS_METRIC = "data-service.requests";
+	private static final String URI_TAG = "uri";
+	private static final String METHOD_TAG = "method";
+	private static final String STATUS_TAG = "status";
+	private static final String OTHER_URI = "other";
+	private static final String IO_ERROR = "IO_ERROR";
+	private static final String CANCELLED = "CANCELLED";
+
+	private final ClientHttpConnector delegate;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * The number of requests awaiting a response, keyed by {@code uri} tag.
+	 */
+	private final Map<String, AtomicInteger> inFlightRequests = new HashMap<>();
+
+	public MeteredClientHttpConnector(ClientHttpConnector delegate, MeterRegistry meterRegistry) {
+		super();
+		this.delegate = delegate;
+		this.meterRegistry = meterRegistry;
+		for (ApiUri apiUri : ApiUri.resources()) {
+			registerInFlightGauge(apiUri.getUri());
+		}
+		registerInFlightGauge(OTHER_URI);
+	}
+
+	private void registerInFlightGauge(String uri) {
+		AtomicInteger inFlight = new AtomicInteger();
+		inFlightRequests.put(uri, inFlight);
+		Gauge.builder(REQUESTS_METRIC + ".in-flight", inFlight, AtomicInteger::get)
+				.description("Data service requests awaiting a response")
+				.tag(URI_TAG, uri)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+		String uriTag = ApiUri.resourceOf(uri.getPath()).map(ApiUri::getUri).orElse(OTHER_URI);
+		String methodTag = method.name();
+		Counter requestBytes = bytesCounter("data-service.request.bytes", "Bytes of data service request bodies",
+				uriTag, methodTag);
+		Counter responseBytes = bytesCounter("data-service.response.bytes", "Bytes of data service response bodies",
+				uriTag, methodTag);
+		AtomicInteger inFlight = inFlightRequests.get(uriTag);
+
+		return Mono.defer(() -> {
+			inFlight.incrementAndGet();
+			Timer.Sample sample = Timer.start(meterRegistry);
+			AtomicReference<String> status = new AtomicReference<>(IO_ERROR);
+			return delegate.connect(method, uri,
+					request -> requestCallback.apply(new CountingClientHttpRequest(request, requestBytes)))
+					.doOnNext(response -> status.set(String.valueOf(response.getRawStatusCode())))
+					.<ClientHttpResponse>map(response -> new CountingClientHttpResponse(response, responseBytes))
+					.doFinally(signal -> {
+						inFlight.decrementAndGet();
+						sample.stop(Timer.builder(REQUESTS_METRIC)
+								.description("Time until the data service starts responding to a request")
+								.tag(URI_TAG, uriTag)
+								.tag(METHOD_TAG, methodTag)
+								.tag(STATUS_TAG, signal == SignalType.CANCEL ? CANCELLED : status.get())
+								.publishPercentileHistogram()
+								.register(meterRegistry));
+					});
+		});
+	}
+
+	private Counter bytesCounter(String name, String description, String uri, String method) {
+		return Counter.builder(name)
+				.description(description)
+				.baseUnit("bytes")
+				.tag(URI_TAG, uri)
+				.tag(METHOD_TAG, method)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Counts the bytes of the request body as they are written.
+	 */
+	private static final class CountingClientHttpRequest extends ClientHttpRequestDecorator {
+
+		private final Counter bytes;
+
+		private CountingClientHttpRequest(ClientHttpRequest delegate, Counter bytes) {
+			super(delegate);
+			this.bytes = bytes;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return super.writeWith(count(body));
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return super.writeAndFlushWith(Flux.from(body).map(this::count));
+		}
+
+		private Flux<? extends DataBuffer> count(Publisher<? extends DataBuffer> body) {
+			return Flux.from(body).doOnNext(buffer -> bytes.increment(buffer.readableByteCount()));
+		}
+	}
+
+	/**
+	 * Counts the bytes of the response body as they are read.
+	 */
+	private static final class CountingClientHttpResponse extends ClientHttpResponseDecorator {
+
+		private final Counter bytes;
+
+		private CountingClientHttpResponse(ClientHttpResponse delegate, Counter bytes) {
+			super(delegate);
+			this.bytes = bytes;
+		}
+
+		@Override
+		public Flux<DataBuffer> getBody() {
+			return super.getBody().doOnNext(buffer -> bytes.increment(buffer.readableByteCount()));
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.fdmgroup.documentuploader.service.api.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * <p>
+ * Tracks the outcome of calls to one resource of the data service and stops
+ * further calls once it keeps failing, so requests fail immediately rather than
+ * each waiting for the full timeout and retries.
+ * </p>
+ * <p>
+ * The breaker starts {@link State#CLOSED} and opens after a number of
+ * consecutive failures. Once it has been {@link State#OPEN} for the configured
+ * duration it becomes {@link State#HALF_OPEN} and lets a single trial call
+ * through: if the trial succeeds the breaker closes again, otherwise it opens
+ * for another full duration.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final Duration openDuration;
+
+	/**
+	 * Used to tell when the open duration has elapsed.
+	 */
+	private final Clock clock;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private Instant openedAt;
+
+	/**
+	 * Whether the trial call of a half-open breaker is still in flight.
+	 */
+	private boolean trialInFlight;
+
+	public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+		super();
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.clock = clock;
+	}
+
+	/**
+	 * Decides whether a call may be made. Every call which is permitted must be
+	 * followed by exactly one of {@link #onSuccess()}, {@link #onFailure()} or
+	 * {@link #onCancel()}.
+	 *
+	 * @return {@code true} if the call may be made, {@code false} if it should
+	 *         fail immediately
+	 */
+	public synchronized boolean tryAcquirePermission() {
+		switch (state) {
+		case CLOSED:
+			return true;
+		case OPEN:
+			if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			trialInFlight = true;
+			return true;
+		default:
+			if (trialInFlight) {
+				return false;
+			}
+			trialInFlight = true;
+			return true;
+		}
+	}
+
+	public synchronized void onSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		trialInFlight = false;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		trialInFlight = false;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = clock.instant();
+		}
+	}
+
+	/**
+	 * Frees the trial of a half-open breaker whose call was cancelled before its
+	 * outcome was known, so the next call becomes the trial.
+	 */
+	public synchronized void onCancel() {
+		trialInFlight = false;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+}
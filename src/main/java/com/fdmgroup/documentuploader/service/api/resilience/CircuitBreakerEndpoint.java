@@ -0,0 +1,43 @@
+package com.fdmgroup.documentuploader.service.api.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint, exposed at {@code /actuator/circuitbreakers}, which
+ * reports the state of the circuit breaker guarding each resource of the data
+ * service.
+ *
+ * @author Noah Anderson
+ * @see DataServiceResilienceFilter
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakerEndpoint {
+
+	private final DataServiceResilienceFilter resilienceFilter;
+
+	@Autowired
+	public CircuitBreakerEndpoint(DataServiceResilienceFilter resilienceFilter) {
+		super();
+		this.resilienceFilter = resilienceFilter;
+	}
+
+	@ReadOperation
+	public Map<String, Map<String, Object>> circuitBreakers() {
+		Map<String, Map<String, Object>> circuitBreakers = new LinkedHashMap<>();
+		resilienceFilter.getCircuitBreakers().forEach((apiUri, circuitBreaker) -> {
+			Map<String, Object> details = new LinkedHashMap<>();
+			details.put("state", circuitBreaker.getState());
+			details.put("consecutiveFailures", circuitBreaker.getConsecutiveFailures());
+			circuitBreakers.put(apiUri.getUri(), details);
+		});
+		return circuitBreakers;
+	}
+
+}
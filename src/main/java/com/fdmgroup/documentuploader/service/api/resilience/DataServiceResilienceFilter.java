@@ -0,0 +1,140 @@
+package com.fdmgroup.documentuploader.service.api.resilience;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Resilience;
+import com.fdmgroup.documentuploader.enums.ApiUri;
+import com.fdmgroup.documentuploader.exception.DataServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * <p>
+ * Retries reads from the data service which fail with a connection error, a
+ * timeout or a server error, with jittered exponential backoff so that clients
+ * retrying at once do not hit the data service in lockstep. Only {@code GET}
+ * and {@code HEAD} requests are retried, as sending a write twice may not have
+ * the same effect as sending it once; writes are retried by the
+ * {@link com.fdmgroup.documentuploader.service.api.WriteBehindQueue} instead.
+ * </p>
+ * <p>
+ * Reads from each top-level resource of the data service, such as
+ * {@link ApiUri#ACCOUNTS}, are guarded by their own {@link CircuitBreaker}, so
+ * a failing resource does not stop reads from the others. While a breaker is
+ * open, reads fail immediately with a {@link DataServiceUnavailableException}.
+ * The state of each breaker is published as the
+ * {@code data-service.circuit-breaker.state} metric, where {@code 0} is closed,
+ * {@code 1} open and {@code 2} half-open, alongside the
+ * {@code data-service.reads.retries} metric.
+ * </p>
+ *
+ * @author Noah Anderson
+ * @see Resilience
+ */
+@Component
+public class DataServiceResilienceFilter implements ExchangeFilterFunction {
+
+	private static final String URI_TAG = "uri";
+
+	private final Map<ApiUri, CircuitBreaker> circuitBreakers = new EnumMap<>(ApiUri.class);
+	private final Map<ApiUri, Counter> retriedReads = new EnumMap<>(ApiUri.class);
+	private final Resilience settings;
+
+	/**
+	 * Used to retrieve messages from messages.properties.
+	 */
+	private final MessageSource messageSource;
+
+	@Autowired
+	public DataServiceResilienceFilter(ApplicationProperties applicationProperties, MessageSource messageSource,
+			MeterRegistry meterRegistry) {
+		this(applicationProperties, messageSource, meterRegistry, Clock.systemUTC());
+	}
+
+	DataServiceResilienceFilter(ApplicationProperties applicationProperties, MessageSource messageSource,
+			MeterRegistry meterRegistry, Clock clock) {
+		this.settings = applicationProperties.getResilience();
+		this.messageSource = messageSource;
+		for (ApiUri apiUri : ApiUri.resources()) {
+			CircuitBreaker circuitBreaker = new CircuitBreaker(settings.getFailureThreshold(),
+					settings.getOpenDuration(), clock);
+			circuitBreakers.put(apiUri, circuitBreaker);
+			Gauge.builder("data-service.circuit-breaker.state", circuitBreaker, c -> c.getState().ordinal())
+					.description("State of the circuit breaker guarding reads from a data service resource")
+					.tag(URI_TAG, apiUri.getUri())
+					.register(meterRegistry);
+			retriedReads.put(apiUri, Counter.builder("data-service.reads.retries")
+					.description("Data service reads which were sent again after failing")
+					.tag(URI_TAG, apiUri.getUri())
+					.register(meterRegistry));
+		}
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		Optional<ApiUri> apiUri = ApiUri.resourceOf(request.url().getPath());
+		if (!isRead(request.method()) || !apiUri.isPresent()) {
+			return next.exchange(request);
+		}
+		CircuitBreaker circuitBreaker = circuitBreakers.get(apiUri.get());
+		Counter retries = retriedReads.get(apiUri.get());
+		return Mono.defer(() -> {
+			if (!circuitBreaker.tryAcquirePermission()) {
+				return Mono.error(new DataServiceUnavailableException(
+						messageSource.getMessage("data-service.unavailable", null, Locale.getDefault())));
+			}
+			return next.exchange(request)
+					.flatMap(DataServiceResilienceFilter::failOnServerError)
+					.retryWhen(Retry.backoff(settings.getMaxRetries(), settings.getRetryBackoff())
+							.jitter(0.5)
+							.doBeforeRetry(signal -> retries.increment())
+							.onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+					.doOnSuccess(response -> circuitBreaker.onSuccess())
+					.doOnError(e -> circuitBreaker.onFailure())
+					.doOnCancel(circuitBreaker::onCancel);
+		});
+	}
+
+	/**
+	 * Turns a server error response into an error so it is retried and counted
+	 * as a failure. Client errors are answers about the request itself, so they
+	 * are passed on as they are.
+	 */
+	private static Mono<ClientResponse> failOnServerError(ClientResponse response) {
+		if (response.rawStatusCode() >= 500) {
+			return response.createException().flatMap(Mono::error);
+		}
+		return Mono.just(response);
+	}
+
+	private static boolean isRead(HttpMethod method) {
+		return method == HttpMethod.GET || method == HttpMethod.HEAD;
+	}
+
+	/**
+	 * @return the circuit breaker guarding each resource of the data service
+	 */
+	public Map<ApiUri, CircuitBreaker> getCircuitBreakers() {
+		return Collections.unmodifiableMap(circuitBreakers);
+	}
+
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
 
+import reactor.core.publisher.Mono;
+
 /**
  * <p>
  * Interface that defines behaviors to be implemented that pertain to the
@@ -16,6 +18,16 @@ import com.fdmgroup.documentuploader.service.api.AbstractApiService;
  */
 public interface AbstractUserApiService extends AbstractApiService<User, Long> {
 
+	/**
+	 * Non-blocking variant of {@link #findById(Object)}. The request is only sent
+	 * once the returned {@link Mono} is subscribed to.
+	 * 
+	 * @param id the {@code id} of a {@code User}
+	 * @return {@link Mono} emitting the found {@link User}, or completing empty
+	 *         when no {@code User} has the given {@code id}
+	 */
+	Mono<User> findByIdAsync(Long id);
+
 	/**
 	 * Retrieves a {@link User} instance with an {@code email} equaling the given
 	 * {@code email}.
@@ -27,6 +39,16 @@ public interface AbstractUserApiService extends AbstractApiService<User, Long> {
 	 */
 	Optional<User> findByEmail(String email);
 
+	/**
+	 * Non-blocking variant of {@link #findByEmail(String)}. The request is only
+	 * sent once the returned {@link Mono} is subscribed to.
+	 * 
+	 * @param email the {@code email} of a {@code User}
+	 * @return {@link Mono} emitting the found {@code User}, or completing empty
+	 *         when no {@code User} has the given {@code email}
+	 */
+	Mono<User> findByEmailAsync(String email);
+
 	/**
 	 * Checks if the {@link User} with the given {@code email} has activated their
 	 * account.
@@ -37,6 +59,15 @@ public interface AbstractUserApiService extends AbstractApiService<User, Long> {
 	 */
 	boolean isEnabled(String email);
 
+	/**
+	 * Non-blocking variant of {@link #isEnabled(String)}.
+	 * 
+	 * @param email the {@code email} of a {@code User}
+	 * @return {@link Mono} emitting whether the {@code User} has activated their
+	 *         account
+	 */
+	Mono<Boolean> isEnabledAsync(String email);
+
 	/**
 	 * Initiates the process of resetting the password of a {@link User} with an
 	 * {@code email} matching the given {@code email}.
@@ -0,0 +1,192 @@
+package com.fdmgroup.documentuploader.service.api.user;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.UserCache;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Decorator of {@link UserApiService} which keeps found {@link User} objects in
+ * bounded, time limited caches keyed by id and by email. Operations which
+ * modify a {@code User} remove it from both caches. Lookups return copies of
+ * the cached {@code User} objects, so callers changing a found {@code User}
+ * cannot change what later lookups see.
+ * </p>
+ * <p>
+ * Hit, miss and eviction counts are published under the {@code users.by-id}
+ * and {@code users.by-email} cache names. The decorator is only registered
+ * while {@code app.user-cache.enabled} is {@code true}.
+ * </p>
+ *
+ * @author Noah Anderson
+ * @see UserApiService
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.user-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserApiService implements AbstractUserApiService {
+
+	/**
+	 * Used to perform the API calls whose results are cached.
+	 */
+	private final AbstractUserApiService delegate;
+
+	/**
+	 * Found {@link User} objects keyed by their id.
+	 */
+	private final Cache<Long, User> usersById;
+
+	/**
+	 * Found {@link User} objects keyed by their email.
+	 */
+	private final Cache<String, User> usersByEmail;
+
+	@Autowired
+	public CachingUserApiService(UserApiService delegate, ApplicationProperties applicationProperties,
+			MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+
+		UserCache userCache = applicationProperties.getUserCache();
+		this.usersById = CaffeineCacheMetrics.monitor(meterRegistry, createCache(userCache), "users.by-id");
+		this.usersByEmail = CaffeineCacheMetrics.monitor(meterRegistry, createCache(userCache), "users.by-email");
+	}
+
+	private static <K> Cache<K, User> createCache(UserCache userCache) {
+		return Caffeine.newBuilder()
+				.expireAfterWrite(userCache.getTtl())
+				.maximumSize(userCache.getMaximumSize())
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public User save(User user) {
+		return delegate.save(user);
+	}
+
+	@Override
+	public Optional<User> findById(Long id) {
+		User user = usersById.get(id, key -> delegate.findById(key).orElse(null));
+		cacheByEmail(user);
+		return Optional.ofNullable(user).map(User::new);
+	}
+
+	@Override
+	public Mono<User> findByIdAsync(Long id) {
+		return Mono.defer(() -> {
+			User cachedUser = usersById.getIfPresent(id);
+			if (cachedUser != null) {
+				return Mono.just(cachedUser);
+			}
+			return delegate.findByIdAsync(id)
+					.doOnNext(user -> {
+						usersById.put(id, user);
+						cacheByEmail(user);
+					});
+		}).map(User::new);
+	}
+
+	@Override
+	public Optional<User> findByEmail(String email) {
+		User user = usersByEmail.get(email, key -> delegate.findByEmail(key).orElse(null));
+		if (user != null) {
+			usersById.put(user.getId(), user);
+		}
+		return Optional.ofNullable(user).map(User::new);
+	}
+
+	@Override
+	public Mono<User> findByEmailAsync(String email) {
+		return Mono.defer(() -> {
+			User cachedUser = usersByEmail.getIfPresent(email);
+			if (cachedUser != null) {
+				return Mono.just(cachedUser);
+			}
+			return delegate.findByEmailAsync(email)
+					.doOnNext(user -> {
+						usersByEmail.put(email, user);
+						usersById.put(user.getId(), user);
+					});
+		}).map(User::new);
+	}
+
+	private void cacheByEmail(User user) {
+		if (user != null && user.getEmail() != null) {
+			usersByEmail.put(user.getEmail(), user);
+		}
+	}
+
+	/**
+	 * Removes the given {@link User} from the caches both before the update is
+	 * sent and once it has completed, so that no lookup made while the update is
+	 * in flight can cache the old state.
+	 */
+	@Override
+	public Mono<User> update(User user) {
+		invalidate(user.getId(), user.getEmail());
+		return delegate.update(user)
+				.doFinally(signal -> invalidate(user.getId(), user.getEmail()));
+	}
+
+	@Override
+	public Mono<User> deleteById(Long id) {
+		User cachedUser = usersById.getIfPresent(id);
+		String email = cachedUser == null ? null : cachedUser.getEmail();
+		invalidate(id, email);
+		return delegate.deleteById(id)
+				.doFinally(signal -> invalidate(id, email));
+	}
+
+	@Override
+	public boolean isEnabled(String email) {
+		return delegate.isEnabled(email);
+	}
+
+	@Override
+	public Mono<Boolean> isEnabledAsync(String email) {
+		return delegate.isEnabledAsync(email);
+	}
+
+	@Override
+	public void resetPassword(String email) {
+		delegate.resetPassword(email);
+	}
+
+	@Override
+	public boolean isValidPasswordResetToken(String passwordResetToken) {
+		return delegate.isValidPasswordResetToken(passwordResetToken);
+	}
+
+	@Override
+	public void changePassword(String email, String newPassword, String passwordResetToken) {
+		try {
+			delegate.changePassword(email, newPassword, passwordResetToken);
+		} finally {
+			User cachedUser = usersByEmail.getIfPresent(email);
+			invalidate(cachedUser == null ? null : cachedUser.getId(), email);
+		}
+	}
+
+	private void invalidate(Long id, String email) {
+		if (id != null) {
+			usersById.invalidate(id);
+		}
+		if (email != null) {
+			usersByEmail.invalidate(email);
+		}
+	}
+
+}
@@ -4,17 +4,14 @@ import java.util.Optional;
 
 import com.fdmgroup.documentuploader.enums.ApiUri;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.api.AbstractApiService;
+import com.fdmgroup.documentuploader.service.api.RequestCoalescer;
 
 import reactor.core.publisher.Mono;
 
@@ -25,7 +22,6 @@ import reactor.core.publisher.Mono;
  * 
  * @author Noah Anderson
  */
-@Primary
 @Service
 public class UserApiService implements AbstractUserApiService {
 
@@ -40,14 +36,17 @@ public class UserApiService implements AbstractUserApiService {
 	 * Responses.
 	 */
 	private final WebClient webClient;
+
+	/**
+	 * Used to share identical read requests which are in flight at the same time.
+	 */
+	private final RequestCoalescer requestCoalescer;
 	
 	@Autowired
-	public UserApiService(@Value("${data.service.url}") String baseUrl) {
+	public UserApiService(WebClient webClient, RequestCoalescer requestCoalescer) {
 		super();
-		this.webClient = WebClient.builder()
-				.baseUrl(baseUrl)
-				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-				.build();
+		this.webClient = webClient;
+		this.requestCoalescer = requestCoalescer;
 	}
 
 	@Override
@@ -61,12 +60,17 @@ public class UserApiService implements AbstractUserApiService {
 
 	@Override
 	public Optional<User> findById(Long id) {
-		return webClient.get().uri(builder -> builder.path(ApiUri.USERS.getUri())
-				.queryParam(QUERY_PARAM_ID, id)
-				.build())
-			.retrieve()
-				.bodyToMono(User.class)
-				.blockOptional();
+		return findByIdAsync(id).blockOptional();
+	}
+
+	@Override
+	public Mono<User> findByIdAsync(Long id) {
+		return requestCoalescer.coalesce(ApiUri.USERS, QUERY_PARAM_ID + "=" + id, () -> webClient.get()
+				.uri(builder -> builder.path(ApiUri.USERS.getUri())
+						.queryParam(QUERY_PARAM_ID, id)
+						.build())
+				.retrieve()
+				.bodyToMono(User.class), User::new);
 	}
 
 	@Override
@@ -91,25 +95,35 @@ public class UserApiService implements AbstractUserApiService {
 
 	@Override
 	public Optional<User> findByEmail(String email) {
-		return webClient.get().uri(builder -> builder.path(ApiUri.USERS.getUri())
-				.queryParam(QUERY_PARAM_EMAIL, email)
-				.build(email))
-			.retrieve()
-				.bodyToMono(User.class)
-				.blockOptional();
+		return findByEmailAsync(email).blockOptional();
+	}
+
+	@Override
+	public Mono<User> findByEmailAsync(String email) {
+		return requestCoalescer.coalesce(ApiUri.USERS, QUERY_PARAM_EMAIL + "=" + email, () -> webClient.get()
+				.uri(builder -> builder.path(ApiUri.USERS.getUri())
+						.queryParam(QUERY_PARAM_EMAIL, email)
+						.build(email))
+				.retrieve()
+				.bodyToMono(User.class), User::new);
 	}
 
 	@Override
 	public boolean isEnabled(String email) {
+		return isEnabledAsync(email)
+				.toFuture()
+				.join();
+	}
+
+	@Override
+	public Mono<Boolean> isEnabledAsync(String email) {
 		String path = ApiUri.USERS.getUri() + PATH_PARAM_EMAIL + ApiUri.IS_ENABLED.getUri();
 		return webClient.get().uri(builder -> builder.path(path)
 				.build(email))
 			.retrieve()
 				.onStatus(HttpStatus.NOT_FOUND::equals,
 						ClientResponse::createException)
-				.bodyToMono(Boolean.class)
-				.toFuture()
-				.join();
+				.bodyToMono(Boolean.class);
 	}
 
 	@Override
@@ -1,11 +1,13 @@
 package com.fdmgroup.documentuploader.service.document;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
 
 /**
  * <p>
@@ -30,7 +32,8 @@ public interface AbstractDocumentService {
 
 	/**
 	 * Retrieves a {@link Document} with a name matching the value of
-	 * {@code fileName}.
+	 * {@code fileName}. Its contents are retrieved when they are first read
+	 * rather than with the rest of the document.
 	 * 
 	 * @param fileName the document name to search for a {@link Document} object with
 	 * @return {@code empty} {@link Optional} if no document is found with the given
@@ -40,6 +43,40 @@ public interface AbstractDocumentService {
 	 */
 	Optional<Document> findByName(String fileName);
 
+	/**
+	 * Retrieves the metadata of a {@link Document} with a name matching the value
+	 * of {@code fileName} without retrieving its contents.
+	 * 
+	 * @param fileName the document name to search for a {@link DocumentSummary} with
+	 * @return {@code empty} {@link Optional} if no document is found with the given
+	 *         {@code name}, <br/>
+	 *         {@link Optional} encapsulating the found {@link DocumentSummary}
+	 *         otherwise
+	 */
+	Optional<DocumentSummary> findSummaryByName(String fileName);
+
+	/**
+	 * Writes the contents of the {@link Document} with a name matching the value
+	 * of {@code fileName} to the given {@link OutputStream} as they are received
+	 * from the data source.
+	 * 
+	 * @param fileName     the name of the document to write the contents of
+	 * @param outputStream the stream to write the document contents to
+	 */
+	void writeContentByName(String fileName, OutputStream outputStream);
+
+	/**
+	 * Writes the bytes from {@code start} to {@code end}, both inclusive, of the
+	 * contents of the {@link Document} with a name matching the value of
+	 * {@code fileName} to the given {@link OutputStream}.
+	 * 
+	 * @param fileName     the name of the document to write the contents of
+	 * @param start        the zero based index of the first byte to write
+	 * @param end          the zero based index of the last byte to write
+	 * @param outputStream the stream to write the requested range to
+	 */
+	void writeContentRangeByName(String fileName, long start, long end, OutputStream outputStream);
+
 	/**
 	 * Removes a {@link Document} from the data source.
 	 * 
@@ -1,17 +1,25 @@
 package com.fdmgroup.documentuploader.service.document;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 import com.fdmgroup.documentuploader.service.api.document.AbstractDocumentApiService;
+import com.fdmgroup.documentuploader.util.DataBufferInputStream;
 import com.fdmgroup.documentuploader.util.DocumentUtil;
 
+import reactor.core.publisher.Flux;
+
 
 /**
  * <p>
@@ -27,15 +35,23 @@ import com.fdmgroup.documentuploader.util.DocumentUtil;
 @Service
 public class DocumentService implements AbstractDocumentService {
 
+	private static final String DOCUMENT_KEY = "document:";
+
 	/**
 	 * Used to perform API calls to save, update, read, or remove {@link Document} objects.
 	 */
 	private final AbstractDocumentApiService documentApiService;
 
+	/**
+	 * Used to send deletions after the request has been answered.
+	 */
+	private final WriteBehindQueue writeBehindQueue;
+
 	@Autowired
-	public DocumentService(AbstractDocumentApiService documentApiService) {
+	public DocumentService(AbstractDocumentApiService documentApiService, WriteBehindQueue writeBehindQueue) {
 		super();
 		this.documentApiService = documentApiService;
+		this.writeBehindQueue = writeBehindQueue;
 	}
 
 	@Override
@@ -59,8 +75,10 @@ public class DocumentService implements AbstractDocumentService {
 	}
 
 	/**
-	 * Sends an HTTP Request to a REST API endpoint to find an {@link Document} object with a name
-	 * equal to {@code name}
+	 * Sends an HTTP Request to a REST API endpoint to find the metadata of the {@link Document}
+	 * with a name equal to {@code name}. The contents of the returned document are only
+	 * retrieved when they are first read, and {@link Document#openStream()} streams them
+	 * without holding them in memory.
 	 * 
 	 * @param fileName the document name to search for a {@link Document} object with
 	 * @return empty {@link Optional} if no document is found with the given {@code name}, <br/>
@@ -69,16 +87,59 @@ public class DocumentService implements AbstractDocumentService {
 	 * @see Optional
 	 */
 	public Optional<Document> findByName(String fileName) {
-		return documentApiService.findByName(fileName);
+		return documentApiService.findSummaryByName(fileName)
+				.map(summary -> summary.toDocument(
+						() -> new DataBufferInputStream(documentApiService.findContentByName(fileName))));
 	}
 	
+	@Override
+	public Optional<DocumentSummary> findSummaryByName(String fileName) {
+		return documentApiService.findSummaryByName(fileName);
+	}
+
+	/**
+	 * Sends an HTTP Request to a REST API endpoint to retrieve the contents of the
+	 * {@link Document} with a name equal to {@code fileName}, writing each chunk to
+	 * {@code outputStream} and releasing it as soon as it arrives. Blocks until the
+	 * whole document has been written.
+	 * 
+	 * @param fileName     the name of the document to write the contents of
+	 * @param outputStream the stream to write the document contents to
+	 */
+	@Override
+	public void writeContentByName(String fileName, OutputStream outputStream) {
+		write(documentApiService.findContentByName(fileName), outputStream);
+	}
+
+	/**
+	 * Sends an HTTP Request to a REST API endpoint to retrieve only the bytes from
+	 * {@code start} to {@code end} of the {@link Document} with a name equal to
+	 * {@code fileName}, writing them to {@code outputStream} as they arrive.
+	 * 
+	 * @param fileName     the name of the document to write the contents of
+	 * @param start        the zero based index of the first byte to write
+	 * @param end          the zero based index of the last byte to write
+	 * @param outputStream the stream to write the requested range to
+	 */
+	@Override
+	public void writeContentRangeByName(String fileName, long start, long end, OutputStream outputStream) {
+		write(documentApiService.findContentRangeByName(fileName, start, end), outputStream);
+	}
+
+	private void write(Flux<DataBuffer> content, OutputStream outputStream) {
+		DataBufferUtils.write(content, outputStream)
+				.map(DataBufferUtils::release)
+				.blockLast();
+	}
+
 	/**
 	 * Sends an HTTP Request to a REST API endpoint to delete the given {@linkplain Document} object.
 	 * 
 	 * @param document the document to delete
 	 */
 	public void delete(Document document) {
-		documentApiService.deleteById(document.getId()).subscribe();
+		long id = document.getId();
+		writeBehindQueue.submit(DOCUMENT_KEY + id, () -> documentApiService.deleteById(id), true);
 	}
 
 }
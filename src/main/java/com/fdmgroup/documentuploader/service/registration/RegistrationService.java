@@ -6,12 +6,9 @@ import java.util.Locale;
 import com.fdmgroup.documentuploader.enums.ApiUri;
 import com.fdmgroup.documentuploader.exception.PasswordsDoNotMatchException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Primary;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -22,6 +19,7 @@ import com.fdmgroup.documentuploader.model.registration.RegistrationWrapper;
 import com.fdmgroup.documentuploader.model.user.AuthGroup;
 import com.fdmgroup.documentuploader.model.user.Role;
 import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 
 /**
  * <p>
@@ -35,6 +33,8 @@ import com.fdmgroup.documentuploader.model.user.User;
 @Primary
 @Service
 public class RegistrationService implements AbstractRegistrationService {
+
+	private static final String REGISTRATION_KEY = "registration:";
 	
 	/**
 	 * Used to perform HTTP Requests and retrieve data from the associated HTTP Responses.
@@ -56,17 +56,21 @@ public class RegistrationService implements AbstractRegistrationService {
 	 * as allows simple retrieval of Spring Beans.
 	 */
 	private final ApplicationContext applicationContext;
+
+	/**
+	 * Used to send registrations after the request has been answered.
+	 */
+	private final WriteBehindQueue writeBehindQueue;
 	
 	@Autowired
-	public RegistrationService(@Value("${data.service.url}") String baseUrl, PasswordEncoder passwordEncoder,
-							   MessageSource messageSource, ApplicationContext applicationContext) {
-		this.webClient = WebClient.builder()
-							.baseUrl(baseUrl)
-							.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-							.build();
+	public RegistrationService(WebClient webClient, PasswordEncoder passwordEncoder,
+							   MessageSource messageSource, ApplicationContext applicationContext,
+							   WriteBehindQueue writeBehindQueue) {
+		this.webClient = webClient;
 		this.passwordEncoder = passwordEncoder;
 		this.messageSource = messageSource;
 		this.applicationContext = applicationContext;
+		this.writeBehindQueue = writeBehindQueue;
 	}
 	
 	@Override
@@ -103,13 +107,12 @@ public class RegistrationService implements AbstractRegistrationService {
 	 * @param wrapper object encapsulating information required for registration
 	 */
 	private void processRegistration(RegistrationWrapper wrapper) {
-		webClient
+		writeBehindQueue.submit(REGISTRATION_KEY + wrapper.getUser().getEmail(), () -> webClient
 				.post()
 				.uri(ApiUri.REGISTER.getUri())
 				.bodyValue(wrapper)
 				.retrieve()
-				.toBodilessEntity()
-				.subscribe();
+				.toBodilessEntity(), false);
 	}
 	
 	/**
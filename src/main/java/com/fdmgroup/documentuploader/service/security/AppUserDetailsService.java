@@ -10,9 +10,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple3;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * <p>
@@ -41,17 +44,24 @@ public class AppUserDetailsService implements UserDetailsService {
 		this.authGroupService = authGroupService;
 	}
 
+	/**
+	 * Fetches the {@link User}, their {@link AuthGroup} objects and whether they
+	 * have activated their account concurrently, blocking once until all three
+	 * have been received.
+	 */
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		Optional<User> optionalUser = userService.findByEmail(username);
-		if (!optionalUser.isPresent()) {
+		Mono<Boolean> enabled = userService.hasActivatedAccountAsync(username)
+				.onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(false));
+
+		Tuple3<User, List<AuthGroup>, Boolean> userDetails = Mono.zip(userService.findByEmailAsync(username),
+				authGroupService.findByUsernameAsync(username), enabled)
+				.block();
+		if (userDetails == null) {
 			throw new UsernameNotFoundException("cannot find username: " + username);
 		}
 
-		List<AuthGroup> authGroups = authGroupService.findByUsername(username);
-		User user = optionalUser.get();
-
-		return new AppUserPrincipal(userService, user, authGroups);
+		return new AppUserPrincipal(userDetails.getT1(), userDetails.getT2(), userDetails.getT3());
 	}
 
 }
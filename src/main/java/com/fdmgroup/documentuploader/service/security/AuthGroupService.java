@@ -2,17 +2,15 @@ package com.fdmgroup.documentuploader.service.security;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import com.fdmgroup.documentuploader.enums.ApiUri;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fdmgroup.documentuploader.model.user.AuthGroup;
 
+import reactor.core.publisher.Mono;
+
 /**
  * <p>
  * Service class which contains methods that submit HTTP Requests to and
@@ -31,11 +29,8 @@ public class AuthGroupService {
 	 */
 	private final WebClient webClient;
 	
-	public AuthGroupService(@Value("${data.service.url}") String baseUrl) {
-		this.webClient = WebClient.builder()
-							.baseUrl(baseUrl)
-							.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-							.build();
+	public AuthGroupService(WebClient webClient) {
+		this.webClient = webClient;
 	}
 	
 	/**
@@ -48,6 +43,18 @@ public class AuthGroupService {
 	 * @see Optional
 	 */
 	public List<AuthGroup> findByUsername(String username) {
+		return findByUsernameAsync(username).block();
+	}
+
+	/**
+	 * Non-blocking variant of {@link #findByUsername(String)}. The request is only
+	 * sent once the returned {@link Mono} is subscribed to.
+	 * 
+	 * @param username the {@code username} to search for {@link AuthGroup} objects with
+	 * @return {@link Mono} emitting the {@link List} of {@link AuthGroup} instances attached to the given
+	 *         {@code username}
+	 */
+	public Mono<List<AuthGroup>> findByUsernameAsync(String username) {
 		return webClient
 					.get()
 					.uri(builder -> builder
@@ -56,7 +63,6 @@ public class AuthGroupService {
 							.build())
 					.retrieve()
 					.bodyToFlux(AuthGroup.class)
-					.toStream()
-					.collect(Collectors.toList());
+					.collectList();
 	}
 }
@@ -0,0 +1,93 @@
+package com.fdmgroup.documentuploader.service.session;
+
+import javax.servlet.http.HttpSession;
+
+import com.fdmgroup.documentuploader.exception.SessionExpiredException;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Interface that defines behaviors to be implemented that pertain to the state
+ * kept in a user's {@link HttpSession}. Only the ids of the current
+ * {@link User} and {@link Account} are stored in the session, and are resolved
+ * to the objects they identify on each request.
+ * </p>
+ * 
+ * @author Noah Anderson
+ */
+public interface AbstractSessionService {
+
+	/**
+	 * Stores the id of the given {@link User} in the given {@link HttpSession} as
+	 * the user who is logged in.
+	 * 
+	 * @param session the session of the logged in user
+	 * @param user    the {@code User} who is logged in
+	 */
+	void setCurrentUser(HttpSession session, User user);
+
+	/**
+	 * Resolves the {@link User} whose id is stored in the given
+	 * {@link HttpSession}.
+	 * 
+	 * @param session the session of the logged in user
+	 * @return the {@code User} who is logged in
+	 * @throws SessionExpiredException if no user id is stored in the session or
+	 *                                 the user no longer exists
+	 */
+	User getCurrentUser(HttpSession session);
+
+	/**
+	 * Non-blocking variant of {@link #getCurrentUser(HttpSession)}, for handlers
+	 * which must not hold the request thread while the {@link User} is retrieved.
+	 * 
+	 * @param session the session of the logged in user
+	 * @return {@link Mono} emitting the {@code User} who is logged in, or failing
+	 *         with a {@link SessionExpiredException} if no user id is stored in
+	 *         the session or the user no longer exists
+	 */
+	Mono<User> getCurrentUserAsync(HttpSession session);
+
+	/**
+	 * Stores the id of the given {@link Account} in the given {@link HttpSession}
+	 * as the account the user is currently viewing.
+	 * 
+	 * @param session the session of the logged in user
+	 * @param account the {@link AccountSummary} of the {@code Account} the user is
+	 *                viewing
+	 */
+	void setCurrentAccount(HttpSession session, AccountSummary account);
+
+	/**
+	 * Resolves the {@link Account} whose id is stored in the given
+	 * {@link HttpSession}.
+	 * 
+	 * @param session the session of the logged in user
+	 * @return the {@link AccountSummary} of the {@code Account} the user is
+	 *         currently viewing
+	 * @throws SessionExpiredException if no account id is stored in the session or
+	 *                                 the account no longer exists
+	 */
+	AccountSummary getCurrentAccount(HttpSession session);
+
+	/**
+	 * Replaces any previously resolved state of the given {@link Account} so that
+	 * subsequent requests see its changes.
+	 * 
+	 * @param account the {@link AccountSummary} of the updated {@code Account}
+	 */
+	void refreshAccount(AccountSummary account);
+
+	/**
+	 * Discards any previously resolved state of the {@link Account} with the
+	 * given {@code id}, so that subsequent requests retrieve it again.
+	 * 
+	 * @param accountId the {@code id} of the changed {@code Account}
+	 */
+	void evictAccount(long accountId);
+
+}
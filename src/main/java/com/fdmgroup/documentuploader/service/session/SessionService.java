@@ -0,0 +1,135 @@
+package com.fdmgroup.documentuploader.service.session;
+
+import java.util.Locale;
+
+import javax.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Session;
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.exception.SessionExpiredException;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.service.user.AbstractUserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * Implementing class of {@link AbstractSessionService} which keeps only ids in
+ * the {@link HttpSession}. Account ids are resolved through a short lived cache
+ * shared by all sessions, so consecutive requests do not each call the data
+ * service. User lookups are cached by the user API layer.
+ * </p>
+ * 
+ * @author Noah Anderson
+ * @see AbstractSessionService
+ */
+@Primary
+@Service
+public class SessionService implements AbstractSessionService {
+
+	/**
+	 * Used to retrieve {@link User} objects whose ids are stored in a session.
+	 */
+	private final AbstractUserService userService;
+
+	/**
+	 * Used to retrieve {@link Account} objects whose ids are stored in a session.
+	 */
+	private final AbstractAccountService accountService;
+
+	/**
+	 * Used to retrieve messages from messages.properties.
+	 */
+	private final MessageSource messageSource;
+
+	/**
+	 * Resolved {@link AccountSummary} objects keyed by their id. They cannot be
+	 * changed, so the same instance is safely handed to every request.
+	 */
+	private final Cache<Long, AccountSummary> accounts;
+
+	@Autowired
+	public SessionService(AbstractUserService userService, AbstractAccountService accountService,
+			MessageSource messageSource, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+		this.userService = userService;
+		this.accountService = accountService;
+		this.messageSource = messageSource;
+
+		Session session = applicationProperties.getSession();
+		Cache<Long, AccountSummary> accountCache = Caffeine.newBuilder()
+				.expireAfterWrite(session.getCacheTtl())
+				.maximumSize(session.getCacheMaximumSize())
+				.recordStats()
+				.build();
+		this.accounts = CaffeineCacheMetrics.monitor(meterRegistry, accountCache, "session.accounts");
+	}
+
+	@Override
+	public void setCurrentUser(HttpSession session, User user) {
+		session.setAttribute(AttributeName.USER_ID.getValue(), user.getId());
+	}
+
+	@Override
+	public User getCurrentUser(HttpSession session) {
+		long userId = getId(session, AttributeName.USER_ID);
+		return userService.findById(userId).orElseThrow(this::sessionExpired);
+	}
+
+	@Override
+	public Mono<User> getCurrentUserAsync(HttpSession session) {
+		return Mono.defer(() -> userService.findByIdAsync(getId(session, AttributeName.USER_ID)))
+				.switchIfEmpty(Mono.defer(() -> Mono.error(sessionExpired())));
+	}
+
+	@Override
+	public void setCurrentAccount(HttpSession session, AccountSummary account) {
+		session.setAttribute(AttributeName.ACCOUNT_ID.getValue(), account.getId());
+		accounts.put(account.getId(), account);
+	}
+
+	@Override
+	public AccountSummary getCurrentAccount(HttpSession session) {
+		long accountId = getId(session, AttributeName.ACCOUNT_ID);
+		AccountSummary account = accounts.get(accountId, id -> accountService.findSummaryById(id).orElse(null));
+		if (account == null) {
+			throw sessionExpired();
+		}
+		return account;
+	}
+
+	@Override
+	public void refreshAccount(AccountSummary account) {
+		accounts.put(account.getId(), account);
+	}
+
+	@Override
+	public void evictAccount(long accountId) {
+		accounts.invalidate(accountId);
+	}
+
+	private long getId(HttpSession session, AttributeName attributeName) {
+		Object id = session.getAttribute(attributeName.getValue());
+		if (!(id instanceof Long)) {
+			throw sessionExpired();
+		}
+		return (Long) id;
+	}
+
+	private SessionExpiredException sessionExpired() {
+		return new SessionExpiredException(messageSource.getMessage("session.expired", null, Locale.getDefault()));
+	}
+
+}
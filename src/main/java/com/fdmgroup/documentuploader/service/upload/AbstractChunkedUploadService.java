@@ -0,0 +1,104 @@
+package com.fdmgroup.documentuploader.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fdmgroup.documentuploader.exception.FileException;
+import com.fdmgroup.documentuploader.exception.InvalidChunkException;
+import com.fdmgroup.documentuploader.exception.UploadSessionNotFoundException;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+
+/**
+ * <p>
+ * Interface that defines behaviors to be implemented that pertain to files
+ * uploaded to an {@link Account} in several chunks, using an
+ * {@link UploadSession} per file.
+ * </p>
+ * <p>
+ * Every method taking an {@code accountId} throws an
+ * {@link UploadSessionNotFoundException} when no {@code UploadSession} with
+ * the given {@code id} exists for that account.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public interface AbstractChunkedUploadService {
+
+	/**
+	 * Starts the upload of a file to the {@link Account} with the given
+	 * {@code accountId}.
+	 *
+	 * @param accountId the {@code id} of the {@code Account} to upload to
+	 * @param fileName  the original name of the file, including its extension
+	 * @param size      the size of the file in bytes
+	 * @return the created {@link UploadSession}, which states the size of the
+	 *         chunks the file must be sent in
+	 * @throws FileException        when the file is empty
+	 * @throws InvalidChunkException when the file is too large, or the account
+	 *                               already has as many unfinished uploads, or
+	 *                               as much staged data, as it is allowed
+	 * @throws IOException          if the staging file cannot be created
+	 */
+	UploadSession createSession(long accountId, String fileName, long size) throws IOException;
+
+	/**
+	 * Retrieves the {@link UploadSession} with the given {@code id}, which can be
+	 * used to find the chunks that still have to be sent.
+	 *
+	 * @param id        the {@code id} of the {@code UploadSession}
+	 * @param accountId the {@code id} of the account the file is uploaded to
+	 * @return the found {@code UploadSession}
+	 */
+	UploadSession getSession(String id, long accountId);
+
+	/**
+	 * Writes a chunk of the file to the staging file of the
+	 * {@link UploadSession} with the given {@code id}. Sending a chunk which has
+	 * already been received replaces it.
+	 *
+	 * @param id        the {@code id} of the {@code UploadSession}
+	 * @param accountId the {@code id} of the account the file is uploaded to
+	 * @param offset    the position of the first byte of the chunk within the
+	 *                  file. Must be a multiple of the chunk size
+	 * @param content   the contents of the chunk
+	 * @return the updated {@code UploadSession}
+	 * @throws InvalidChunkException when the {@code offset} or the length of the
+	 *                               {@code content} does not match a chunk, or
+	 *                               the upload is being completed
+	 * @throws IOException           if the {@code content} cannot be read or
+	 *                               written to the staging file
+	 */
+	UploadSession writeChunk(String id, long accountId, long offset, InputStream content) throws IOException;
+
+	/**
+	 * Adds the file of the {@link UploadSession} with the given {@code id} to the
+	 * given {@link Account} once all of its chunks have been received, and
+	 * removes the {@code UploadSession}. If adding the file fails, the
+	 * {@code UploadSession} is kept so completing it can be retried.
+	 *
+	 * @param id      the {@code id} of the {@code UploadSession}
+	 * @param account the {@link AccountSummary} of the {@code Account} the file is
+	 *                uploaded to
+	 * @return an {@code AccountSummary} of the updated {@code Account}
+	 * @throws InvalidChunkException when not all chunks have been received
+	 */
+	AccountSummary completeSession(String id, AccountSummary account);
+
+	/**
+	 * Abandons the {@link UploadSession} with the given {@code id} and deletes
+	 * its staged chunks.
+	 *
+	 * @param id        the {@code id} of the {@code UploadSession}
+	 * @param accountId the {@code id} of the account the file is uploaded to
+	 */
+	void cancelSession(String id, long accountId);
+
+	/**
+	 * Removes every {@link UploadSession} which has not received a chunk within
+	 * the configured session timeout, and deletes its staged chunks.
+	 */
+	void removeAbandonedSessions();
+
+}
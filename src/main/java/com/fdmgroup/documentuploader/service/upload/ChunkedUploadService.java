@@ -0,0 +1,282 @@
+package com.fdmgroup.documentuploader.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fdmgroup.documentuploader.aop.logging.LoggerFactory;
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.ChunkedUpload;
+import com.fdmgroup.documentuploader.exception.FileException;
+import com.fdmgroup.documentuploader.exception.InvalidChunkException;
+import com.fdmgroup.documentuploader.exception.UploadSessionNotFoundException;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+import com.fdmgroup.documentuploader.service.account.AbstractAccountService;
+import com.fdmgroup.documentuploader.util.DocumentUtil;
+
+/**
+ * <p>
+ * Implementing class of {@link AbstractChunkedUploadService} which stages the
+ * chunks of every {@link UploadSession} in a file of its own within the
+ * configured staging directory. Chunks are written straight to their position
+ * in the staging file, so they can arrive in any order and concurrently.
+ * </p>
+ * <p>
+ * {@code UploadSession} objects are kept in memory. Staging files left behind
+ * by sessions which no longer exist, such as after a restart, are deleted
+ * along with abandoned sessions.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+@Primary
+@Service
+public class ChunkedUploadService implements AbstractChunkedUploadService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedUploadService.class);
+	private static final String STAGING_FILE_SUFFIX = ".upload";
+
+	/**
+	 * Used to add completed uploads to their {@link Account}.
+	 */
+	private final AbstractAccountService accountService;
+
+	/**
+	 * Used to retrieve messages from messages.properties.
+	 */
+	private final MessageSource messageSource;
+
+	/**
+	 * The unfinished uploads keyed by their id.
+	 */
+	private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+	private final Path stagingDirectory;
+	private final long chunkSize;
+	private final long maxFileSize;
+	private final Duration sessionTimeout;
+	private final int maxSessionsPerAccount;
+	private final long maxStagedSizePerAccount;
+
+	/**
+	 * The size, in bytes, of the buffer chunks are copied to the staging file
+	 * through.
+	 */
+	private final int bufferSize;
+
+	@Autowired
+	public ChunkedUploadService(AbstractAccountService accountService, MessageSource messageSource,
+			ApplicationProperties applicationProperties) {
+		this.accountService = accountService;
+		this.messageSource = messageSource;
+
+		ChunkedUpload chunkedUpload = applicationProperties.getChunkedUpload();
+		this.stagingDirectory = chunkedUpload.getStagingDirectory() != null ? chunkedUpload.getStagingDirectory()
+				: Paths.get(System.getProperty("java.io.tmpdir"), "document-uploader", "uploads");
+		this.chunkSize = chunkedUpload.getChunkSize().toBytes();
+		this.maxFileSize = chunkedUpload.getMaxFileSize().toBytes();
+		this.sessionTimeout = chunkedUpload.getSessionTimeout();
+		this.maxSessionsPerAccount = chunkedUpload.getMaxSessionsPerAccount();
+		this.maxStagedSizePerAccount = chunkedUpload.getMaxStagedSizePerAccount().toBytes();
+		this.bufferSize = applicationProperties.getDocuments().getBufferSize();
+	}
+
+	@Override
+	public UploadSession createSession(long accountId, String fileName, long size) throws IOException {
+		if (size <= 0) {
+			throw new FileException(getMessage("account.choose-file"));
+		}
+		if (size > maxFileSize) {
+			throw new InvalidChunkException(getMessage("upload.too-large"));
+		}
+		if (!DocumentUtil.hasValidFileName(fileName)) {
+			throw new FileException(getMessage("upload.invalid-file-name"));
+		}
+
+		String id = UUID.randomUUID().toString();
+		Path stagingFile = stagingDirectory.resolve(id + STAGING_FILE_SUFFIX);
+		UploadSession session = new UploadSession(id, accountId, fileName, size, chunkSize, stagingFile,
+				Instant.now());
+		addSession(session);
+
+		try {
+			Files.createDirectories(stagingDirectory);
+			Files.createFile(stagingFile);
+		} catch (IOException e) {
+			sessions.remove(id, session);
+			throw e;
+		}
+		return session;
+	}
+
+	/**
+	 * Adds the given {@link UploadSession} if its account stays within the
+	 * number of unfinished uploads and the staged size it is allowed. The full
+	 * size of every file is counted, as its chunks may arrive in any order.
+	 * Synchronized so that concurrent uploads to the same account cannot both
+	 * pass the check.
+	 *
+	 * @throws InvalidChunkException if the account would exceed either limit
+	 */
+	private synchronized void addSession(UploadSession session) {
+		int accountSessions = 0;
+		long stagedSize = session.getSize();
+		for (UploadSession existing : sessions.values()) {
+			if (existing.getAccountId() == session.getAccountId()) {
+				accountSessions++;
+				stagedSize += existing.getSize();
+			}
+		}
+		if (accountSessions >= maxSessionsPerAccount) {
+			throw new InvalidChunkException(getMessage("upload.too-many-sessions"));
+		}
+		if (stagedSize > maxStagedSizePerAccount) {
+			throw new InvalidChunkException(getMessage("upload.staging-quota-exceeded"));
+		}
+		sessions.put(session.getId(), session);
+	}
+
+	@Override
+	public UploadSession getSession(String id, long accountId) {
+		UploadSession session = sessions.get(id);
+		if (session == null || session.getAccountId() != accountId) {
+			throw new UploadSessionNotFoundException(getMessage("upload.session-not-found"));
+		}
+		return session;
+	}
+
+	@Override
+	public UploadSession writeChunk(String id, long accountId, long offset, InputStream content) throws IOException {
+		UploadSession session = getSession(id, accountId);
+		if (offset < 0 || offset >= session.getSize() || offset % session.getChunkSize() != 0) {
+			throw new InvalidChunkException(getMessage("upload.invalid-chunk"));
+		}
+		int index = (int) (offset / session.getChunkSize());
+		long end = offset + session.getChunkLength(index);
+		if (!session.startWritingChunk()) {
+			throw new InvalidChunkException(getMessage("upload.completing"));
+		}
+
+		try (FileChannel channel = FileChannel.open(session.getStagingFile(), StandardOpenOption.WRITE)) {
+			long position = offset;
+			byte[] buffer = new byte[bufferSize];
+			int read;
+			while (position < end && (read = content.read(buffer, 0, (int) Math.min(buffer.length, end - position))) > 0) {
+				ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+				while (byteBuffer.hasRemaining()) {
+					position += channel.write(byteBuffer, position);
+				}
+			}
+			if (position < end || content.read() != -1) {
+				throw new InvalidChunkException(getMessage("upload.invalid-chunk"));
+			}
+			session.markChunkReceived(index, Instant.now());
+		} catch (NoSuchFileException e) {
+			// The session was cancelled or abandoned after it was looked up
+			throw new UploadSessionNotFoundException(getMessage("upload.session-not-found"));
+		} finally {
+			session.finishWritingChunk();
+		}
+		return session;
+	}
+
+	@Override
+	public AccountSummary completeSession(String id, AccountSummary account) {
+		UploadSession session = getSession(id, account.getId());
+		if (!session.isComplete() || !session.startCompleting()) {
+			throw new InvalidChunkException(getMessage("upload.incomplete"));
+		}
+
+		AccountSummary updatedAccount;
+		try {
+			updatedAccount = accountService.addFileToAccount(
+					new StagedMultipartFile(session.getFileName(), session.getStagingFile()), account);
+		} catch (RuntimeException e) {
+			session.cancelCompleting();
+			throw e;
+		}
+		removeSession(session);
+		return updatedAccount;
+	}
+
+	@Override
+	public void cancelSession(String id, long accountId) {
+		removeSession(getSession(id, accountId));
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.chunked-upload.cleanup-interval:PT1M}")
+	public void removeAbandonedSessions() {
+		removeSessionsInactiveSince(Instant.now().minus(sessionTimeout));
+	}
+
+	/**
+	 * Removes every {@link UploadSession} which has not received a chunk since the
+	 * given {@code cutoff}, along with staging files last modified before it which
+	 * do not belong to any {@code UploadSession}.
+	 */
+	void removeSessionsInactiveSince(Instant cutoff) {
+		for (UploadSession session : sessions.values()) {
+			if (!session.isCompleting() && session.getLastActivity().isBefore(cutoff)) {
+				removeSession(session);
+			}
+		}
+
+		if (!Files.isDirectory(stagingDirectory)) {
+			return;
+		}
+		try (DirectoryStream<Path> stagingFiles = Files.newDirectoryStream(stagingDirectory,
+				"*" + STAGING_FILE_SUFFIX)) {
+			for (Path stagingFile : stagingFiles) {
+				String fileName = stagingFile.getFileName().toString();
+				String id = fileName.substring(0, fileName.length() - STAGING_FILE_SUFFIX.length());
+				if (!sessions.containsKey(id) && Files.getLastModifiedTime(stagingFile).toInstant().isBefore(cutoff)) {
+					deleteStagingFile(stagingFile);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Could not list the staging directory " + stagingDirectory, e);
+		}
+	}
+
+	private void removeSession(UploadSession session) {
+		if (sessions.remove(session.getId(), session)) {
+			deleteStagingFile(session.getStagingFile());
+		}
+	}
+
+	private void deleteStagingFile(Path stagingFile) {
+		try {
+			Files.deleteIfExists(stagingFile);
+		} catch (IOException e) {
+			LOGGER.warn("Could not delete the staging file " + stagingFile, e);
+		}
+	}
+
+	private String getMessage(String key) {
+		return messageSource.getMessage(key, null, Locale.getDefault());
+	}
+
+}
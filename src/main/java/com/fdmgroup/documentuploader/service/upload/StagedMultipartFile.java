@@ -0,0 +1,86 @@
+package com.fdmgroup.documentuploader.service.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+
+/**
+ * Presents the staging file of a completed {@link UploadSession} as a
+ * {@link MultipartFile}, so that it is added to an account exactly like a file
+ * uploaded in a single request.
+ *
+ * @author Noah Anderson
+ */
+class StagedMultipartFile implements MultipartFile {
+
+	private static final String NAME = "file";
+
+	private final String originalFilename;
+	private final Path path;
+
+	StagedMultipartFile(String originalFilename, Path path) {
+		this.originalFilename = originalFilename;
+		this.path = path;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public String getOriginalFilename() {
+		return originalFilename;
+	}
+
+	@Override
+	public String getContentType() {
+		return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return getSize() == 0;
+	}
+
+	@Override
+	public long getSize() {
+		return path.toFile().length();
+	}
+
+	@Override
+	public byte[] getBytes() throws IOException {
+		return Files.readAllBytes(path);
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return Files.newInputStream(path);
+	}
+
+	@Override
+	public Resource getResource() {
+		return new FileSystemResource(path);
+	}
+
+	@Override
+	public void transferTo(File dest) throws IOException {
+		transferTo(dest.toPath());
+	}
+
+	@Override
+	public void transferTo(Path dest) throws IOException {
+		Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 import com.fdmgroup.documentuploader.exception.PasswordsDoNotMatchException;
 import com.fdmgroup.documentuploader.model.user.User;
 
+import reactor.core.publisher.Mono;
+
 /**
  * <p>
  * Interface that defines behaviors to be implemented that pertain to the
@@ -19,14 +21,15 @@ public interface AbstractUserService {
 
 	/**
 	 * Updates the password of the given {@link User} object to the value of
-	 * {@code newPassword}.
+	 * {@code newPassword}, returning once the data source has stored it. The
+	 * given {@code User} itself is not modified.
 	 * 
 	 * @param user                    the {@code User} object to update
 	 * @param currentPassword         the entered value for the current password of
 	 *                                the given {@code User}
 	 * @param newPassword             the new password for the given {@code User}
 	 * @param newPasswordConfirmation the confirmation of the new password
-	 * @return the updated {@code User} instance
+	 * @return a copy of the given {@code User} with the new password
 	 * @throws PasswordsDoNotMatchException when {@code newPassword} and
 	 *                                      {@code newPasswordConfirmation} are not
 	 *                                      equal or {@code currentPassword} does
@@ -46,6 +49,15 @@ public interface AbstractUserService {
 	 */
 	Optional<User> findById(long id);
 
+	/**
+	 * Non-blocking variant of {@link #findById(long)}.
+	 * 
+	 * @param id the {@code id} of a {@code User}
+	 * @return {@link Mono} emitting the found {@code User}, or completing empty
+	 *         when no {@code User} has the given {@code id}
+	 */
+	Mono<User> findByIdAsync(long id);
+
 	/**
 	 * Retrieves an {@link Optional} encapsulating a {@link User} instance.
 	 * 
@@ -57,6 +69,15 @@ public interface AbstractUserService {
 	 */
 	Optional<User> findByEmail(String email);
 
+	/**
+	 * Non-blocking variant of {@link #findByEmail(String)}.
+	 * 
+	 * @param email the {@code email} of a {@code User}
+	 * @return {@link Mono} emitting the found {@code User}, or completing empty
+	 *         when no {@code User} has the given {@code email}
+	 */
+	Mono<User> findByEmailAsync(String email);
+
 	/**
 	 * Checks if a {@link User} with the given {@code email} has activated their
 	 * account .
@@ -67,6 +88,15 @@ public interface AbstractUserService {
 	 */
 	boolean hasActivatedAccount(String email);
 
+	/**
+	 * Non-blocking variant of {@link #hasActivatedAccount(String)}.
+	 * 
+	 * @param email the {@code email} of a {@code User}
+	 * @return {@link Mono} emitting whether the {@code User} has activated their
+	 *         account
+	 */
+	Mono<Boolean> hasActivatedAccountAsync(String email);
+
 	/**
 	 * Handles the logic behind the process of initiating a request to reset the
 	 * password of a {@link User} with an {@code email} equaling the {@code email}
@@ -12,8 +12,11 @@ import org.springframework.stereotype.Service;
 import com.fdmgroup.documentuploader.exception.PasswordsDoNotMatchException;
 import com.fdmgroup.documentuploader.model.document.Document;
 import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 import com.fdmgroup.documentuploader.service.api.user.AbstractUserApiService;
 
+import reactor.core.publisher.Mono;
+
 /**
  * <p>
  * Service class which contains methods that submit HTTP Requests to and HTTP
@@ -26,6 +29,8 @@ import com.fdmgroup.documentuploader.service.api.user.AbstractUserApiService;
 @Service
 public class UserService implements AbstractUserService {
 
+	private static final String USER_KEY = "user:";
+
 	/**
 	 * Used to perform API calls to save, update, read, or remove {@link Document}
 	 * objects.
@@ -42,13 +47,19 @@ public class UserService implements AbstractUserService {
 	 */
 	private final PasswordEncoder passwordEncoder;
 
+	/**
+	 * Used to send user updates in order after the request has been answered.
+	 */
+	private final WriteBehindQueue writeBehindQueue;
+
 	@Autowired
 	public UserService(AbstractUserApiService userApiService, MessageSource messageSource,
-					   PasswordEncoder passwordEncoder) {
+					   PasswordEncoder passwordEncoder, WriteBehindQueue writeBehindQueue) {
 		super();
 		this.userApiService = userApiService;
 		this.messageSource = messageSource;
 		this.passwordEncoder = passwordEncoder;
+		this.writeBehindQueue = writeBehindQueue;
 	}
 
 	@Override
@@ -64,11 +75,12 @@ public class UserService implements AbstractUserService {
 					messageSource.getMessage("user.incorrect-password", null, Locale.getDefault()));
 		}
 
-		String newPasswordEncoded = passwordEncoder.encode(newPassword);
-		user.setPassword(newPasswordEncoded);
-		userApiService.update(user).subscribe();
+		User updatedUser = new User(user);
+		updatedUser.setPassword(passwordEncoder.encode(newPassword));
+		writeBehindQueue.submitUpdate(USER_KEY + updatedUser.getId(), () -> userApiService.update(updatedUser))
+				.block();
 
-		return user;
+		return updatedUser;
 	}
 
 	/**
@@ -89,16 +101,31 @@ public class UserService implements AbstractUserService {
 		return userApiService.findById(id);
 	}
 
+	@Override
+	public Mono<User> findByIdAsync(long id) {
+		return userApiService.findByIdAsync(id);
+	}
+
 	@Override
 	public Optional<User> findByEmail(String email) {
 		return userApiService.findByEmail(email);
 	}
 
+	@Override
+	public Mono<User> findByEmailAsync(String email) {
+		return userApiService.findByEmailAsync(email);
+	}
+
 	@Override
 	public boolean hasActivatedAccount(String email) {
 		return userApiService.isEnabled(email);
 	}
 
+	@Override
+	public Mono<Boolean> hasActivatedAccountAsync(String email) {
+		return userApiService.isEnabledAsync(email);
+	}
+
 	@Override
 	public void processResetPasswordRequest(String email) {
 		userApiService.resetPassword(email);
@@ -0,0 +1,96 @@
+package com.fdmgroup.documentuploader.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link InputStream} over a {@link Flux} of {@link DataBuffer} chunks which
+ * requests one chunk at a time as it is read and releases each chunk once it
+ * has been read. Closing the stream before the end cancels the rest of the
+ * {@code Flux}.
+ * 
+ * @author Noah Anderson
+ */
+public class DataBufferInputStream extends InputStream {
+
+	private final Stream<DataBuffer> buffers;
+	private final Iterator<DataBuffer> iterator;
+	private DataBuffer current;
+	private boolean closed;
+
+	/**
+	 * @param content the chunks to read, which are only subscribed to when the
+	 *                stream is first read
+	 */
+	public DataBufferInputStream(Flux<DataBuffer> content) {
+		this.buffers = content.toStream(1);
+		this.iterator = buffers.iterator();
+	}
+
+	@Override
+	public int read() throws IOException {
+		DataBuffer buffer = nextReadableBuffer();
+		return buffer == null ? -1 : buffer.read() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		DataBuffer buffer = nextReadableBuffer();
+		if (buffer == null) {
+			return -1;
+		}
+		int count = Math.min(length, buffer.readableByteCount());
+		buffer.read(bytes, offset, count);
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return current == null ? 0 : current.readableByteCount();
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			releaseCurrent();
+			buffers.close();
+		}
+	}
+
+	private DataBuffer nextReadableBuffer() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		while (current == null || current.readableByteCount() == 0) {
+			releaseCurrent();
+			try {
+				if (!iterator.hasNext()) {
+					return null;
+				}
+				current = iterator.next();
+			} catch (RuntimeException e) {
+				throw new IOException(e);
+			}
+		}
+		return current;
+	}
+
+	private void releaseCurrent() {
+		if (current != null) {
+			DataBufferUtils.release(current);
+			current = null;
+		}
+	}
+
+}
@@ -1,9 +1,15 @@
 package com.fdmgroup.documentuploader.util;
 
 import java.io.IOException;
+import java.text.Normalizer;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import javax.validation.constraints.NotNull;
 
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fdmgroup.documentuploader.model.document.Document;
@@ -17,7 +23,9 @@ import com.fdmgroup.documentuploader.model.document.Document;
  */
 public class DocumentUtil {
 
-	private static final String DOT_SEPARATOR_REGEX = "\\.";
+	private static final char EXTENSION_SEPARATOR = '.';
+	private static final String HASH_ALGORITHM = "SHA-256";
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
 	private DocumentUtil() { }
 
@@ -30,15 +38,107 @@ public class DocumentUtil {
 	 * @throws IOException if temporary storage of the {@code file} given fails
 	 */
 	public static Document createDocument(@NotNull MultipartFile file) throws IOException {
+		Document document = createDocumentMetadata(file);
+		if (file.getOriginalFilename() != null) {
+			document.setContent(file.getBytes());
+		}
+		return document;
+	}
+
+	/**
+	 * Given a {@link MultipartFile}, creates a {@link Document} with the name and
+	 * extension of the {@code MultipartFile} but without its contents. Used when
+	 * the contents of the {@code file} are streamed separately.
+	 * 
+	 * @param file the {@code MultipartFile} used to create a {@code Document}
+	 * @return created {@code Document} object without any content
+	 */
+	public static Document createDocumentMetadata(@NotNull MultipartFile file) {
 		Document document = new Document();
 		String originalFileName = file.getOriginalFilename();
-		if (originalFileName != null) {
-			String[] documentInfo = originalFileName.split(DOT_SEPARATOR_REGEX);
-			document.setName(documentInfo[0]);
-			document.setExtension(documentInfo[1]);
-			document.setContent(file.getBytes());
+		if (hasValidFileName(originalFileName)) {
+			int separator = originalFileName.lastIndexOf(EXTENSION_SEPARATOR);
+			document.setName(originalFileName.substring(0, separator));
+			document.setExtension(originalFileName.substring(separator + 1));
 		}
 		return document;
 	}
 
+	/**
+	 * Checks that the given file name has both a name and an extension, separated
+	 * by their last dot, which a {@link Document} can be created from. Names such
+	 * as {@code "report."} or {@code ".report"} are rejected.
+	 * 
+	 * @param fileName the original name of an uploaded file
+	 * @return {@code true} if a non-empty name and extension can be taken from
+	 *         {@code fileName}, {@code false} otherwise
+	 */
+	public static boolean hasValidFileName(String fileName) {
+		if (fileName == null) {
+			return false;
+		}
+		int separator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+		return separator > 0 && separator < fileName.length() - 1;
+	}
+
+	/**
+	 * Calculates the SHA-256 hash of the contents of the given
+	 * {@link MultipartFile}. The contents are read as a stream, so the whole
+	 * {@code file} is never held in memory.
+	 * 
+	 * @param file the {@code MultipartFile} to calculate the hash of
+	 * @return the lower case, hex encoded hash of the contents of {@code file}
+	 * @throws IOException if the contents of the {@code file} cannot be read
+	 */
+	public static String calculateHash(@NotNull MultipartFile file) throws IOException {
+		MessageDigest messageDigest = createMessageDigest();
+		try (InputStream inputStream = new DigestInputStream(file.getInputStream(), messageDigest)) {
+			StreamUtils.drain(inputStream);
+		}
+		return toHex(messageDigest.digest());
+	}
+
+	/**
+	 * Calculates the SHA-256 hash of the given document contents, in the same
+	 * form as {@link #calculateHash(MultipartFile)}.
+	 * 
+	 * @param content the contents to calculate the hash of
+	 * @return the lower case, hex encoded hash of {@code content}
+	 */
+	public static String calculateHash(@NotNull byte[] content) {
+		return toHex(createMessageDigest().digest(content));
+	}
+
+	/**
+	 * Normalises a document name to Unicode NFC, so the same name is recognised
+	 * whether its accented characters were sent composed or decomposed. Case and
+	 * whitespace are kept, as the data source looks documents up by their exact
+	 * name and a document only found through a looser match could not be
+	 * downloaded or removed.
+	 * 
+	 * @param documentName the name of a document, without its extension
+	 * @return the normalised name, or {@code null} if {@code documentName} is
+	 *         {@code null}
+	 */
+	public static String normaliseName(String documentName) {
+		return documentName == null ? null : Normalizer.normalize(documentName, Normalizer.Form.NFC);
+	}
+
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
 }
@@ -0,0 +1,151 @@
+const PARALLEL_CHUNKS = 4;
+const MAX_CHUNK_ATTEMPTS = 3;
+const UPLOAD_STORAGE_PREFIX = 'chunked-upload:';
+
+function csrfHeaders() {
+    const headers = {};
+    const token = $('meta[name="_csrf"]').attr('content');
+    const headerName = $('meta[name="_csrf_header"]').attr('content');
+    if (token && headerName) {
+        headers[headerName] = token;
+    }
+    return headers;
+}
+
+async function checkResponse(response) {
+    if (!response.ok) {
+        const message = await response.text();
+        const error = new Error(message || 'Upload failed with status ' + response.status);
+        error.status = response.status;
+        throw error;
+    }
+    return response;
+}
+
+function storageKey(file) {
+    return UPLOAD_STORAGE_PREFIX + file.name + ':' + file.size + ':' + file.lastModified;
+}
+
+async function findOrCreateUpload(uploadsUrl, file) {
+    const uploadId = localStorage.getItem(storageKey(file));
+    if (uploadId) {
+        const response = await fetch(uploadsUrl + '/' + uploadId, { credentials: 'same-origin' });
+        if (response.ok) {
+            return response.json();
+        }
+        localStorage.removeItem(storageKey(file));
+    }
+    const params = new URLSearchParams({ fileName: file.name, size: file.size });
+    const response = await fetch(uploadsUrl + '?' + params, {
+        method: 'POST',
+        credentials: 'same-origin',
+        headers: csrfHeaders()
+    }).then(checkResponse);
+    const upload = await response.json();
+    localStorage.setItem(storageKey(file), upload.id);
+    return upload;
+}
+
+async function sendChunk(uploadsUrl, upload, file, index) {
+    const offset = index * upload.chunkSize;
+    const chunk = file.slice(offset, Math.min(offset + upload.chunkSize, file.size));
+    const headers = csrfHeaders();
+    headers['Content-Type'] = 'application/octet-stream';
+    for (let attempt = 1; ; attempt++) {
+        try {
+            const response = await fetch(uploadsUrl + '/' + upload.id + '?offset=' + offset, {
+                method: 'PUT',
+                credentials: 'same-origin',
+                headers: headers,
+                body: chunk
+            }).then(checkResponse);
+            return response.json();
+        } catch (error) {
+            if (attempt >= MAX_CHUNK_ATTEMPTS || (error.status && error.status < 500)) {
+                throw error;
+            }
+        }
+    }
+}
+
+async function uploadInChunks(uploadsUrl, file, onProgress) {
+    const upload = await findOrCreateUpload(uploadsUrl, file);
+    const missingChunks = upload.missingChunks.slice();
+    let receivedBytes = upload.receivedBytes;
+    onProgress(receivedBytes, file.size);
+
+    const workers = [];
+    for (let i = 0; i < PARALLEL_CHUNKS; i++) {
+        workers.push((async () => {
+            while (missingChunks.length > 0) {
+                const index = missingChunks.shift();
+                await sendChunk(uploadsUrl, upload, file, index);
+                receivedBytes += Math.min(upload.chunkSize, file.size - index * upload.chunkSize);
+                onProgress(receivedBytes, file.size);
+            }
+        })());
+    }
+    await Promise.all(workers);
+
+    const response = await fetch(uploadsUrl + '/' + upload.id + '/complete', {
+        method: 'POST',
+        credentials: 'same-origin',
+        headers: csrfHeaders()
+    }).then(checkResponse);
+    localStorage.removeItem(storageKey(file));
+    return response.headers.get('Location');
+}
+
+async function uploadBatch(batchUploadUrl, files) {
+    const formData = new FormData();
+    Array.from(files).forEach((file) => formData.append('files', file));
+    const response = await fetch(batchUploadUrl, {
+        method: 'POST',
+        credentials: 'same-origin',
+        headers: csrfHeaders(),
+        body: formData
+    }).then(checkResponse);
+    return response.json();
+}
+
+$(() => {
+    const form = $('#upload-form');
+    const progress = $('#upload-progress');
+    const progressBar = progress.find('.progress-bar');
+    const message = $('#upload-message');
+
+    form.on('submit', (e) => {
+        const files = form.find('input[type="file"]')[0].files;
+        const file = files[0];
+        if (!file || !window.fetch) {
+            return;
+        }
+        e.preventDefault();
+        message.text('');
+
+        if (files.length > 1) {
+            uploadBatch(form.data('batch-upload-url'), files).then((results) => {
+                const failures = results.filter((result) => !result.uploaded);
+                if (failures.length === 0) {
+                    window.location.reload();
+                    return;
+                }
+                message.text(failures.map((result) => result.fileName + ': ' + result.message).join(' '));
+            }).catch((error) => {
+                message.text(error.message);
+            });
+            return;
+        }
+
+        progress.removeClass('d-none');
+
+        uploadInChunks(form.data('uploads-url'), file, (receivedBytes, size) => {
+            const percent = Math.floor(receivedBytes * 100 / size);
+            progressBar.css('width', percent + '%').text(percent + '%');
+        }).then((location) => {
+            window.location = location;
+        }).catch((error) => {
+            message.text(error.message + ' Submit the file again to resume the upload.');
+        });
+    });
+});
@@ -2,6 +2,7 @@ package com.fdmgroup.documentuploader.account;
 
 import com.fdmgroup.documentuploader.model.account.Account;
 import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
 import com.fdmgroup.documentuploader.model.user.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -73,6 +75,19 @@ class AccountCostCalculatorTest {
 		assertEquals(new BigDecimal("6"), calculator.calculateRate(mockAccount));
 	}
 	
+	@Test
+	void returnSixWhenLevelOfTheSummaryIsUnlimitedAndNumberOfUsersIsBetweenTenAndEleven() {
+		Set<User> users = new HashSet<>();
+		for(int i=0; i < 11; i++) {
+			User user = ctx.getBean("user", User.class);
+			user.setEmail("email"+i+"@email.com");
+			users.add(user);
+		}
+		AccountSummary summary = new AccountSummary(1L, "account", new User(), ServiceLevel.UNLIMITED, users,
+				Collections.emptySet());
+		assertEquals(new BigDecimal("6"), calculator.calculateRate(summary));
+	}
+	
 	@Test
 	void returnFifteenWhenLevelIsEnterpriseAndUsersIsLessThanTwoHundred() {
 		when(mockAccount.getServiceLevel()).thenReturn(ServiceLevel.ENTERPRISE);
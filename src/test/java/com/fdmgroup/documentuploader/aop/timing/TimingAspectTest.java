@@ -0,0 +1,112 @@
+package com.fdmgroup.documentuploader.aop.timing;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Timing;
+import com.fdmgroup.documentuploader.enums.ExecutorMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TimingAspectTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private TimingAspect timingAspect;
+	private TimedService timedService;
+
+	@BeforeEach
+	void setup() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setTiming(new Timing(true, 1.0, Duration.ofSeconds(10)))
+				.build();
+		this.timingAspect = new TimingAspect(applicationProperties, meterRegistry);
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedService());
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAspect(timingAspect);
+		this.timedService = proxyFactory.getProxy();
+	}
+
+	@Test
+	void testTimeMethod_recordsSampledCallsPerMethod_untilReturnedMonosComplete() {
+		timedService.find("password");
+		MonoProcessor<String> response = MonoProcessor.create();
+		Mono<String> found = timedService.findAsync(response);
+
+		assertEquals(1, meterRegistry.get("method.calls").tags("class", "TimedService", "method", "find").timer()
+				.count());
+		assertNull(meterRegistry.find("method.calls").tag("method", "findAsync").timer());
+
+		MonoProcessor<String> result = found.toProcessor();
+		response.onNext("found");
+
+		assertEquals("found", result.block());
+		assertEquals(1, meterRegistry.get("method.calls").tag("method", "findAsync").timer().count());
+	}
+
+	@Test
+	void testTimeMethod_recordsCallsReturningAFlux_onlyOnceItCompletes() {
+		DirectProcessor<String> response = DirectProcessor.create();
+		Flux<String> found = timedService.findAll(response);
+		List<String> results = new ArrayList<>();
+		found.subscribe(results::add);
+
+		response.onNext("found");
+
+		assertNull(meterRegistry.find("method.calls").tag("method", "findAll").timer());
+
+		response.onComplete();
+
+		assertEquals(Collections.singletonList("found"), results);
+		assertEquals(1, meterRegistry.get("method.calls").tag("method", "findAll").timer().count());
+	}
+
+	@Test
+	void testTimeMethod_recordsNothing_onceSwitchedOff() {
+		timingAspect.setEnabled(false);
+
+		timedService.find("password");
+
+		assertNull(meterRegistry.find("method.calls").timer());
+	}
+
+	@Test
+	void testSummarise_describesParametersWithoutTheirContents() {
+		String summary = TimingAspect.summarise(new Object[] { "password", new byte[1024],
+				Arrays.asList("a", "b"), Collections.emptyMap(), null, 5L, ExecutorMode.VIRTUAL });
+
+		assertEquals("String(length=8), byte[1024], ArrayList(size=2), EmptyMap(size=0), null, 5, VIRTUAL", summary);
+	}
+
+	@Service
+	static class TimedService {
+
+		public String find(String query) {
+			return query;
+		}
+
+		public Mono<String> findAsync(Mono<String> response) {
+			return response;
+		}
+
+		public Flux<String> findAll(Flux<String> response) {
+			return response;
+		}
+	}
+
+}
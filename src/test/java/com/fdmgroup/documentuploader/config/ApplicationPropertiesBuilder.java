@@ -0,0 +1,90 @@
+package com.fdmgroup.documentuploader.config;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties.ChunkedUpload;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.DataService;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Documents;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestHandling;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Resilience;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Session;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Timing;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.UserCache;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.WriteBehind;
+
+/**
+ * Builds the {@link ApplicationProperties} a test needs, leaving every group
+ * of settings it does not set {@code null}. Tests only name the settings the
+ * class under test reads, so adding a group of settings only changes this
+ * builder.
+ *
+ * @author Noah Anderson
+ */
+public class ApplicationPropertiesBuilder {
+
+	private RequestUris requestUris;
+	private Documents documents;
+	private Session session;
+	private DataService dataService;
+	private UserCache userCache;
+	private ChunkedUpload chunkedUpload;
+	private RequestHandling requestHandling;
+	private WriteBehind writeBehind;
+	private Resilience resilience;
+	private Timing timing;
+
+	public ApplicationPropertiesBuilder setRequestUris(RequestUris requestUris) {
+		this.requestUris = requestUris;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setDocuments(Documents documents) {
+		this.documents = documents;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setSession(Session session) {
+		this.session = session;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setDataService(DataService dataService) {
+		this.dataService = dataService;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setUserCache(UserCache userCache) {
+		this.userCache = userCache;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setChunkedUpload(ChunkedUpload chunkedUpload) {
+		this.chunkedUpload = chunkedUpload;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setRequestHandling(RequestHandling requestHandling) {
+		this.requestHandling = requestHandling;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setWriteBehind(WriteBehind writeBehind) {
+		this.writeBehind = writeBehind;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setResilience(Resilience resilience) {
+		this.resilience = resilience;
+		return this;
+	}
+
+	public ApplicationPropertiesBuilder setTiming(Timing timing) {
+		this.timing = timing;
+		return this;
+	}
+
+	public ApplicationProperties build() {
+		return new ApplicationProperties(requestUris, documents, session, dataService, userCache, chunkedUpload,
+				requestHandling, writeBehind, resilience, timing);
+	}
+
+}
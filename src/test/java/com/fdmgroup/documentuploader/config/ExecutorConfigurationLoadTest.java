@@ -0,0 +1,126 @@
+package com.fdmgroup.documentuploader.config;
+
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.RequestCoalescer;
+import com.fdmgroup.documentuploader.service.api.user.UserApiService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares how many blocking data service calls complete concurrently on a
+ * bounded pool of platform threads and on virtual threads, against a local
+ * stand-in which answers every request after a fixed delay. Run with
+ * {@code mvn test -P load-test}.
+ */
+@Tag("load")
+class ExecutorConfigurationLoadTest {
+
+	private static final int CALLS = 400;
+	private static final int PLATFORM_THREADS = 50;
+	private static final long LATENCY_MILLIS = 100;
+
+	private HttpServer slowDataService;
+	private ExecutorService slowDataServiceExecutor;
+	private ConnectionProvider connectionProvider;
+	private UserApiService userApiService;
+
+	@BeforeEach
+	void setup() throws IOException {
+		this.slowDataServiceExecutor = Executors.newCachedThreadPool();
+		this.slowDataService = HttpServer.create(new InetSocketAddress("localhost", 0), CALLS);
+		slowDataService.createContext("/users", exchange -> {
+			try {
+				Thread.sleep(LATENCY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			String id = exchange.getRequestURI().getQuery().replace("id=", "");
+			byte[] body = ("{\"id\":" + id + ",\"email\":\"user" + id + "@email.com\"}")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				responseBody.write(body);
+			}
+		});
+		slowDataService.setExecutor(slowDataServiceExecutor);
+		slowDataService.start();
+
+		this.connectionProvider = ConnectionProvider.builder("load-test")
+				.maxConnections(CALLS)
+				.build();
+		WebClient webClient = WebClient.builder()
+				.baseUrl("http://localhost:" + slowDataService.getAddress().getPort())
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+				.build();
+		this.userApiService = new UserApiService(webClient, new RequestCoalescer(new SimpleMeterRegistry()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		connectionProvider.dispose();
+		slowDataService.stop(0);
+		slowDataServiceExecutor.shutdownNow();
+	}
+
+	@Test
+	void testVirtualThreads_completeMoreConcurrentBlockingCalls_thanABoundedPlatformPool() throws Exception {
+		Optional<ExecutorService> virtualThreadExecutor = ExecutorConfiguration.newVirtualThreadExecutor();
+		assumeTrue(virtualThreadExecutor.isPresent(), "Virtual threads are not supported by this JDK");
+
+		long platformMillis = callDataService(Executors.newFixedThreadPool(PLATFORM_THREADS));
+		long virtualMillis = callDataService(virtualThreadExecutor.get());
+
+		assertTrue(virtualMillis < platformMillis, () -> String.format("%d blocking calls with %d ms latency took "
+				+ "%d ms on virtual threads, but only %d ms on a platform pool of %d threads", CALLS, LATENCY_MILLIS,
+				virtualMillis, platformMillis, PLATFORM_THREADS));
+	}
+
+	/**
+	 * Makes {@link #CALLS} blocking calls to the stand-in on the given executor
+	 * and returns how long they took to complete, in milliseconds.
+	 */
+	private long callDataService(ExecutorService executor) throws Exception {
+		long start = System.nanoTime();
+		try {
+			List<Future<Optional<User>>> calls = new ArrayList<>();
+			for (long id = 1; id <= CALLS; id++) {
+				long userId = id;
+				calls.add(executor.submit(() -> userApiService.findById(userId)));
+			}
+			for (int i = 0; i < calls.size(); i++) {
+				assertEquals(i + 1, calls.get(i).get(30, TimeUnit.SECONDS).get().getId());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+}
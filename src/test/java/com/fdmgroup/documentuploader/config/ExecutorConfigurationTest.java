@@ -0,0 +1,119 @@
+package com.fdmgroup.documentuploader.config;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestHandling;
+import com.fdmgroup.documentuploader.enums.ExecutorMode;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the wiring of {@link ExecutorConfiguration} on any JDK, by standing a
+ * named thread pool in for the virtual thread executor.
+ */
+class ExecutorConfigurationTest {
+
+	private static final String VIRTUAL_THREAD_NAME = "virtual";
+
+	private ExecutorService standInExecutor;
+	private Scheduler scheduler;
+
+	@BeforeEach
+	void setup() {
+		this.standInExecutor = Executors.newCachedThreadPool(runnable -> new Thread(runnable, VIRTUAL_THREAD_NAME));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (scheduler != null) {
+			scheduler.dispose();
+		}
+		standInExecutor.shutdownNow();
+	}
+
+	@Test
+	void testVirtualMode_runsRequestsAndBlockingCalls_onTheVirtualThreadExecutor() {
+		ExecutorConfiguration configuration = createConfiguration(ExecutorMode.VIRTUAL,
+				Optional.of(standInExecutor));
+		this.scheduler = configuration.blockingCallScheduler();
+
+		assertSame(standInExecutor, customizeProtocolHandler(configuration).getExecutor());
+		assertEquals(VIRTUAL_THREAD_NAME, runOn(scheduler));
+	}
+
+	@Test
+	void testVirtualMode_usesPlatformThreads_whenVirtualThreadsAreNotSupported() {
+		ExecutorConfiguration configuration = createConfiguration(ExecutorMode.VIRTUAL, Optional.empty());
+		this.scheduler = configuration.blockingCallScheduler();
+
+		assertNull(customizeProtocolHandler(configuration).getExecutor());
+		assertTrue(runOn(scheduler).startsWith("data-service-calls"));
+	}
+
+	@Test
+	void testPlatformMode_doesNotCreateTheVirtualThreadExecutor() {
+		ExecutorConfiguration configuration = new ExecutorConfiguration(new ApplicationPropertiesBuilder()
+				.setRequestHandling(new RequestHandling(false, ExecutorMode.PLATFORM)).build(), () -> {
+					throw new AssertionError("The virtual thread executor was created in platform mode");
+				});
+		this.scheduler = configuration.blockingCallScheduler();
+
+		assertTrue(runOn(scheduler).startsWith("data-service-calls"));
+	}
+
+	@Test
+	void testDisposingTheScheduler_doesNotShutDownTheExecutor_untilTheConfigurationIsDestroyed() {
+		ExecutorConfiguration configuration = createConfiguration(ExecutorMode.VIRTUAL,
+				Optional.of(standInExecutor));
+
+		configuration.blockingCallScheduler().dispose();
+		assertFalse(standInExecutor.isShutdown());
+
+		configuration.destroy();
+		assertTrue(standInExecutor.isShutdown());
+	}
+
+	private ExecutorConfiguration createConfiguration(ExecutorMode mode, Optional<ExecutorService> executor) {
+		return new ExecutorConfiguration(new ApplicationPropertiesBuilder()
+				.setRequestHandling(new RequestHandling(false, mode)).build(), () -> executor);
+	}
+
+	/**
+	 * Applies the Tomcat customizer of the given configuration to a protocol
+	 * handler, which is returned.
+	 */
+	@SuppressWarnings("unchecked")
+	private Http11NioProtocol customizeProtocolHandler(ExecutorConfiguration configuration) {
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+		configuration.tomcatExecutorCustomizer().customize(factory);
+		Http11NioProtocol protocolHandler = new Http11NioProtocol();
+		for (TomcatProtocolHandlerCustomizer<?> customizer : factory.getTomcatProtocolHandlerCustomizers()) {
+			((TomcatProtocolHandlerCustomizer<Http11NioProtocol>) customizer).customize(protocolHandler);
+		}
+		return protocolHandler;
+	}
+
+	/**
+	 * Returns the name of the thread the given {@link Scheduler} runs a task on.
+	 */
+	private String runOn(Scheduler scheduler) {
+		return Mono.fromCallable(() -> Thread.currentThread().getName())
+				.subscribeOn(scheduler)
+				.block();
+	}
+
+}
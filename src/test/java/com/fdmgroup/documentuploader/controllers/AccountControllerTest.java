@@ -4,11 +4,14 @@ import com.fdmgroup.documentuploader.config.ApplicationProperties;
 import com.fdmgroup.documentuploader.config.ApplicationProperties.RequestUris;
 import com.fdmgroup.documentuploader.enums.AttributeName;
 import com.fdmgroup.documentuploader.exception.FileException;
-import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.upload.FileUploadResult;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.account.AccountService;
 import com.fdmgroup.documentuploader.service.document.DocumentService;
+import com.fdmgroup.documentuploader.service.session.SessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -21,23 +24,38 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import javax.servlet.http.HttpSession;
+
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
@@ -51,6 +69,8 @@ class AccountControllerTest {
 	private static final String FILE = "file";
 	private static final String TEST_FILE_PATH = "text.docx";
 	private static final String FILE_ALREADY_UPLOADED = "File already uploaded!";
+	private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015";
+	private static final String E_TAG = "\"" + HASH + "\"";
 
 	@Autowired
 	private ApplicationProperties applicationProperties;
@@ -58,6 +78,8 @@ class AccountControllerTest {
 	
 	@Value("${app.request-uris.account}")
 	private String accountUri;
+	@Value("${app.request-uris.batch-upload}")
+	private String batchUploadUri;
 	@Value("${app.request-uris.delete-document}")
 	private String deleteDocumentUri;
 	@Value("${app.request-uris.download-document}")
@@ -67,7 +89,7 @@ class AccountControllerTest {
 	private User mockUser;
 	
 	@Mock
-	private Account mockAccount;
+	private AccountSummary mockAccount;
 	
 	@MockBean(name="document")
 	private Document mockDocument;
@@ -77,6 +99,9 @@ class AccountControllerTest {
 	
 	@MockBean
 	private DocumentService mockDocumentService;
+	
+	@MockBean
+	private SessionService mockSessionService;
 
 	@Autowired
 	private MockMvc mockMvc;
@@ -90,6 +115,8 @@ class AccountControllerTest {
 	void setUp() throws Exception {
 		MockitoAnnotations.initMocks(this);
 		this.requestUris = applicationProperties.getRequestUris();
+		when(mockSessionService.getCurrentUser(any(HttpSession.class))).thenReturn(mockUser);
+		when(mockSessionService.getCurrentAccount(any(HttpSession.class))).thenReturn(mockAccount);
 	}
 	
 	@Test
@@ -99,9 +126,7 @@ class AccountControllerTest {
 		when(mockAccountService.addFileToAccount(file, mockAccount)).thenThrow(new FileException(FILE_ALREADY_UPLOADED));
 		
 		MvcResult result = mockMvc.perform(multipart(accountUri)
-							.file(file)
-							.sessionAttr(AttributeName.USER.getValue(), mockUser)
-							.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+							.file(file))
 							.andExpect(matchAll(
 									status().is3xxRedirection(),
 									redirectedUrl(requestUris.getLogin())))
@@ -118,13 +143,34 @@ class AccountControllerTest {
 		when(mockAccount.getName()).thenReturn("accountName");
 
 		MvcResult result = mockMvc.perform(multipart(accountUri)
-							.file(file)
-							.sessionAttr(AttributeName.USER.getValue(), mockUser)
-							.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+							.file(file))
 							.andExpect(matchAll(
 									status().is3xxRedirection(),
 									redirectedUrl(requestUris.getAccount() + "/accountName")))
 							.andReturn();
+		
+		verify(mockSessionService).refreshAccount(mockAccount);
+	}
+	
+	@Test
+	@WithMockUser(roles = "USER")
+	void testUploadFiles_returnsResultOfEachFile_andEvictsTheAccountOnce() throws Exception {
+		MockMultipartFile first = new MockMultipartFile("files", TEST_FILE_PATH, TEST, TEST.getBytes());
+		MockMultipartFile second = new MockMultipartFile("files", "other.docx", TEST, TEST.getBytes());
+		when(mockAccountService.addFilesToAccount(anyList(), eq(mockAccount))).thenReturn(Arrays.asList(
+				FileUploadResult.uploaded(TEST_FILE_PATH), FileUploadResult.failed("other.docx", FILE_ALREADY_UPLOADED)));
+
+		mockMvc.perform(multipart(accountUri + batchUploadUri)
+							.file(first)
+							.file(second))
+							.andExpect(matchAll(
+									status().isOk(),
+									jsonPath("$[0].fileName").value(TEST_FILE_PATH),
+									jsonPath("$[0].uploaded").value(true),
+									jsonPath("$[1].uploaded").value(false),
+									jsonPath("$[1].message").value(FILE_ALREADY_UPLOADED)));
+
+		verify(mockSessionService).evictAccount(mockAccount.getId());
 	}
 	
 	@Test
@@ -135,9 +181,7 @@ class AccountControllerTest {
 
 		file = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
 		
-		mockMvc.perform(get(accountUri + SLASH + deleteDocumentUri + SLASH + file.getName())
-							.sessionAttr(AttributeName.USER.getValue(), mockUser)
-							.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(accountUri + SLASH + deleteDocumentUri + SLASH + file.getName()))
 							.andExpect(matchAll(
 									status().is3xxRedirection(),
 									redirectedUrl(requestUris.getAccount() + "/accountName")));
@@ -147,18 +191,94 @@ class AccountControllerTest {
 	@WithMockUser(roles = "USER")
 	void testDownloadDocument_returnsResponseEntity_withOkStatusAndFileContents() throws Exception {
 		file = new MockMultipartFile("file", TEST_FILE_PATH, TEST, TEST.getBytes());
+		DocumentSummary summary = new DocumentSummary(TEST, "docx", file.getSize());
 		
-		when(mockDocument.getContent()).thenReturn(file.getBytes());
-		when(mockDocumentService.findByName(anyString())).thenReturn(Optional.of(mockDocument));
+		when(mockDocumentService.findSummaryByName(anyString())).thenReturn(Optional.of(summary));
+		doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(1).write(file.getBytes());
+			return null;
+		}).when(mockDocumentService).writeContentByName(eq(TEST), any(OutputStream.class));
 		
-		MvcResult result = mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST)
-							.sessionAttr(AttributeName.USER.getValue(), mockUser))
+		MvcResult asyncResult = mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+		
+		MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
 							.andExpect(status().isOk())
 							.andReturn();
 		
 		String content = result.getResponse().getContentAsString();
-		String expected = new String(mockDocument.getContent(), StandardCharsets.UTF_8);
+		String expected = new String(file.getBytes(), StandardCharsets.UTF_8);
 		
 		assertEquals(expected, content);
+		assertEquals(file.getSize(), result.getResponse().getContentLengthLong());
+	}
+	
+	@Test
+	@WithMockUser(roles = "USER")
+	void testDownloadDocument_returnsBadRequest_whenNoDocumentExistsWithTheGivenName() throws Exception {
+		when(mockDocumentService.findSummaryByName(anyString())).thenReturn(Optional.empty());
+		
+		mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST))
+							.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	@WithMockUser(roles = "USER")
+	void testDownloadDocument_returnsNotModified_whenIfNoneMatchEqualsTheDocumentHash() throws Exception {
+		DocumentSummary summary = new DocumentSummary(TEST, "docx", TEST.length());
+		summary.setHash(HASH);
+		when(mockDocumentService.findSummaryByName(anyString())).thenReturn(Optional.of(summary));
+		
+		mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST)
+							.header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+							.andExpect(matchAll(
+									status().isNotModified(),
+									header().string(HttpHeaders.ETAG, E_TAG)));
+		
+		verify(mockDocumentService, never()).writeContentByName(anyString(), any(OutputStream.class));
+	}
+	
+	@Test
+	@WithMockUser(roles = "USER")
+	void testDownloadDocument_returnsPartialContent_whenASingleRangeIsRequested() throws Exception {
+		DocumentSummary summary = new DocumentSummary(TEST, "docx", TEST.length());
+		summary.setHash(HASH);
+		when(mockDocumentService.findSummaryByName(anyString())).thenReturn(Optional.of(summary));
+		doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(3).write("es".getBytes());
+			return null;
+		}).when(mockDocumentService).writeContentRangeByName(eq(TEST), eq(1L), eq(2L), any(OutputStream.class));
+		
+		MvcResult asyncResult = mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST)
+							.header(HttpHeaders.RANGE, "bytes=1-2")
+							.header(HttpHeaders.IF_RANGE, E_TAG))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+		
+		MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+							.andExpect(matchAll(
+									status().isPartialContent(),
+									header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/4")))
+							.andReturn();
+		
+		assertEquals("es", result.getResponse().getContentAsString());
+		verify(mockDocumentService, never()).writeContentByName(anyString(), any(OutputStream.class));
+	}
+	
+	@Test
+	@WithMockUser(roles = "USER")
+	void testDownloadDocument_returnsRangeNotSatisfiable_whenRangeStartsAfterTheEndOfTheDocument() throws Exception {
+		DocumentSummary summary = new DocumentSummary(TEST, "docx", TEST.length());
+		summary.setHash(HASH);
+		when(mockDocumentService.findSummaryByName(anyString())).thenReturn(Optional.of(summary));
+		
+		mockMvc.perform(get(accountUri + SLASH + downloadDocumentUri + SLASH + TEST)
+							.header(HttpHeaders.RANGE, "bytes=10-20"))
+							.andExpect(matchAll(
+									status().isRequestedRangeNotSatisfiable(),
+									header().string(HttpHeaders.CONTENT_RANGE, "bytes */4"),
+									header().string(HttpHeaders.ACCEPT_RANGES, "bytes"),
+									header().string(HttpHeaders.ETAG, E_TAG)));
 	}
 }
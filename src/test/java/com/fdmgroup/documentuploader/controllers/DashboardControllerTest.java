@@ -61,14 +61,14 @@ class DashboardControllerTest {
 	@WithMockUser(roles = "USER")
 	void testReturnToDashBoard_addsUserAndUserAccountsToModel() throws Exception {
 		when(mockUserService.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
+		when(mockUserService.findById(anyLong())).thenReturn(Optional.of(mockUser));
 		when(mockAccountService.getAllAccountsByUserId(anyLong())).thenReturn(Collections.emptyList());
 		
 		List<AuthGroup> authGroups = new ArrayList<>();
 		authGroups.add(new AuthGroup("", Role.ROLE_USER));
 		
 		mockMvc.perform(get("/dashboard")
-							.sessionAttr("user", mockUser)
-							.with(user(new AppUserPrincipal(mockUserService, mockUser, authGroups))))
+							.with(user(new AppUserPrincipal(mockUser, authGroups, true))))
 							.andExpect(matchAll(
 									status().isOk(),
 									model().attribute("user", mockUser),
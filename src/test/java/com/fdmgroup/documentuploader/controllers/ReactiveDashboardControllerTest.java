@@ -0,0 +1,86 @@
+package com.fdmgroup.documentuploader.controllers;
+
+import com.fdmgroup.documentuploader.model.user.AuthGroup;
+import com.fdmgroup.documentuploader.model.user.Role;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.security.AppUserPrincipal;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.request-handling.reactive=true")
+@AutoConfigureMockMvc
+class ReactiveDashboardControllerTest {
+
+	@Mock
+	private User mockUser;
+
+	@MockBean
+	private UserService mockUserService;
+
+	@MockBean
+	private AccountService mockAccountService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setup() throws Exception {
+		MockitoAnnotations.initMocks(this);
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testReturnToDashBoard_addsUserAccountsToModel_withoutBlockingOnTheDataService() throws Exception {
+		when(mockUserService.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
+		when(mockUserService.findByIdAsync(anyLong())).thenReturn(Mono.just(mockUser));
+		when(mockAccountService.getAllAccountsByUserIdAsync(anyLong())).thenReturn(Mono.just(Collections.emptyList()));
+
+		List<AuthGroup> authGroups = Collections.singletonList(new AuthGroup("", Role.ROLE_USER));
+
+		MvcResult result = mockMvc.perform(get("/dashboard")
+							.with(user(new AppUserPrincipal(mockUser, authGroups, true))))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+							.andExpect(matchAll(
+									status().isOk(),
+									view().name("users/dashboard"),
+									model().attribute("user", mockUser),
+									model().attribute("accounts", Collections.emptyList())));
+
+		verify(mockUserService, never()).findById(anyLong());
+		verify(mockAccountService, never()).getAllAccountsByUserId(anyLong());
+	}
+}
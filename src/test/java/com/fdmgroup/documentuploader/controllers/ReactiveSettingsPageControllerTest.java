@@ -0,0 +1,121 @@
+package com.fdmgroup.documentuploader.controllers;
+
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.user.AuthGroup;
+import com.fdmgroup.documentuploader.model.user.Role;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.security.AppUserPrincipal;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.request-handling.reactive=true")
+@AutoConfigureMockMvc
+class ReactiveSettingsPageControllerTest {
+
+	@Mock
+	private User mockUser;
+
+	@Mock
+	private AccountSummary mockAccount;
+
+	@MockBean
+	private UserService mockUserService;
+
+	@MockBean
+	private AccountService mockAccountService;
+
+	@MockBean
+	private AccountCostCalculator mockAccountCostCalculator;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private List<AuthGroup> authGroups;
+
+	@BeforeEach
+	void setup() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		this.authGroups = Collections.singletonList(new AuthGroup("", Role.ROLE_USER));
+		when(mockUserService.findByIdAsync(anyLong())).thenReturn(Mono.just(mockUser));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testToServiceLevel_addsTheOwnedAccountToModel_withoutBlockingOnTheDataService() throws Exception {
+		ServiceLevel level = ServiceLevel.BRONZE;
+		when(mockAccount.getServiceLevel()).thenReturn(level);
+		when(mockAccountService.findSummaryByOwnerIdAsync(anyLong())).thenReturn(Mono.just(mockAccount));
+		when(mockAccountCostCalculator.calculateRate(mockAccount)).thenReturn(BigDecimal.ZERO);
+
+		EnumSet<ServiceLevel> expectedLevels = EnumSet.allOf(ServiceLevel.class);
+		expectedLevels.remove(level);
+
+		MvcResult result = mockMvc.perform(get("/settings/serviceLevel")
+							.with(user(new AppUserPrincipal(mockUser, authGroups, true))))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+							.andExpect(matchAll(
+									status().isOk(),
+									view().name("users/serviceLevelInformation"),
+									model().attribute("user", mockUser),
+									model().attribute("account", mockAccount),
+									model().attribute("price", BigDecimal.ZERO),
+									model().attribute("levels", expectedLevels)));
+
+		verify(mockUserService, never()).findById(anyLong());
+		verify(mockAccountService, never()).findSummaryByOwnerId(anyLong());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testToServiceLevel_rendersWithoutAnAccount_whenTheUserOwnsNone() throws Exception {
+		when(mockAccountService.findSummaryByOwnerIdAsync(anyLong())).thenReturn(Mono.empty());
+
+		MvcResult result = mockMvc.perform(get("/settings/serviceLevel")
+							.with(user(new AppUserPrincipal(mockUser, authGroups, true))))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+							.andExpect(matchAll(
+									status().isOk(),
+									view().name("users/serviceLevelInformation"),
+									model().attribute("user", mockUser),
+									model().attributeDoesNotExist("account")));
+	}
+}
@@ -8,11 +8,13 @@ import com.fdmgroup.documentuploader.exception.CannotAddUserToAccountException;
 import com.fdmgroup.documentuploader.exception.CannotRemoveUserFromAccountException;
 import com.fdmgroup.documentuploader.exception.InvalidServiceLevelException;
 import com.fdmgroup.documentuploader.exception.PasswordsDoNotMatchException;
-import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.exception.AccountNotFoundException;
 import com.fdmgroup.documentuploader.model.account.AccountCostCalculator;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.session.SessionService;
 import com.fdmgroup.documentuploader.service.user.UserService;
 import org.apache.logging.log4j.util.Strings;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,8 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import javax.servlet.http.HttpSession;
+
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -39,6 +43,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -68,7 +73,7 @@ class SettingsControllerTest {
 	private RequestUris requestUris;
 	
 	@Mock
-	private Account mockAccount;
+	private AccountSummary mockAccount;
 	@Mock
 	private User mockUser;
 	@MockBean
@@ -79,6 +84,8 @@ class SettingsControllerTest {
 	private PasswordEncoder mockPasswordEncoder;
 	@MockBean
 	private AccountCostCalculator mockAccountCostCalculator;
+	@MockBean
+	private SessionService mockSessionService;
 	
 	@Autowired
 	private MockMvc mockMvc;
@@ -87,6 +94,8 @@ class SettingsControllerTest {
 	public void setup() throws Exception {
 		MockitoAnnotations.initMocks(this);
 		this.requestUris = applicationProperties.getRequestUris();
+		when(mockSessionService.getCurrentUser(any(HttpSession.class))).thenReturn(mockUser);
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.of(mockAccount));
 	}
 
 	@Test
@@ -94,9 +103,7 @@ class SettingsControllerTest {
 	void testToSettings_respondsWithViewNamedSettings() throws Exception {
 		when(mockUser.getId()).thenReturn(0L);
 		
-		mockMvc.perform(get(requestUris.getSettings())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(requestUris.getSettings()))
 				.andExpect(matchAll(
 						status().isOk(),
 						view().name(ViewPath.SETTINGS.getPath())));
@@ -107,9 +114,7 @@ class SettingsControllerTest {
 	void testToEditProfileInformationRespondsWithViewNamed_usersSlashEditProfileInformation() throws Exception {
 		when(mockAccount.getServiceLevel()).thenReturn(ServiceLevel.BRONZE);
 		
-		mockMvc.perform(get(requestUris.getSettings() + requestUris.getEditProfileInfo())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(requestUris.getSettings() + requestUris.getEditProfileInfo()))
 				.andExpect(matchAll(
 						status().isOk(),
 						view().name(ViewPath.EDIT_PROFILE_INFO.getPath())));
@@ -121,8 +126,6 @@ class SettingsControllerTest {
 		when(mockUserService.updatePassword(mockUser, CURRENT_PASSWORD, NEW_PASSWORD, NEW_PASSWORD_CONFIRMATION)).thenThrow(new PasswordsDoNotMatchException(NEW_PASSWORDS_DONT_MATCH));
 		
 		MvcResult result = mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpdatePassword())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param(CURRENT_PASSWORD, CURRENT_PASSWORD)
 				.param(NEW_PASSWORD, NEW_PASSWORD)
 				.param(NEW_PASSWORD_CONFIRMATION, NEW_PASSWORD_CONFIRMATION))
@@ -144,8 +147,6 @@ class SettingsControllerTest {
 		when(mockPasswordEncoder.matches(PASSWORD, encodedPassword)).thenReturn(true);
 		
 		mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpdatePassword())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param(CURRENT_PASSWORD, PASSWORD)
 				.param(NEW_PASSWORD, NEW_PASSWORD)
 				.param(NEW_PASSWORD_CONFIRMATION, NEW_PASSWORD))
@@ -166,8 +167,6 @@ class SettingsControllerTest {
 		when(mockPasswordEncoder.matches(PASSWORD, encodedPassword)).thenReturn(true);
 
 		mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpdatePassword())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param(CURRENT_PASSWORD, PASSWORD)
 				.param(NEW_PASSWORD, NEW_PASSWORD)
 				.param(NEW_PASSWORD_CONFIRMATION, NEW_PASSWORD))
@@ -179,11 +178,9 @@ class SettingsControllerTest {
 	@Test
 	@WithMockUser(roles = "USER")
 	void testToServiceLevel_returnsLoginView_whenNoAccountIsFoundGivenOwnerId() throws Exception {
-		when(mockAccountService.findByOwnerId(anyLong())).thenReturn(Optional.empty());
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.empty());
 		
-		mockMvc.perform(get(requestUris.getSettings() + requestUris.getServiceLevel())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(requestUris.getSettings() + requestUris.getServiceLevel()))
 				.andExpect(matchAll(
 						status().isOk(),
 						view().name(ViewPath.SERVICE_LEVEL_INFO.getPath())));
@@ -196,7 +193,7 @@ class SettingsControllerTest {
 		Set<User> users = Collections.emptySet();
 		BigDecimal zero = BigDecimal.ZERO;
 		
-		when(mockAccountService.findByOwnerId(anyLong())).thenReturn(Optional.of(mockAccount));
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.of(mockAccount));
 		when(mockAccount.getServiceLevel()).thenReturn(level);
 		when(mockAccount.getUsers()).thenReturn(users);
 		when(mockAccountCostCalculator.calculateRate(mockAccount)).thenReturn(zero);
@@ -204,9 +201,7 @@ class SettingsControllerTest {
 		EnumSet<ServiceLevel> expectedLevels = EnumSet.allOf(ServiceLevel.class);
 		expectedLevels.remove(level);
 		
-		mockMvc.perform(get(requestUris.getSettings() + requestUris.getServiceLevel())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(requestUris.getSettings() + requestUris.getServiceLevel()))
 				.andExpect(matchAll(
 						status().isOk(),
 						model().attribute(AttributeName.PRICE.getValue(), zero),
@@ -220,8 +215,6 @@ class SettingsControllerTest {
 		when(mockAccountService.updateAccountServiceLevel(mockAccount, Strings.EMPTY)).thenThrow(new InvalidServiceLevelException());
 
 		MvcResult result = mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpgradeServiceLevel())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param("selected", Strings.EMPTY))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
@@ -247,8 +240,6 @@ class SettingsControllerTest {
 		expectedLevels.remove(level);
 		
 		mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpgradeServiceLevel())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param("selected", "bronze"))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
@@ -261,8 +252,6 @@ class SettingsControllerTest {
 		when(mockAccountService.addUserToAccountByEmail(EMAIL, mockAccount)).thenThrow(new CannotAddUserToAccountException(USER_NOT_FOUND));
 		
 		MvcResult result = mockMvc.perform(post(requestUris.getSettings() + requestUris.getAddUser())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param(GUEST_EMAIL, EMAIL))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
@@ -281,8 +270,6 @@ class SettingsControllerTest {
 		when(mockUser.getEmail()).thenReturn(EMAIL);
 		
 		mockMvc.perform(post(requestUris.getSettings() + requestUris.getAddUser())
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount)
 				.param(GUEST_EMAIL, Strings.EMPTY))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
@@ -296,9 +283,7 @@ class SettingsControllerTest {
 	void testDeleteUser_addsUserNotFound_toModel_whenIdPathVariableDoesNotExist() throws Exception {
 		when(mockAccountService.removeUserFromAccountById(0, mockUser, mockAccount)).thenThrow(new CannotRemoveUserFromAccountException());
 		
-		MvcResult result = mockMvc.perform(get(requestUris.getSettings() + requestUris.getDeleteUser() + SLASH + 0)
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		MvcResult result = mockMvc.perform(get(requestUris.getSettings() + requestUris.getDeleteUser() + SLASH + 0))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
 						redirectedUrl("/login")
@@ -324,9 +309,7 @@ class SettingsControllerTest {
 		EnumSet<ServiceLevel> expectedLevels = EnumSet.allOf(ServiceLevel.class);
 		expectedLevels.remove(level);
 		
-		mockMvc.perform(get(requestUris.getSettings() + requestUris.getDeleteUser() + SLASH + 1)
-				.sessionAttr(AttributeName.USER.getValue(), mockUser)
-				.sessionAttr(AttributeName.ACCOUNT.getValue(), mockAccount))
+		mockMvc.perform(get(requestUris.getSettings() + requestUris.getDeleteUser() + SLASH + 1))
 				.andExpect(matchAll(
 						status().is3xxRedirection(),
 						redirectedUrl(requestUris.getSettings() + requestUris.getServiceLevel())
@@ -334,4 +317,54 @@ class SettingsControllerTest {
 		
 		verify(mockAccountService, times(1)).removeUserFromAccountById(1L, mockUser, mockAccount);
 	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testEditServiceLevel_doesNotBindRequestParameters_toTheAccountOrUser() throws Exception {
+		mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpgradeServiceLevel())
+				.param("selected", "bronze")
+				.param("name", "otherAccount")
+				.param("email", EMAIL));
+
+		verify(mockAccountService).updateAccountServiceLevel(mockAccount, "bronze");
+		verify(mockUser, never()).setEmail(anyString());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testEditServiceLevel_respondsWithNotFound_andDoesNotUpdate_whenTheUserOwnsNoAccount() throws Exception {
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.empty());
+
+		MvcResult result = mockMvc.perform(post(requestUris.getSettings() + requestUris.getUpgradeServiceLevel())
+				.param("selected", "bronze"))
+				.andExpect(status().isNotFound())
+				.andReturn();
+
+		assertTrue(result.getResolvedException() instanceof AccountNotFoundException);
+		verify(mockAccountService, never()).updateAccountServiceLevel(any(), anyString());
+		verify(mockSessionService, never()).evictAccount(anyLong());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testAddUser_respondsWithNotFound_whenTheUserOwnsNoAccount() throws Exception {
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.empty());
+
+		mockMvc.perform(post(requestUris.getSettings() + requestUris.getAddUser())
+				.param(GUEST_EMAIL, EMAIL))
+				.andExpect(status().isNotFound());
+
+		verify(mockAccountService, never()).addUserToAccountByEmail(anyString(), any());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testDeleteUser_respondsWithNotFound_whenTheUserOwnsNoAccount() throws Exception {
+		when(mockAccountService.findSummaryByOwnerId(anyLong())).thenReturn(Optional.empty());
+
+		mockMvc.perform(get(requestUris.getSettings() + requestUris.getDeleteUser() + SLASH + 1))
+				.andExpect(status().isNotFound());
+
+		verify(mockAccountService, never()).removeUserFromAccountById(anyLong(), any(), any());
+	}
 }
@@ -0,0 +1,137 @@
+package com.fdmgroup.documentuploader.controllers;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.exception.InvalidChunkException;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+import com.fdmgroup.documentuploader.service.session.SessionService;
+import com.fdmgroup.documentuploader.service.upload.ChunkedUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.servlet.http.HttpSession;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc(addFilters = false)
+@EnableConfigurationProperties(value = ApplicationProperties.class)
+@PropertySource(value = { "classpath:/paths.properties" })
+class UploadControllerTest {
+
+	private static final String UPLOADS_URI = "/account/uploads";
+	private static final String UPLOAD_ID = "upload-id";
+	private static final String FILE_NAME = "text.docx";
+	private static final long ACCOUNT_ID = 1L;
+	private static final String INVALID_CHUNK = "The uploaded chunk does not match the upload.";
+
+	@Mock
+	private AccountSummary mockAccount;
+
+	@MockBean
+	private ChunkedUploadService mockChunkedUploadService;
+
+	@MockBean
+	private SessionService mockSessionService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private UploadSession uploadSession;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockSessionService.getCurrentAccount(any(HttpSession.class))).thenReturn(mockAccount);
+		when(mockAccount.getId()).thenReturn(ACCOUNT_ID);
+		when(mockAccount.getName()).thenReturn("accountName");
+		this.uploadSession = new UploadSession(UPLOAD_ID, ACCOUNT_ID, FILE_NAME, 10, 4, Paths.get(UPLOAD_ID),
+				Instant.now());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testCreateUpload_returnsCreatedUploadSession_withChunkSize() throws Exception {
+		when(mockChunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, 10)).thenReturn(uploadSession);
+
+		mockMvc.perform(post(UPLOADS_URI)
+							.param("fileName", FILE_NAME)
+							.param("size", "10"))
+							.andExpect(matchAll(
+									status().isCreated(),
+									header().string(HttpHeaders.LOCATION, UPLOADS_URI + "/" + UPLOAD_ID),
+									jsonPath("$.id").value(UPLOAD_ID),
+									jsonPath("$.chunkSize").value(4),
+									jsonPath("$.missingChunks.length()").value(3)));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testUploadChunk_writesRequestBodyAtTheGivenOffset() throws Exception {
+		when(mockChunkedUploadService.writeChunk(eq(UPLOAD_ID), eq(ACCOUNT_ID), eq(4L), any(InputStream.class)))
+				.thenReturn(uploadSession);
+
+		mockMvc.perform(put(UPLOADS_URI + "/" + UPLOAD_ID)
+							.param("offset", "4")
+							.contentType(MediaType.APPLICATION_OCTET_STREAM)
+							.content("4567"))
+							.andExpect(status().isOk());
+
+		verify(mockChunkedUploadService).writeChunk(eq(UPLOAD_ID), eq(ACCOUNT_ID), eq(4L), any(InputStream.class));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testUploadChunk_returnsBadRequestWithMessage_whenChunkIsInvalid() throws Exception {
+		when(mockChunkedUploadService.writeChunk(eq(UPLOAD_ID), eq(ACCOUNT_ID), eq(3L), any(InputStream.class)))
+				.thenThrow(new InvalidChunkException(INVALID_CHUNK));
+
+		mockMvc.perform(put(UPLOADS_URI + "/" + UPLOAD_ID)
+							.param("offset", "3")
+							.contentType(MediaType.APPLICATION_OCTET_STREAM)
+							.content("3456"))
+							.andExpect(matchAll(
+									status().isBadRequest(),
+									content().string(INVALID_CHUNK)));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testCompleteUpload_refreshesAccount_andPointsToTheAccountPage() throws Exception {
+		when(mockChunkedUploadService.completeSession(UPLOAD_ID, mockAccount)).thenReturn(mockAccount);
+
+		mockMvc.perform(post(UPLOADS_URI + "/" + UPLOAD_ID + "/complete"))
+							.andExpect(matchAll(
+									status().isNoContent(),
+									header().string(HttpHeaders.LOCATION, "/account/accountName")));
+
+		verify(mockSessionService).refreshAccount(mockAccount);
+	}
+
+}
@@ -0,0 +1,665 @@
+package com.fdmgroup.documentuploader.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fdmgroup.documentuploader.enums.ApiUri;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.user.AuthGroup;
+import com.fdmgroup.documentuploader.model.user.Role;
+import com.fdmgroup.documentuploader.model.user.User;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Embeddable stand-in for the data service, serving the {@code /users},
+ * {@code /accounts}, {@code /documents}, {@code /authGroup} and
+ * {@code /register} API used by the front end from in-memory storage, so the
+ * front end can be run and load tested without the real backend.
+ * </p>
+ * <p>
+ * Every response can be delayed by a fixed latency plus a random jitter, and a
+ * fraction of requests can be answered with {@code 503 Service Unavailable}
+ * instead, to see how the front end behaves when the data service is slow or
+ * failing. Requests are handled without blocking, so the stand-in itself does
+ * not limit how many are served concurrently.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public class DataServiceStandIn implements AutoCloseable {
+
+	private static final String CONFIRM_TOKEN = ApiUri.CONFIRM_TOKEN.getUri().substring(1);
+	private static final String IS_ENABLED = ApiUri.IS_ENABLED.getUri().substring(1);
+	private static final String RESET_PASSWORD = ApiUri.RESET_PASSWORD.getUri().substring(1);
+	private static final String TOKEN = ApiUri.TOKEN.getUri().substring(1);
+	private static final String SUMMARIES = ApiUri.SUMMARIES.getUri().substring(1);
+	private static final String DOCUMENTS = ApiUri.DOCUMENTS.getUri().substring(1);
+	private static final String STREAM = ApiUri.STREAM.getUri().substring(1);
+	private static final String REFERENCE = ApiUri.REFERENCE.getUri().substring(1);
+	private static final String METADATA = ApiUri.METADATA.getUri().substring(1);
+	private static final String CONTENT = ApiUri.CONTENT.getUri().substring(1);
+	private static final String HASH = ApiUri.HASH.getUri().substring(1);
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+	private final AtomicLong ids = new AtomicLong();
+	private final Map<Long, User> users = new ConcurrentHashMap<>();
+	private final Map<String, List<AuthGroup>> authGroups = new ConcurrentHashMap<>();
+
+	/**
+	 * The accounts, keyed by id. Accounts are only read or changed while holding
+	 * the lock of this map, as the document set of each is mutable.
+	 */
+	private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+	/**
+	 * The stored documents, keyed by name.
+	 */
+	private final Map<String, StoredDocument> documents = new ConcurrentHashMap<>();
+
+	/**
+	 * The contents of every stored document, keyed by their SHA-256 hash.
+	 */
+	private final Map<String, byte[]> contentsByHash = new ConcurrentHashMap<>();
+
+	private final AtomicLong requestsServed = new AtomicLong();
+	private final AtomicLong errorsInjected = new AtomicLong();
+
+	private volatile Duration latency = Duration.ZERO;
+	private volatile Duration latencyJitter = Duration.ZERO;
+	private volatile double errorRate;
+
+	/**
+	 * Used to serve requests on event loops of its own rather than Reactor
+	 * Netty's global ones, which are disposed whenever a front end using them is
+	 * shut down.
+	 */
+	private final LoopResources loopResources;
+
+	private final DisposableServer server;
+
+	private DataServiceStandIn(int port) {
+		this.loopResources = LoopResources.create("data-service-stand-in");
+		this.server = HttpServer.create()
+				.host("localhost")
+				.port(port)
+				.tcpConfiguration(tcpServer -> tcpServer.runOn(loopResources))
+				.handle(this::handle)
+				.bindNow();
+	}
+
+	/**
+	 * Starts a stand-in listening on a free port of {@code localhost}.
+	 *
+	 * @return the running stand-in
+	 */
+	public static DataServiceStandIn start() {
+		return start(0);
+	}
+
+	/**
+	 * Starts a stand-in listening on the given port of {@code localhost}.
+	 *
+	 * @param port the port to listen on, or {@code 0} for any free port
+	 * @return the running stand-in
+	 */
+	public static DataServiceStandIn start(int port) {
+		return new DataServiceStandIn(port);
+	}
+
+	/**
+	 * @return the base URL to configure as {@code data.service.url}
+	 */
+	public String getUrl() {
+		return "http://localhost:" + server.port();
+	}
+
+	/**
+	 * Delays every response by {@code latency} plus a random duration of up to
+	 * {@code jitter}.
+	 */
+	public void setLatency(Duration latency, Duration jitter) {
+		this.latency = latency;
+		this.latencyJitter = jitter;
+	}
+
+	/**
+	 * Answers the given fraction of requests, between {@code 0} and {@code 1},
+	 * with {@code 503 Service Unavailable} instead of handling them.
+	 */
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	public long getRequestsServed() {
+		return requestsServed.get();
+	}
+
+	public long getErrorsInjected() {
+		return errorsInjected.get();
+	}
+
+	/**
+	 * Stores an enabled user with the {@link Role#ROLE_USER} role.
+	 *
+	 * @param email           the email the user logs in with
+	 * @param encodedPassword the user's password, encoded as the front end's
+	 *                        password encoder expects
+	 * @return the stored user, with its id
+	 */
+	public User addUser(String email, String encodedPassword) {
+		User user = new User.UserBuilder()
+				.setEmail(email)
+				.setPassword(encodedPassword)
+				.setFirstName("Load")
+				.setLastName("Test")
+				.build();
+		saveUser(user);
+		authGroups.put(email, Collections.singletonList(new AuthGroup(email, Role.ROLE_USER)));
+		return user;
+	}
+
+	/**
+	 * Stores an account without documents owned by the given user.
+	 *
+	 * @return the stored account, with its id
+	 */
+	public Account addAccount(User owner, String name, ServiceLevel serviceLevel) {
+		Account account = new Account.AccountBuilder()
+				.setName(name)
+				.setOwner(owner)
+				.setServiceLevel(serviceLevel)
+				.setUsers(new HashSet<>())
+				.setDocuments(new HashSet<>())
+				.build();
+		return saveAccount(account);
+	}
+
+	@Override
+	public void close() {
+		server.disposeNow();
+		loopResources.dispose();
+	}
+
+	private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+		return request.receive()
+				.aggregate()
+				.asByteArray()
+				.defaultIfEmpty(new byte[0])
+				.delayElement(nextLatency())
+				.flatMap(body -> {
+					requestsServed.incrementAndGet();
+					if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+						errorsInjected.incrementAndGet();
+						return send(response, Reply.status(HttpStatus.SERVICE_UNAVAILABLE));
+					}
+					Reply reply;
+					try {
+						reply = route(new Request(request, body));
+					} catch (IOException | RuntimeException e) {
+						reply = Reply.status(HttpStatus.INTERNAL_SERVER_ERROR);
+					}
+					return send(response, reply);
+				});
+	}
+
+	private Duration nextLatency() {
+		long jitterNanos = latencyJitter.toNanos();
+		if (jitterNanos <= 0) {
+			return latency;
+		}
+		return latency.plusNanos(ThreadLocalRandom.current().nextLong(jitterNanos));
+	}
+
+	private Mono<Void> send(HttpServerResponse response, Reply reply) {
+		response.status(reply.status.value());
+		reply.headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+		if (reply.body == null) {
+			return response.send().then();
+		}
+		return response.sendByteArray(Mono.just(reply.body)).then();
+	}
+
+	private Reply route(Request request) throws IOException {
+		String[] path = request.path;
+		if (path.length == 0) {
+			return Reply.status(HttpStatus.NOT_FOUND);
+		}
+		switch ("/" + path[0]) {
+		case "/users":
+			return routeUsers(request);
+		case "/accounts":
+			return routeAccounts(request);
+		case "/documents":
+			return routeDocuments(request);
+		case "/authGroup":
+			return json(authGroups.getOrDefault(request.param("username"), Collections.emptyList()));
+		case "/register":
+			return routeRegister(request);
+		default:
+			return Reply.status(HttpStatus.NOT_FOUND);
+		}
+	}
+
+	private Reply routeUsers(Request request) throws IOException {
+		String[] path = request.path;
+		HttpMethod method = request.method;
+		if (path.length == 3 && IS_ENABLED.equals(path[2]) && HttpMethod.GET.equals(method)) {
+			return findUserByEmail(path[1]).isPresent() ? json(true) : Reply.status(HttpStatus.NOT_FOUND);
+		}
+		if (path.length >= 2 && RESET_PASSWORD.equals(path[path.length - 1])
+				|| path.length == 3 && TOKEN.equals(path[2])) {
+			return HttpMethod.GET.equals(method) ? json(true) : Reply.status(HttpStatus.OK);
+		}
+		if (HttpMethod.GET.equals(method)) {
+			Optional<User> user = request.param("id") != null
+					? Optional.ofNullable(users.get(Long.valueOf(request.param("id"))))
+					: findUserByEmail(request.param("email"));
+			return user.map(this::json).orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+			if (request.body.length == 0) {
+				return Reply.status(HttpStatus.OK);
+			}
+			User user = request.read(User.class);
+			if (HttpMethod.PUT.equals(method) && !users.containsKey(user.getId())) {
+				return Reply.status(HttpStatus.NOT_FOUND);
+			}
+			saveUser(user);
+			return json(user);
+		}
+		if (HttpMethod.DELETE.equals(method)) {
+			User user = users.remove(Long.valueOf(request.param("id")));
+			return user == null ? Reply.status(HttpStatus.NOT_FOUND) : json(user);
+		}
+		return Reply.status(HttpStatus.METHOD_NOT_ALLOWED);
+	}
+
+	private Reply routeRegister(Request request) throws IOException {
+		if (request.path.length == 2 && CONFIRM_TOKEN.equals(request.path[1])) {
+			return json(true);
+		}
+		JsonNode registration = request.mapper().readTree(request.body);
+		User user = jsonMapper.treeToValue(registration.get("user"), User.class);
+		Account account = jsonMapper.treeToValue(registration.get("account"), Account.class);
+		AuthGroup authGroup = jsonMapper.treeToValue(registration.get("authGroup"), AuthGroup.class);
+		saveUser(user);
+		account.setOwner(user);
+		saveAccount(account);
+		authGroups.put(user.getEmail(), Collections.singletonList(authGroup));
+		return Reply.status(HttpStatus.OK);
+	}
+
+	private Reply routeAccounts(Request request) throws IOException {
+		String[] path = request.path;
+		HttpMethod method = request.method;
+		if (path.length >= 3 && DOCUMENTS.equals(path[2])) {
+			return routeAccountDocuments(request, Long.parseLong(path[1]));
+		}
+		if (path.length == 2 && SUMMARIES.equals(path[1])) {
+			if (request.param("userId") != null) {
+				return json(findAccountsByUserId(Long.parseLong(request.param("userId"))).stream()
+						.map(this::toSummary)
+						.collect(Collectors.toList()));
+			}
+			return findAccount(request).map(account -> json(toSummary(account)))
+					.orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (HttpMethod.GET.equals(method)) {
+			if (request.param("userId") != null) {
+				return json(findAccountsByUserId(Long.parseLong(request.param("userId"))));
+			}
+			Optional<Account> account = findAccount(request);
+			return account.map(this::json).orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+			Account account = request.read(Account.class);
+			keepStoredContents(account);
+			return json(saveAccount(account));
+		}
+		if (HttpMethod.DELETE.equals(method)) {
+			Account account = accounts.remove(Long.valueOf(request.param("id")));
+			return account == null ? Reply.status(HttpStatus.NOT_FOUND) : json(account);
+		}
+		return Reply.status(HttpStatus.METHOD_NOT_ALLOWED);
+	}
+
+	private Reply routeAccountDocuments(Request request, long accountId) throws IOException {
+		if (!accounts.containsKey(accountId)) {
+			return Reply.status(HttpStatus.NOT_FOUND);
+		}
+		String[] path = request.path;
+		String documentName = request.param("documentName");
+		if (HttpMethod.DELETE.equals(request.method)) {
+			documents.remove(documentName);
+			return json(updateAccount(accountId, account -> account.getDocuments()
+					.removeIf(document -> document.getName().equals(documentName))));
+		}
+		StoredDocument stored;
+		if (path.length == 4 && STREAM.equals(path[3])) {
+			stored = storeDocument(documentName, request.param("extension"), request.body);
+		} else if (path.length == 4 && REFERENCE.equals(path[3])) {
+			byte[] content = contentsByHash.get(request.param("hash"));
+			if (content == null) {
+				return Reply.status(HttpStatus.NOT_FOUND);
+			}
+			stored = storeDocument(documentName, request.param("extension"), content);
+		} else {
+			Document document = request.read(Document.class);
+			stored = storeDocument(document.getName(), document.getExtension(), document.getContent());
+		}
+		Document document = stored.toDocument();
+		return json(updateAccount(accountId, account -> {
+			account.getDocuments().removeIf(existing -> existing.getName().equals(document.getName()));
+			account.getDocuments().add(document);
+		}));
+	}
+
+	private Reply routeDocuments(Request request) throws IOException {
+		String[] path = request.path;
+		HttpMethod method = request.method;
+		if (path.length == 3 && HASH.equals(path[1])) {
+			return Reply.status(contentsByHash.containsKey(path[2]) ? HttpStatus.OK : HttpStatus.NOT_FOUND);
+		}
+		if (path.length == 2 && METADATA.equals(path[1])) {
+			return findDocument(request).map(stored -> json(stored.toSummary()))
+					.orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (path.length == 2 && CONTENT.equals(path[1])) {
+			return findDocument(request).map(stored -> content(stored.content, request.headers))
+					.orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (HttpMethod.GET.equals(method)) {
+			return findDocument(request).map(stored -> json(stored.toDocument()))
+					.orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+			Document document = request.read(Document.class);
+			return json(storeDocument(document.getName(), document.getExtension(), document.getContent())
+					.toDocument());
+		}
+		if (HttpMethod.DELETE.equals(method) && path.length == 2) {
+			long id = Long.parseLong(path[1]);
+			Optional<StoredDocument> stored = documents.values().stream().filter(d -> d.id == id).findFirst();
+			stored.ifPresent(d -> documents.remove(d.name));
+			return stored.map(d -> json(d.toDocument())).orElse(Reply.status(HttpStatus.NOT_FOUND));
+		}
+		return Reply.status(HttpStatus.METHOD_NOT_ALLOWED);
+	}
+
+	private Reply content(byte[] content, HttpHeaders requestHeaders) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+		List<HttpRange> ranges = requestHeaders.getRange();
+		if (ranges.isEmpty()) {
+			return new Reply(HttpStatus.OK, headers, content);
+		}
+		long start = ranges.get(0).getRangeStart(content.length);
+		long end = ranges.get(0).getRangeEnd(content.length);
+		headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + content.length);
+		return new Reply(HttpStatus.PARTIAL_CONTENT, headers, Arrays.copyOfRange(content, (int) start,
+				(int) end + 1));
+	}
+
+	private void saveUser(User user) {
+		if (user.getId() == 0) {
+			user.setId(ids.incrementAndGet());
+		}
+		users.put(user.getId(), user);
+	}
+
+	private Optional<User> findUserByEmail(String email) {
+		return users.values().stream().filter(user -> user.getEmail().equals(email)).findFirst();
+	}
+
+	private Account saveAccount(Account account) {
+		if (account.getId() == 0) {
+			account.setId(ids.incrementAndGet());
+		}
+		if (account.getDocuments() == null) {
+			account.setDocuments(new HashSet<>());
+		}
+		if (account.getUsers() == null) {
+			account.setUsers(new HashSet<>());
+		}
+		synchronized (accounts) {
+			accounts.put(account.getId(), account);
+		}
+		return account;
+	}
+
+	/**
+	 * Replaces the documents of the given account which were sent without their
+	 * contents with the stored documents, as the data service keeps the stored
+	 * contents of such documents.
+	 */
+	private void keepStoredContents(Account account) {
+		if (account.getDocuments() == null) {
+			return;
+		}
+		account.setDocuments(account.getDocuments().stream()
+				.map(document -> document.isContentLoaded() || !documents.containsKey(document.getName())
+						? document
+						: documents.get(document.getName()).toDocument())
+				.collect(Collectors.toSet()));
+	}
+
+	private Optional<Account> findAccount(Request request) {
+		if (request.param("id") != null) {
+			return Optional.ofNullable(accounts.get(Long.valueOf(request.param("id"))));
+		}
+		if (request.param("ownerId") != null) {
+			long ownerId = Long.parseLong(request.param("ownerId"));
+			return accounts.values().stream().filter(account -> account.getOwner().getId() == ownerId).findFirst();
+		}
+		String name = request.param("name");
+		return accounts.values().stream().filter(account -> account.getName().equals(name)).findFirst();
+	}
+
+	private List<Account> findAccountsByUserId(long userId) {
+		return accounts.values().stream()
+				.filter(account -> account.getOwner().getId() == userId
+						|| account.getUsers().stream().anyMatch(user -> user.getId() == userId))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Describes the given account with the metadata of its documents only, as the
+	 * summaries endpoint of the data service does.
+	 */
+	private AccountSummary toSummary(Account account) {
+		synchronized (accounts) {
+			Set<DocumentSummary> summaries = account.getDocuments().stream()
+					.map(document -> documents.get(document.getName()))
+					.filter(Objects::nonNull)
+					.map(StoredDocument::toSummary)
+					.collect(Collectors.toSet());
+			return new AccountSummary(account.getId(), account.getName(), account.getOwner(),
+					account.getServiceLevel(), account.getUsers(), summaries);
+		}
+	}
+
+	private Account updateAccount(long accountId, Consumer<Account> update) {
+		synchronized (accounts) {
+			Account account = accounts.get(accountId);
+			update.accept(account);
+			return account;
+		}
+	}
+
+	private Optional<StoredDocument> findDocument(Request request) {
+		if (request.param("id") != null) {
+			long id = Long.parseLong(request.param("id"));
+			return documents.values().stream().filter(document -> document.id == id).findFirst();
+		}
+		return Optional.ofNullable(documents.get(request.param("documentName")));
+	}
+
+	private StoredDocument storeDocument(String name, String extension, byte[] content) {
+		String hash = sha256(content);
+		contentsByHash.putIfAbsent(hash, content);
+		StoredDocument stored = new StoredDocument(ids.incrementAndGet(), name, extension, content, hash);
+		documents.put(name, stored);
+		return stored;
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+			}
+			return new String(hex);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Serialises the given value as JSON. Accounts are serialised while holding
+	 * the lock their documents are changed under.
+	 */
+	private Reply json(Object value) {
+		try {
+			byte[] body;
+			synchronized (accounts) {
+				body = jsonMapper.writeValueAsBytes(value);
+			}
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			return new Reply(HttpStatus.OK, headers, body);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A request with its body read in full.
+	 */
+	private final class Request {
+
+		private final HttpMethod method;
+		private final String[] path;
+		private final Map<String, List<String>> params;
+		private final HttpHeaders headers = new HttpHeaders();
+		private final byte[] body;
+
+		private Request(HttpServerRequest request, byte[] body) {
+			QueryStringDecoder uri = new QueryStringDecoder(request.uri());
+			this.method = request.method();
+			this.path = Arrays.stream(uri.path().split("/")).filter(segment -> !segment.isEmpty())
+					.toArray(String[]::new);
+			this.params = uri.parameters();
+			request.requestHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+			this.body = body;
+		}
+
+		private String param(String name) {
+			List<String> values = params.get(name);
+			return values == null || values.isEmpty() ? null : values.get(0);
+		}
+
+		/**
+		 * @return the mapper for the content type the body was sent in
+		 */
+		private ObjectMapper mapper() {
+			MediaType contentType = headers.getContentType();
+			return MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborMapper : jsonMapper;
+		}
+
+		private <T> T read(Class<T> type) throws IOException {
+			return mapper().readValue(body, type);
+		}
+	}
+
+	private static final class Reply {
+
+		private final HttpStatus status;
+		private final HttpHeaders headers;
+		private final byte[] body;
+
+		private Reply(HttpStatus status, HttpHeaders headers, byte[] body) {
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+		}
+
+		private static Reply status(HttpStatus status) {
+			return new Reply(status, new HttpHeaders(), null);
+		}
+	}
+
+	private static final class StoredDocument {
+
+		private final long id;
+		private final String name;
+		private final String extension;
+		private final byte[] content;
+		private final String hash;
+		private final LocalDateTime createdAt = LocalDateTime.now();
+
+		private StoredDocument(long id, String name, String extension, byte[] content, String hash) {
+			this.id = id;
+			this.name = name;
+			this.extension = extension;
+			this.content = content;
+			this.hash = hash;
+		}
+
+		private Document toDocument() {
+			Document document = new Document(name, extension, content);
+			document.setId(id);
+			return document;
+		}
+
+		private DocumentSummary toSummary() {
+			DocumentSummary summary = new DocumentSummary(name, extension, content.length);
+			summary.setId(id);
+			summary.setHash(hash);
+			summary.setCreatedAt(createdAt);
+			summary.setUpdatedAt(createdAt);
+			return summary;
+		}
+	}
+
+}
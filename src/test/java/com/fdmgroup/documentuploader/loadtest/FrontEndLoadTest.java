@@ -0,0 +1,111 @@
+package com.fdmgroup.documentuploader.loadtest;
+
+import com.fdmgroup.documentuploader.DocumentuploaderApplication;
+import com.fdmgroup.documentuploader.loadtest.LoadGenerator.VirtualUser;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.user.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>
+ * Runs the whole front end against an in-process {@link DataServiceStandIn}
+ * and drives it with a {@link LoadGenerator}, then prints the throughput and
+ * latency percentiles of each step of the flow. Run with
+ * {@code mvn test -P load-test -Dtest=FrontEndLoadTest}.
+ * </p>
+ * <p>
+ * The front end is started once for each request handling mode, blocking and
+ * then reactive ({@code app.request-handling.reactive}), against the same data
+ * service and users, and the percentiles of both runs are printed side by side.
+ * The modes run, and their order, are chosen with {@code load.modes}, e.g.
+ * {@code -Dload.modes=reactive,blocking} to check that the first run is not
+ * penalised by a cold JVM.
+ * </p>
+ * <p>
+ * The load can be shaped with the system properties {@code load.users},
+ * {@code load.duration} (ISO-8601, e.g. {@code PT1M}) of each run,
+ * {@code load.upload-size} in bytes, and the behaviour of the data service
+ * with {@code load.data-service.latency}, {@code load.data-service.jitter} and
+ * {@code load.data-service.error-rate}.
+ * </p>
+ */
+@Tag("load")
+class FrontEndLoadTest {
+
+	private static final String PASSWORD = "password";
+	private static final String REACTIVE = "reactive";
+
+	private static final DataServiceStandIn dataService = DataServiceStandIn.start();
+
+	@AfterAll
+	static void stopDataService() {
+		dataService.close();
+	}
+
+	@Test
+	void testFrontEnd_underConcurrentLoad_blockingAndReactive() throws InterruptedException {
+		int users = Integer.getInteger("load.users", 20);
+		Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+		String[] modes = System.getProperty("load.modes", "blocking," + REACTIVE).split("\\s*,\\s*");
+		dataService.setLatency(Duration.parse(System.getProperty("load.data-service.latency", "PT0.005S")),
+				Duration.parse(System.getProperty("load.data-service.jitter", "PT0.005S")));
+		dataService.setErrorRate(Double.parseDouble(System.getProperty("load.data-service.error-rate", "0")));
+
+		List<VirtualUser> virtualUsers = new ArrayList<>();
+		Map<String, LoadReport> reports = new LinkedHashMap<>();
+		for (String mode : modes) {
+			try (ConfigurableApplicationContext context = startFrontEnd(REACTIVE.equals(mode))) {
+				if (virtualUsers.isEmpty()) {
+					addUsers(users, context.getBean(PasswordEncoder.class), virtualUsers);
+				}
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				long requestsServed = dataService.getRequestsServed();
+				long errorsInjected = dataService.getErrorsInjected();
+
+				LoadReport report = new LoadGenerator("http://localhost:" + port, virtualUsers,
+						Integer.getInteger("load.upload-size", 16 * 1024)).run(duration);
+				reports.put(mode, report);
+
+				System.out.println("Front end load test (" + mode + "): " + users + " users for " + duration
+						+ ", data service served " + (dataService.getRequestsServed() - requestsServed)
+						+ " requests (" + (dataService.getErrorsInjected() - errorsInjected) + " injected errors)");
+				System.out.println(report);
+			}
+		}
+
+		System.out.println("Front end load test, latency in ms by request handling mode:");
+		System.out.println(LoadReport.compare(reports));
+		reports.forEach((mode, report) -> LoadGenerator.STEPS
+				.forEach(step -> assertTrue(report.getRequests(step) > 0, step + " never ran " + mode)));
+	}
+
+	private static ConfigurableApplicationContext startFrontEnd(boolean reactive) {
+		return new SpringApplicationBuilder(DocumentuploaderApplication.class)
+				.run("--server.port=0", "--data.service.url=" + dataService.getUrl(),
+						"--app.request-handling.reactive=" + reactive);
+	}
+
+	private static void addUsers(int users, PasswordEncoder passwordEncoder, List<VirtualUser> virtualUsers) {
+		String encodedPassword = passwordEncoder.encode(PASSWORD);
+		for (int i = 0; i < users; i++) {
+			User user = dataService.addUser("load" + i + "@email.com", encodedPassword);
+			dataService.addAccount(user, "loadAccount" + i, ServiceLevel.UNLIMITED);
+			virtualUsers.add(new VirtualUser(user.getEmail(), PASSWORD, "loadAccount" + i));
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+package com.fdmgroup.documentuploader.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * <p>
+ * Drives the front end with a number of virtual users, each repeating a
+ * scripted flow through the pages for a fixed duration: it logs in, opens the
+ * dashboard, the settings and one of its accounts, uploads a document,
+ * downloads it again and deletes it. Every request is timed and recorded in a
+ * {@link LoadReport} under the step which sent it.
+ * </p>
+ * <p>
+ * Each virtual user runs on its own thread and sends its requests one after
+ * the other, like a browser would, carrying its session cookie and CSRF token.
+ * A step which fails ends the current flow and the virtual user starts a new
+ * one.
+ * </p>
+ *
+ * @author Noah Anderson
+ */
+public class LoadGenerator {
+
+	public static final String LOGIN = "login";
+	public static final String DASHBOARD = "dashboard";
+	public static final String SETTINGS = "settings";
+	public static final String ACCOUNT = "account";
+	public static final String UPLOAD = "upload";
+	public static final String DOWNLOAD = "download";
+	public static final String DELETE = "delete";
+	public static final List<String> STEPS = Arrays.asList(LOGIN, DASHBOARD, SETTINGS, ACCOUNT, UPLOAD,
+			DOWNLOAD, DELETE);
+
+	private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+	private static final String CSRF_HEADER = "X-CSRF-TOKEN";
+	private static final String BOUNDARY = "load-test-boundary";
+
+	private final String baseUrl;
+	private final List<VirtualUser> virtualUsers;
+	private final int uploadSize;
+
+	/**
+	 * @param baseUrl      the URL the front end is served from
+	 * @param virtualUsers the users to log in as, one virtual user for each
+	 * @param uploadSize   the size, in bytes, of each uploaded document
+	 */
+	public LoadGenerator(String baseUrl, List<VirtualUser> virtualUsers, int uploadSize) {
+		this.baseUrl = baseUrl;
+		this.virtualUsers = virtualUsers;
+		this.uploadSize = uploadSize;
+	}
+
+	/**
+	 * Runs every virtual user until the given duration has elapsed and waits for
+	 * the flows in progress to finish.
+	 *
+	 * @param duration how long to start new flows for
+	 * @return the report of every request sent
+	 * @throws InterruptedException if interrupted while waiting for the virtual
+	 *                              users to finish
+	 */
+	public LoadReport run(Duration duration) throws InterruptedException {
+		LoadReport report = new LoadReport(STEPS);
+		ExecutorService executor = Executors.newFixedThreadPool(virtualUsers.size());
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+		for (int i = 0; i < virtualUsers.size(); i++) {
+			VirtualUser virtualUser = virtualUsers.get(i);
+			String documentPrefix = "load" + i + "x";
+			executor.execute(() -> {
+				for (int iteration = 0; System.nanoTime() < deadline; iteration++) {
+					new Flow(virtualUser, documentPrefix + iteration, report).run();
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+		report.finish(System.nanoTime() - start);
+		return report;
+	}
+
+	/**
+	 * The credentials and account of a user the load generator logs in as.
+	 */
+	public static final class VirtualUser {
+
+		private final String email;
+		private final String password;
+		private final String accountName;
+
+		public VirtualUser(String email, String password, String accountName) {
+			this.email = email;
+			this.password = password;
+			this.accountName = accountName;
+		}
+	}
+
+	/**
+	 * One run through the scripted flow, in its own session.
+	 */
+	private final class Flow {
+
+		private final VirtualUser virtualUser;
+		private final String documentName;
+		private final LoadReport report;
+		private final Map<String, String> cookies = new LinkedHashMap<>();
+
+		private Flow(VirtualUser virtualUser, String documentName, LoadReport report) {
+			this.virtualUser = virtualUser;
+			this.documentName = documentName;
+			this.report = report;
+		}
+
+		private void run() {
+			try {
+				Response loginPage = send(LOGIN, "GET", "/login", null, null, null);
+				String credentials = "email=" + encode(virtualUser.email) + "&password="
+						+ encode(virtualUser.password);
+				if (!isRedirectTo(send(LOGIN, "POST", "/login", csrfToken(loginPage),
+						"application/x-www-form-urlencoded", credentials.getBytes(StandardCharsets.UTF_8)),
+						"/dashboard")) {
+					return;
+				}
+				if (!isOk(send(DASHBOARD, "GET", "/dashboard", null, null, null))) {
+					return;
+				}
+				if (!isOk(send(SETTINGS, "GET", "/settings", null, null, null))) {
+					return;
+				}
+				String accountPath = "/account/" + encode(virtualUser.accountName);
+				Response accountPage = send(ACCOUNT, "GET", accountPath, null, null, null);
+				if (!isOk(accountPage)) {
+					return;
+				}
+				byte[] content = new byte[uploadSize];
+				ThreadLocalRandom.current().nextBytes(content);
+				if (!isRedirectTo(send(UPLOAD, "POST", "/account", csrfToken(accountPage),
+						"multipart/form-data; boundary=" + BOUNDARY, multipart(content)), accountPath)) {
+					return;
+				}
+				Response download = send(DOWNLOAD, "GET", "/account/downloadDocument/" + documentName, null,
+						null, null);
+				if (!isOk(download) || !Arrays.equals(content, download.body)) {
+					return;
+				}
+				isRedirectTo(send(DELETE, "GET", "/account/deleteDocument/" + documentName, null, null, null),
+						accountPath);
+			} catch (IOException e) {
+				// The failed step has been recorded, so only this flow ends
+			}
+		}
+
+		private boolean isOk(Response response) {
+			return response.status == HttpURLConnection.HTTP_OK;
+		}
+
+		private boolean isRedirectTo(Response response, String path) {
+			return response.status == HttpURLConnection.HTTP_MOVED_TEMP && response.location != null
+					&& response.location.endsWith(path);
+		}
+
+		private String csrfToken(Response page) {
+			Matcher matcher = CSRF_TOKEN.matcher(new String(page.body, StandardCharsets.UTF_8));
+			return matcher.find() ? matcher.group(1) : null;
+		}
+
+		private byte[] multipart(byte[] content) throws IOException {
+			ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+			body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\""
+					+ documentName + ".txt\"\r\nContent-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			body.write(content);
+			body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+			return body.toByteArray();
+		}
+
+		/**
+		 * Sends a request in this flow's session and records it under the given
+		 * step. Redirects are not followed, so each request is timed on its own.
+		 */
+		private Response send(String step, String method, String path, String csrfToken, String contentType,
+				byte[] body) throws IOException {
+			long start = System.nanoTime();
+			boolean succeeded = false;
+			try {
+				HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+				connection.setInstanceFollowRedirects(false);
+				connection.setRequestMethod(method);
+				if (!cookies.isEmpty()) {
+					StringBuilder cookieHeader = new StringBuilder();
+					cookies.forEach((name, value) -> cookieHeader.append(cookieHeader.length() == 0 ? "" : "; ")
+							.append(name).append('=').append(value));
+					connection.setRequestProperty("Cookie", cookieHeader.toString());
+				}
+				if (csrfToken != null) {
+					connection.setRequestProperty(CSRF_HEADER, csrfToken);
+				}
+				if (body != null) {
+					connection.setDoOutput(true);
+					connection.setRequestProperty("Content-Type", contentType);
+					connection.setFixedLengthStreamingMode(body.length);
+					try (OutputStream requestBody = connection.getOutputStream()) {
+						requestBody.write(body);
+					}
+				}
+				Response response = new Response(connection);
+				storeCookies(connection);
+				succeeded = response.status < HttpURLConnection.HTTP_BAD_REQUEST;
+				return response;
+			} finally {
+				report.record(step, System.nanoTime() - start, succeeded);
+			}
+		}
+
+		private void storeCookies(HttpURLConnection connection) {
+			List<String> setCookies = connection.getHeaderFields().get("Set-Cookie");
+			if (setCookies == null) {
+				return;
+			}
+			for (String setCookie : setCookies) {
+				String cookie = setCookie.split(";", 2)[0];
+				int separator = cookie.indexOf('=');
+				cookies.put(cookie.substring(0, separator), cookie.substring(separator + 1));
+			}
+		}
+	}
+
+	private static final class Response {
+
+		private final int status;
+		private final String location;
+		private final byte[] body;
+
+		private Response(HttpURLConnection connection) throws IOException {
+			this.status = connection.getResponseCode();
+			this.location = connection.getHeaderField("Location");
+			InputStream responseBody = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream()
+					: connection.getErrorStream();
+			if (responseBody == null) {
+				this.body = new byte[0];
+			} else {
+				try (InputStream in = responseBody) {
+					this.body = StreamUtils.copyToByteArray(in);
+				}
+			}
+		}
+	}
+
+	private static String encode(String value) throws IOException {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.fdmgroup.documentuploader.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the latency and outcome of every request sent by a
+ * {@link LoadGenerator}, grouped by the step of the flow which sent it, and
+ * summarises them as throughput and latency percentiles.
+ *
+ * @author Noah Anderson
+ */
+public class LoadReport {
+
+	private final Map<String, StepStatistics> steps = new LinkedHashMap<>();
+	private volatile long elapsedNanos;
+
+	/**
+	 * @param stepNames the steps of the flow, in the order they are reported in
+	 */
+	public LoadReport(List<String> stepNames) {
+		stepNames.forEach(step -> steps.put(step, new StepStatistics()));
+	}
+
+	void record(String step, long latencyNanos, boolean succeeded) {
+		steps.get(step).record(latencyNanos, succeeded);
+	}
+
+	void finish(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getRequests() {
+		return steps.values().stream().mapToLong(StepStatistics::getRequests).sum();
+	}
+
+	public long getErrors() {
+		return steps.values().stream().mapToLong(StepStatistics::getErrors).sum();
+	}
+
+	public long getRequests(String step) {
+		return steps.get(step).getRequests();
+	}
+
+	/**
+	 * @return the requests completed per second over the whole run
+	 */
+	public double getThroughput() {
+		return getRequests() / (elapsedNanos / 1e9);
+	}
+
+	/**
+	 * @param step       the step of the flow
+	 * @param percentile the percentile, between {@code 0} and {@code 100}
+	 * @return the latency of the step at the given percentile, in milliseconds
+	 */
+	public double getLatencyMillis(String step, double percentile) {
+		return steps.get(step).getLatencyMillis(percentile);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder(String.format("%-10s %9s %7s %9s %9s %9s %9s %9s%n", "step",
+				"requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		double seconds = elapsedNanos / 1e9;
+		steps.forEach((step, statistics) -> report.append(String.format("%-10s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+				step, statistics.getRequests(), statistics.getErrors(), statistics.getRequests() / seconds,
+				statistics.getLatencyMillis(50), statistics.getLatencyMillis(90), statistics.getLatencyMillis(99),
+				statistics.getLatencyMillis(100))));
+		report.append(String.format("%-10s %9d %7d %9.1f%n", "total", getRequests(), getErrors(), getThroughput()));
+		return report.toString();
+	}
+
+	/**
+	 * Lays out the median and 99th percentile latency of each step, and the total
+	 * throughput, of runs of the same flow side by side.
+	 *
+	 * @param reports the report of each run, keyed by the name it is shown under
+	 * @return the comparison, one line for each step
+	 */
+	public static String compare(Map<String, LoadReport> reports) {
+		StringBuilder comparison = new StringBuilder(String.format("%-10s", "step"));
+		reports.keySet().forEach(run -> comparison.append(String.format(" %14s %14s", run + " p50", run + " p99")));
+		comparison.append(String.format("%n"));
+		for (String step : reports.values().iterator().next().steps.keySet()) {
+			comparison.append(String.format("%-10s", step));
+			reports.values().forEach(report -> comparison.append(String.format(" %14.1f %14.1f",
+					report.getLatencyMillis(step, 50), report.getLatencyMillis(step, 99))));
+			comparison.append(String.format("%n"));
+		}
+		comparison.append(String.format("%-10s", "req/s"));
+		reports.values().forEach(report -> comparison.append(String.format(" %29.1f", report.getThroughput())));
+		comparison.append(String.format("%n"));
+		return comparison.toString();
+	}
+
+	private static final class StepStatistics {
+
+		private long[] latencies = new long[1024];
+		private int requests;
+		private int errors;
+
+		private synchronized void record(long latencyNanos, boolean succeeded) {
+			if (requests == latencies.length) {
+				latencies = Arrays.copyOf(latencies, latencies.length * 2);
+			}
+			latencies[requests++] = latencyNanos;
+			if (!succeeded) {
+				errors++;
+			}
+		}
+
+		private synchronized long getRequests() {
+			return requests;
+		}
+
+		private synchronized long getErrors() {
+			return errors;
+		}
+
+		/**
+		 * Uses the nearest-rank method, so the result is always a latency which
+		 * was actually recorded.
+		 */
+		private synchronized double getLatencyMillis(double percentile) {
+			if (requests == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, requests);
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(percentile / 100 * requests);
+			return sorted[Math.max(rank, 1) - 1] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.fdmgroup.documentuploader.model.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountSummaryTest {
+
+	private static final String TEXT = "text";
+	private static final String DOCX = "docx";
+
+	@Test
+	void testHasDocument_findsDocumentsByName() {
+		AccountSummary account = new AccountSummary(1L, TEXT, null, ServiceLevel.GOLD, null,
+				Collections.singleton(new DocumentSummary(TEXT, DOCX, 4)));
+
+		assertTrue(account.hasDocument(TEXT));
+		assertFalse(account.hasDocument("other"));
+	}
+
+	@Test
+	void testHasDocument_matchesComposedAndDecomposedNames_butNotOtherCases() {
+		String composed = "caf\u00e9";
+		String decomposed = "cafe\u0301";
+		AccountSummary account = new AccountSummary(1L, TEXT, null, ServiceLevel.GOLD, null,
+				Collections.singleton(new DocumentSummary(decomposed, DOCX, 4)));
+
+		assertTrue(account.hasDocument(composed));
+		assertTrue(account.hasDocument(decomposed));
+		assertFalse(account.hasDocument("CAF\u00c9"));
+	}
+
+	@Test
+	void testAccountSummary_isNotChangedByTheSetsItWasCreatedWith_andCannotBeChanged() {
+		Set<DocumentSummary> documents = new HashSet<>();
+		documents.add(new DocumentSummary(TEXT, DOCX, 4));
+		AccountSummary account = new AccountSummary(1L, TEXT, null, ServiceLevel.GOLD, null, documents);
+
+		documents.clear();
+
+		assertEquals(1, account.getDocuments().size());
+		assertTrue(account.getUsers().isEmpty());
+		assertThrows(UnsupportedOperationException.class, () -> account.getDocuments().clear());
+	}
+
+	@Test
+	void testAccountSummary_canBeReadFromAnAccountWithDocumentContents() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		Account account = new Account.AccountBuilder()
+				.setName(TEXT)
+				.setServiceLevel(ServiceLevel.GOLD)
+				.setDocuments(Collections.singleton(new Document(TEXT, DOCX, TEXT.getBytes())))
+				.build();
+
+		AccountSummary summary = objectMapper.readValue(objectMapper.writeValueAsBytes(account), AccountSummary.class);
+
+		assertEquals(TEXT, summary.getName());
+		assertTrue(summary.hasDocument(TEXT));
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.fdmgroup.documentuploader.model.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentTest {
+
+	private static final String TEXT = "text";
+	private static final String DOCX = "docx";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void testEquals_comparesContentsByHash_whenTheyAreSeparateArrays() {
+		Document document = new Document(TEXT, DOCX, "contents".getBytes());
+		Document equalDocument = new Document(TEXT, DOCX, "contents".getBytes());
+		Document otherDocument = new Document(TEXT, DOCX, "other contents".getBytes());
+
+		assertEquals(document, equalDocument);
+		assertEquals(document.hashCode(), equalDocument.hashCode());
+		assertNotEquals(document, otherDocument);
+	}
+
+	@Test
+	void testEquals_returnsFalseBeforeComparingHashes_whenTheContentLengthsDiffer() {
+		Document document = new Document(TEXT, DOCX, "contents".getBytes());
+		Document longerDocument = new Document(TEXT, DOCX, "longer contents".getBytes());
+		document.setHash(TEXT);
+		longerDocument.setHash(TEXT);
+
+		assertNotEquals(document, longerDocument);
+	}
+
+	@Test
+	void testGetHash_isCachedUntilTheContentsAreReplaced() {
+		Document document = new Document(TEXT, DOCX, "contents".getBytes());
+		String hash = document.getHash();
+
+		assertSame(hash, document.getHash());
+
+		document.setContent("other contents".getBytes());
+
+		assertNotEquals(hash, document.getHash());
+	}
+
+	@Test
+	void testSerialisation_leavesOutContentsWhichHaveNotBeenLoaded() throws IOException {
+		AtomicInteger retrievals = new AtomicInteger();
+		Document document = new Document();
+		document.setName(TEXT);
+		document.setContentSource(() -> {
+			retrievals.incrementAndGet();
+			return new ByteArrayInputStream("contents".getBytes());
+		});
+		document.setHash(TEXT);
+
+		String json = objectMapper.writeValueAsString(document);
+
+		assertFalse(json.contains("\"content\""));
+		assertEquals(0, retrievals.get());
+	}
+
+	@Test
+	void testSerialisation_keepsContentsWhichAreLoaded() throws IOException {
+		Document document = new Document(TEXT, DOCX, "contents".getBytes());
+
+		Document actual = objectMapper.readValue(objectMapper.writeValueAsString(document), Document.class);
+
+		assertTrue(actual.isContentLoaded());
+		assertArrayEquals("contents".getBytes(), actual.getContent());
+		assertEquals(document, actual);
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.fdmgroup.documentuploader.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class ApplicationSecurityConfigurationTest {
+
+	private static final String PROMETHEUS = "/actuator/prometheus";
+	private static final String TIMING = "/actuator/timing";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testPrometheus_isNotServed_withoutAuthentication() throws Exception {
+		mockMvc.perform(get(PROMETHEUS))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testPrometheus_isForbidden_forUsers() throws Exception {
+		mockMvc.perform(get(PROMETHEUS))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void testTimingSettings_cannotBeChanged_byUsers() throws Exception {
+		mockMvc.perform(post(TIMING)
+				.with(csrf())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"enabled\":false}"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void testTimingSettings_rejectSampleRatesOutsideZeroToOne() throws Exception {
+		mockMvc.perform(post(TIMING)
+				.with(csrf())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"sampleRate\":1.5}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void testPrometheus_isServed_toAdmins() throws Exception {
+		mockMvc.perform(get(PROMETHEUS))
+				.andExpect(status().isOk());
+	}
+
+}
@@ -1,9 +1,14 @@
 package com.fdmgroup.documentuploader.service;
 
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.WriteBehind;
 import com.fdmgroup.documentuploader.exception.PasswordsDoNotMatchException;
 import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 import com.fdmgroup.documentuploader.service.api.user.UserApiService;
 import com.fdmgroup.documentuploader.service.user.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +20,8 @@ import org.springframework.context.MessageSource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.*;
@@ -45,7 +52,11 @@ class UserServiceTest {
 	@BeforeEach
 	void setup() throws Exception {
 		MockitoAnnotations.initMocks(this);
-		this.userService = new UserService(mockUserApiService, mockMessageSource, mockPasswordEncoder);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setWriteBehind(new WriteBehind(10, Duration.ofMillis(100), 0, Duration.ZERO, Duration.ofSeconds(1)))
+				.build();
+		this.userService = new UserService(mockUserApiService, mockMessageSource, mockPasswordEncoder,
+				new WriteBehindQueue(applicationProperties, mockMessageSource, new SimpleMeterRegistry()));
 	}
 
 	@Test
@@ -66,14 +77,36 @@ class UserServiceTest {
 	@Test
 	void testUpdatePassword_returnsUserWithUpdatedPassword_whenCurrentPasswordIsCorrect_and_newPasswordMatchesNewPasswordConfirmation()
 			throws PasswordsDoNotMatchException {
-		when(mockUser.getPassword()).thenReturn(NEW_PASSWORD);
+		User user = createUser();
+		when(mockPasswordEncoder.matches(anyString(), anyString())).thenReturn(true);
+		when(mockPasswordEncoder.encode(anyString())).thenReturn(ENCODED_PASSWORD);
+		when(mockUserApiService.update(any(User.class))).thenReturn(Mono.just(user));
+
+		User updatedUser = userService.updatePassword(user, CURRENT_PASSWORD, NEW_PASSWORD, NEW_PASSWORD);
+
+		assertEquals(ENCODED_PASSWORD, updatedUser.getPassword());
+		assertEquals(CURRENT_PASSWORD, user.getPassword());
+		verify(mockUserApiService).update(updatedUser);
+	}
+
+	@Test
+	void testUpdatePassword_throwsException_andLeavesTheUserUnchanged_whenTheUpdateFails() {
+		User user = createUser();
 		when(mockPasswordEncoder.matches(anyString(), anyString())).thenReturn(true);
 		when(mockPasswordEncoder.encode(anyString())).thenReturn(ENCODED_PASSWORD);
-		when(mockUserApiService.update(mockUser)).thenReturn(Mono.just(mockUser));
+		when(mockUserApiService.update(any(User.class))).thenReturn(Mono.error(new IllegalStateException()));
 
-		userService.updatePassword(mockUser, CURRENT_PASSWORD, NEW_PASSWORD, NEW_PASSWORD);
+		assertThrows(IllegalStateException.class,
+				() -> userService.updatePassword(user, CURRENT_PASSWORD, NEW_PASSWORD, NEW_PASSWORD));
+		assertEquals(CURRENT_PASSWORD, user.getPassword());
+	}
 
-		verify(mockUser).setPassword(ENCODED_PASSWORD);
+	private User createUser() {
+		User user = new User();
+		user.setId(1L);
+		user.setEmail(TEST_EMAIL);
+		user.setPassword(CURRENT_PASSWORD);
+		return user;
 	}
 
 	@Test
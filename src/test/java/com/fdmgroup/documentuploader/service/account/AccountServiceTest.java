@@ -1,32 +1,54 @@
 package com.fdmgroup.documentuploader.service.account;
 
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Documents;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.WriteBehind;
 import com.fdmgroup.documentuploader.exception.CannotAddUserToAccountException;
 import com.fdmgroup.documentuploader.exception.CannotRemoveUserFromAccountException;
 import com.fdmgroup.documentuploader.exception.FileException;
 import com.fdmgroup.documentuploader.exception.InvalidServiceLevelException;
 import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
 import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
 import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.upload.FileUploadResult;
 import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.metrics.DocumentDeduplicationMetrics;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
 import com.fdmgroup.documentuploader.service.api.account.AccountApiService;
+import com.fdmgroup.documentuploader.service.api.document.DocumentApiService;
 import com.fdmgroup.documentuploader.service.user.UserService;
-import com.fdmgroup.documentuploader.util.DocumentUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.logging.log4j.util.Strings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.MessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.mock.web.MockMultipartFile;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AccountServiceTest {
@@ -36,7 +58,11 @@ class AccountServiceTest {
 	private static final String BRONZE_SERVICE_LEVEL_NAME = "bronze";
 	private static final String TEST = "test";
 	private static final String FILE = "file";
+	private static final String TEXT = "text";
 	private static final String TEST_FILE_PATH = "text.docx";
+	private static final String DOCX = "docx";
+	private static final int BUFFER_SIZE = 8192;
+	private static final String TEST_SHA_256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
 
 	private AccountService accountService;
 
@@ -44,10 +70,7 @@ class AccountServiceTest {
 	private User mockUser;
 
 	@Mock
-	private Account mockAccount;
-
-	@Mock
-	private Document mockDocument;
+	private AccountSummary mockAccount;
 
 	@Mock
 	private UserService mockUserService;
@@ -55,15 +78,31 @@ class AccountServiceTest {
 	@Mock
 	private AccountApiService mockAccountApiService;
 
+	@Mock
+	private DocumentApiService mockDocumentApiService;
+
 	@Mock
 	private MessageSource mockMessageSource;
 
+	private SimpleMeterRegistry meterRegistry;
+
 	private MockMultipartFile mockMultipartFile;
 
 	@BeforeEach
 	void setup() throws Exception {
 		MockitoAnnotations.initMocks(this);
-		this.accountService = new AccountService(mockUserService, mockAccountApiService, mockMessageSource);
+		this.accountService = createAccountService(true);
+	}
+
+	private AccountService createAccountService(boolean streamingUpload) {
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setDocuments(new Documents(streamingUpload, BUFFER_SIZE, 2))
+				.setWriteBehind(new WriteBehind(10, Duration.ofMillis(100), 0, Duration.ZERO, Duration.ofSeconds(1)))
+				.build();
+		this.meterRegistry = new SimpleMeterRegistry();
+		return new AccountService(mockUserService, mockAccountApiService, mockDocumentApiService, mockMessageSource,
+				applicationProperties, new DocumentDeduplicationMetrics(meterRegistry), Schedulers.boundedElastic(),
+				new WriteBehindQueue(applicationProperties, mockMessageSource, meterRegistry));
 	}
 
 	@Test
@@ -84,12 +123,13 @@ class AccountServiceTest {
 		accountUsers.add(mockUser);
 		when(mockAccount.getUsers()).thenReturn(accountUsers);
 		when(mockUserService.findById(anyLong())).thenReturn(Optional.of(mockUser));
-		when(mockAccountApiService.update(mockAccount)).thenReturn(Mono.just(mockAccount));
+		when(mockAccountApiService.update(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
-		Account result = accountService.removeUserFromAccountById(1, mockUser, mockAccount);
+		AccountSummary result = accountService.removeUserFromAccountById(1, mockUser, mockAccount);
 		Set<User> resultUsers = result.getUsers();
 
 		assertFalse(resultUsers.contains(mockUser));
+		assertTrue(accountUsers.contains(mockUser));
 	}
 
 	@Test
@@ -121,18 +161,28 @@ class AccountServiceTest {
 			throws CannotAddUserToAccountException {
 		when(mockAccount.hasMaxUsers()).thenReturn(false);
 		when(mockAccount.getUsers()).thenReturn(new HashSet<>());
-		when(mockAccountApiService.update(mockAccount)).thenReturn(Mono.just(mockAccount));
+		when(mockAccountApiService.update(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 		when(mockUserService.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
 
 		Set<User> expectedAccountUsers = new HashSet<>();
 		expectedAccountUsers.add(mockUser);
 
-		Account actualAccount = accountService.addUserToAccountByEmail(EMAIL, mockAccount);
+		AccountSummary actualAccount = accountService.addUserToAccountByEmail(EMAIL, mockAccount);
 		Set<User> actualAccountUsers = actualAccount.getUsers();
 
 		assertEquals(expectedAccountUsers, actualAccountUsers);
 	}
 
+	@Test
+	void testAddUserWithEmailToAccount_throwsException_whenTheUpdateFails() {
+		when(mockAccount.hasMaxUsers()).thenReturn(false);
+		when(mockAccount.getUsers()).thenReturn(new HashSet<>());
+		when(mockAccountApiService.update(any(Account.class))).thenReturn(Mono.error(new IllegalStateException()));
+		when(mockUserService.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
+
+		assertThrows(IllegalStateException.class, () -> accountService.addUserToAccountByEmail(EMAIL, mockAccount));
+	}
+
 	@Test
 	void testEditServiceLevel_throwsInvalidServiceLevelException_whenNonExistentServiceLevelIsGiven() {
 		assertThrows(InvalidServiceLevelException.class, () -> accountService.updateAccountServiceLevel(mockAccount, INVALID_SERVICE_LEVEL));
@@ -141,12 +191,12 @@ class AccountServiceTest {
 	@Test
 	void testEditServiceLevel_returnsAccountWithSelectedServiceLevel_whenExistingServiceLevelIsGiven()
 			throws InvalidServiceLevelException {
-		when(mockAccount.getServiceLevel()).thenReturn(ServiceLevel.BRONZE);
-		when(mockAccountApiService.update(mockAccount)).thenReturn(Mono.just(mockAccount));
+		when(mockAccount.getServiceLevel()).thenReturn(ServiceLevel.GOLD);
+		when(mockAccountApiService.update(any(Account.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
 		ServiceLevel expectedAccountServiceLevel = ServiceLevel.BRONZE;
 
-		Account actualAccount = accountService.updateAccountServiceLevel(mockAccount, BRONZE_SERVICE_LEVEL_NAME);
+		AccountSummary actualAccount = accountService.updateAccountServiceLevel(mockAccount, BRONZE_SERVICE_LEVEL_NAME);
 		ServiceLevel actualServiceLevel = actualAccount.getServiceLevel();
 
 		assertEquals(expectedAccountServiceLevel, actualServiceLevel);
@@ -154,39 +204,201 @@ class AccountServiceTest {
 
 	@Test
 	void testAddFileToAccount_throwsFileException_whenFileIsAlreadyOnAccount() throws IOException {
-		Set<Document> accountDocuments = new HashSet<>();
-		mockMultipartFile = new MockMultipartFile("text", TEST_FILE_PATH, TEST, TEST.getBytes());
-		accountDocuments.add(DocumentUtil.createDocument(mockMultipartFile));
-		when(mockAccount.getDocuments()).thenReturn(accountDocuments);
-		assertThrows(FileException.class, () -> accountService.addFileToAccount(mockMultipartFile, mockAccount));
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		AccountSummary account = createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(TEXT, DOCX, 4));
+		assertThrows(FileException.class, () -> accountService.addFileToAccount(mockMultipartFile, account));
+		verify(mockAccountApiService, never()).addDocumentStreamToAccountByAccountId(anyString(), anyString(),
+				any(Resource.class), anyLong());
+	}
+
+	@Test
+	void testAddFileToAccount_throwsFileException_whenTheUploadLimitOfTheServiceLevelIsReached() throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		AccountSummary account = createAccountSummary(ServiceLevel.BRONZE, new DocumentSummary(FILE, DOCX, 4),
+				new DocumentSummary(TEST, DOCX, 4));
+		assertThrows(FileException.class, () -> accountService.addFileToAccount(mockMultipartFile, account));
+		verify(mockAccountApiService, never()).addDocumentStreamToAccountByAccountId(anyString(), anyString(),
+				any(Resource.class), anyLong());
+		verify(mockAccountApiService, never()).addDocumentToAccountByAccountId(any(Document.class), anyLong());
 	}
 
 	@Test
 	void testAddFileToAccount_throwsFileException_whenFileIsEmpty() throws IOException {
-		Set<Document> accountDocuments = new HashSet<>();
-		mockMultipartFile = new MockMultipartFile("text", TEST_FILE_PATH, TEST, Strings.EMPTY.getBytes());
-		when(mockAccount.getDocuments()).thenReturn(accountDocuments);
-		assertThrows(FileException.class, () -> accountService.addFileToAccount(mockMultipartFile, mockAccount));
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, Strings.EMPTY.getBytes());
+		assertThrows(FileException.class,
+				() -> accountService.addFileToAccount(mockMultipartFile, createAccountSummary(ServiceLevel.GOLD)));
+	}
+
+	@Test
+	void testAddFileToAccount_streamsFileToAccountApiService_whenStreamingUploadIsEnabled() throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		AccountSummary updatedAccount = createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(TEXT, DOCX, 4));
+		when(mockAccountApiService.addDocumentStreamToAccountByAccountId(eq(TEXT), eq(DOCX), any(Resource.class),
+				anyLong())).thenReturn(updatedAccount);
+
+		AccountSummary actualAccount = accountService.addFileToAccount(mockMultipartFile,
+				createAccountSummary(ServiceLevel.GOLD));
+
+		assertSame(updatedAccount, actualAccount);
+		verify(mockAccountApiService).addDocumentStreamToAccountByAccountId(eq(TEXT), eq(DOCX), any(Resource.class),
+				anyLong());
+		verify(mockAccountApiService, never()).addDocumentToAccountByAccountId(any(Document.class), anyLong());
+	}
+
+	@Test
+	void testAddFileToAccount_sendsDocumentToAccountApiService_whenStreamingUploadIsDisabled() throws IOException {
+		accountService = createAccountService(false);
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		Document expectedDocument = new Document(TEXT, DOCX, TEST.getBytes());
+		when(mockAccountApiService.addDocumentToAccountByAccountId(expectedDocument, 0L))
+				.thenReturn(createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(TEXT, DOCX, 4)));
+
+		accountService.addFileToAccount(mockMultipartFile, createAccountSummary(ServiceLevel.GOLD));
+
+		verify(mockAccountApiService).addDocumentToAccountByAccountId(expectedDocument, 0L);
+	}
+
+	@Test
+	void testAddFileToAccount_attachesReferenceWithoutUploading_whenContentsAreAlreadyStored() throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		when(mockDocumentApiService.existsByHash(TEST_SHA_256)).thenReturn(true);
+		when(mockAccountApiService.addDocumentReferenceToAccountByAccountId(TEXT, DOCX, TEST_SHA_256, 0L))
+				.thenReturn(Optional.of(createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(TEXT, DOCX, 4))));
+
+		accountService.addFileToAccount(mockMultipartFile, createAccountSummary(ServiceLevel.GOLD));
+
+		verify(mockAccountApiService, never()).addDocumentStreamToAccountByAccountId(anyString(), anyString(),
+				any(Resource.class), anyLong());
+		assertEquals(1.0, meterRegistry.get("documents.deduplication.ratio").gauge().value(), 0);
+	}
+
+	@Test
+	void testAddFileToAccount_uploadsContents_whenStoredContentsAreRemovedBeforeTheReferenceIsAttached()
+			throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		when(mockDocumentApiService.existsByHash(TEST_SHA_256)).thenReturn(true);
+		when(mockAccountApiService.addDocumentReferenceToAccountByAccountId(TEXT, DOCX, TEST_SHA_256, 0L))
+				.thenReturn(Optional.empty());
+		when(mockAccountApiService.addDocumentStreamToAccountByAccountId(eq(TEXT), eq(DOCX), any(Resource.class),
+				anyLong())).thenReturn(createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(TEXT, DOCX, 4)));
+
+		accountService.addFileToAccount(mockMultipartFile, createAccountSummary(ServiceLevel.GOLD));
+
+		verify(mockAccountApiService).addDocumentStreamToAccountByAccountId(eq(TEXT), eq(DOCX), any(Resource.class),
+				anyLong());
+		assertEquals(0.0, meterRegistry.get("documents.deduplication.ratio").gauge().value(), 0);
+	}
+
+	@Test
+	void testAddFilesToAccount_returnsResultOfEachFile_withoutChangingTheGivenAccount() throws IOException {
+		AccountSummary account = createAccountSummary(ServiceLevel.BRONZE,
+				new DocumentSummary("existing", DOCX, TEST.length()));
+		when(mockMessageSource.getMessage(anyString(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(mockAccountApiService.addDocumentStreamToAccountByAccountId(anyString(), eq(DOCX), any(Resource.class),
+				anyLong())).thenReturn(createAccountSummary(ServiceLevel.BRONZE));
+		List<MultipartFile> files = Arrays.asList(
+				new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes()),
+				new MockMultipartFile(FILE, "existing.docx", TEST, TEST.getBytes()),
+				new MockMultipartFile(FILE, "empty.docx", TEST, Strings.EMPTY.getBytes()),
+				new MockMultipartFile(FILE, "other.docx", TEST, TEST.getBytes()));
+
+		List<FileUploadResult> results = accountService.addFilesToAccount(files, account);
+
+		assertEquals(Arrays.asList(
+				FileUploadResult.uploaded(TEST_FILE_PATH),
+				FileUploadResult.failed("existing.docx", "account.file-on-account"),
+				FileUploadResult.failed("empty.docx", "account.choose-file"),
+				FileUploadResult.failed("other.docx", "account.upload-limit")), results);
+		verify(mockAccountApiService, times(1)).addDocumentStreamToAccountByAccountId(anyString(), eq(DOCX),
+				any(Resource.class), anyLong());
+		assertEquals(1, account.getDocuments().size());
+	}
+
+	@Test
+	void testAddFilesToAccount_reportsFailedUpload_withoutFailingTheOtherFiles() throws IOException {
+		when(mockMessageSource.getMessage(anyString(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(mockAccountApiService.addDocumentStreamToAccountByAccountId(eq(TEXT), eq(DOCX), any(Resource.class),
+				anyLong())).thenThrow(new IllegalStateException());
+		when(mockAccountApiService.addDocumentStreamToAccountByAccountId(eq("other"), eq(DOCX), any(Resource.class),
+				anyLong())).thenReturn(createAccountSummary(ServiceLevel.GOLD));
+		List<MultipartFile> files = Arrays.asList(
+				new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes()),
+				new MockMultipartFile(FILE, "other.docx", TEST, TEST.getBytes()));
+
+		List<FileUploadResult> results = accountService.addFilesToAccount(files,
+				createAccountSummary(ServiceLevel.GOLD));
+
+		assertEquals(Arrays.asList(
+				FileUploadResult.failed(TEST_FILE_PATH, "account.could-not-upload"),
+				FileUploadResult.uploaded("other.docx")), results);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { TEXT, "a.", ".a" })
+	void testAddFileToAccount_throwsFileException_whenFileNameHasNoNameOrExtension(String fileName)
+			throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, fileName, TEST, TEST.getBytes());
+		assertThrows(FileException.class,
+				() -> accountService.addFileToAccount(mockMultipartFile, createAccountSummary(ServiceLevel.GOLD)));
+		verify(mockAccountApiService, never()).addDocumentStreamToAccountByAccountId(anyString(), anyString(),
+				any(Resource.class), anyLong());
 	}
 
 	@Test
 	void testRemoveFileFromAccount_throwsFileException_whenNoFileWithTheGivenNameExistsOnTheAccount()
 			throws IOException {
-		when(mockAccount.getDocuments()).thenReturn(new HashSet<>());
-		assertThrows(FileException.class, () -> accountService.removeFileFromAccountByFileName(FILE, mockAccount));
+		assertThrows(FileException.class,
+				() -> accountService.removeFileFromAccountByFileName(FILE, createAccountSummary(ServiceLevel.GOLD)));
 	}
 
 	@Test
 	void testRemoveFileFromAccount_callsAccountApiServiceRemoveDocumentFromAccountByAccountId() throws FileException {
-		Set<Document> documentSet = new HashSet<>();
-		documentSet.add(mockDocument);
-		when(mockAccount.getDocuments()).thenReturn(documentSet);
-		when(mockDocument.getName()).thenReturn(FILE);
-		when(mockAccountApiService.removeDocumentFromAccountByAccountId(FILE, 0L)).thenReturn(mockAccount);
+		AccountSummary updatedAccount = createAccountSummary(ServiceLevel.GOLD);
+		when(mockAccountApiService.removeDocumentFromAccountByAccountId(FILE, 0L)).thenReturn(updatedAccount);
 
-		accountService.removeFileFromAccountByFileName(FILE, mockAccount);
+		AccountSummary actualAccount = accountService.removeFileFromAccountByFileName(FILE,
+				createAccountSummary(ServiceLevel.GOLD, new DocumentSummary(FILE, DOCX, 4)));
 
+		assertSame(updatedAccount, actualAccount);
 		verify(mockAccountApiService, times(1)).removeDocumentFromAccountByAccountId(FILE, 0L);
 	}
 
+	@Test
+	void testGetAllAccountsByUserId_retrievesAccountSummariesFromAccountApiService() {
+		List<AccountSummary> expected = Collections.singletonList(createAccountSummary(ServiceLevel.GOLD));
+		when(mockAccountApiService.findAccountSummariesByUserId(1L)).thenReturn(expected);
+
+		List<AccountSummary> actual = accountService.getAllAccountsByUserId(1L);
+
+		assertEquals(expected, actual);
+		verify(mockAccountApiService, never()).findAccountsByUserId(anyLong());
+	}
+
+	@Test
+	void testEditServiceLevel_updatesTheAccountOfTheSummary_withoutRetrievingDocumentContents() {
+		DocumentSummary documentSummary = new DocumentSummary(TEXT, DOCX, 4);
+		documentSummary.setHash(TEST_SHA_256);
+		when(mockAccountApiService.findSummaryByOwnerId(1L))
+				.thenReturn(Optional.of(createAccountSummary(ServiceLevel.GOLD, documentSummary)));
+		ArgumentCaptor<Account> updatedAccount = ArgumentCaptor.forClass(Account.class);
+		when(mockAccountApiService.update(updatedAccount.capture())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+		AccountSummary account = accountService.findSummaryByOwnerId(1L).get();
+		AccountSummary actual = accountService.updateAccountServiceLevel(account, BRONZE_SERVICE_LEVEL_NAME);
+
+		Document document = updatedAccount.getValue().getDocuments().iterator().next();
+		assertEquals(ServiceLevel.BRONZE, actual.getServiceLevel());
+		assertEquals(account.getDocuments(), actual.getDocuments());
+		assertEquals(TEXT, document.getName());
+		assertEquals(TEST_SHA_256, document.getHash());
+		assertFalse(document.isContentLoaded());
+		verify(mockAccountApiService, never()).findByOwnerId(anyLong());
+		verify(mockDocumentApiService, never()).findContentByName(anyString());
+	}
+
+	private AccountSummary createAccountSummary(ServiceLevel serviceLevel, DocumentSummary... documents) {
+		return new AccountSummary(0L, TEST, mockUser, serviceLevel, Collections.singleton(mockUser),
+				new HashSet<>(Arrays.asList(documents)));
+	}
+
 }
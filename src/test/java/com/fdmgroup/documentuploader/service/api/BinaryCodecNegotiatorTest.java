@@ -0,0 +1,101 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.DataService;
+import com.fdmgroup.documentuploader.model.document.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryCodecNegotiatorTest {
+
+	private static final ResolvableType DOCUMENT_TYPE = ResolvableType.forClass(Document.class);
+
+	private BinaryCodecNegotiator codecNegotiator;
+
+	private final List<MediaType> sentContentTypes = new ArrayList<>();
+
+	@BeforeEach
+	void setup() {
+		DataService dataService = new DataService(50, 100, Duration.ofSeconds(5), Duration.ofSeconds(30),
+				Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(10), true,
+				false, true);
+		this.codecNegotiator = new BinaryCodecNegotiator(
+				new ApplicationPropertiesBuilder().setDataService(dataService).build());
+	}
+
+	@Test
+	void testSend_sendsCbor_whileTheDataServiceAcceptsIt() {
+		codecNegotiator.send(contentType -> Mono.fromRunnable(() -> sentContentTypes.add(contentType))).block();
+
+		assertEquals(Collections.singletonList(MediaType.APPLICATION_CBOR), sentContentTypes);
+		assertArrayEquals(new MediaType[] { MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON },
+				codecNegotiator.getAcceptableMediaTypes());
+	}
+
+	@Test
+	void testSend_resendsAsJson_andKeepsUsingJson_onceTheDataServiceRejectsCbor() {
+		String first = codecNegotiator.send(this::acceptJsonOnly).block();
+		String second = codecNegotiator.send(this::acceptJsonOnly).block();
+
+		assertEquals("sent", first);
+		assertEquals("sent", second);
+		assertEquals(Arrays.asList(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON),
+				sentContentTypes);
+		assertArrayEquals(new MediaType[] { MediaType.APPLICATION_JSON }, codecNegotiator.getAcceptableMediaTypes());
+	}
+
+	@Test
+	void testCborEncoding_carriesDocumentContentsWithoutBase64Inflation() {
+		byte[] content = new byte[30_000];
+		new Random(1).nextBytes(content);
+		Document document = new Document("text", "docx", content);
+
+		DataBuffer cbor = encode(new Jackson2CborEncoder(), document, MediaType.APPLICATION_CBOR);
+		DataBuffer json = encode(new Jackson2JsonEncoder(), document, MediaType.APPLICATION_JSON);
+
+		assertTrue(cbor.readableByteCount() < content.length * 1.01);
+		assertTrue(json.readableByteCount() > content.length * 1.33);
+		Document decoded = (Document) new Jackson2CborDecoder()
+				.decodeToMono(Mono.just(cbor), DOCUMENT_TYPE, MediaType.APPLICATION_CBOR, null)
+				.block();
+		assertArrayEquals(content, decoded.getContent());
+	}
+
+	private Mono<String> acceptJsonOnly(MediaType contentType) {
+		return Mono.defer(() -> {
+			sentContentTypes.add(contentType);
+			if (MediaType.APPLICATION_CBOR.equals(contentType)) {
+				return Mono.error(WebClientResponseException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), "",
+						null, null, null));
+			}
+			return Mono.just("sent");
+		});
+	}
+
+	private DataBuffer encode(Encoder<Object> encoder, Document document, MediaType mediaType) {
+		return encoder.encodeValue(document, new DefaultDataBufferFactory(), DOCUMENT_TYPE, mediaType, null);
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import com.fdmgroup.documentuploader.enums.ApiUri;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class RequestCoalescerTest {
+
+	private static final String KEY = "email=testEmail@email.com";
+	private static final String RESULT = "result";
+
+	private RequestCoalescer requestCoalescer;
+	private SimpleMeterRegistry meterRegistry;
+	private AtomicInteger requestsSent;
+
+	@BeforeEach
+	void setup() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.requestCoalescer = new RequestCoalescer(meterRegistry);
+		this.requestsSent = new AtomicInteger();
+	}
+
+	@Test
+	void testCoalesce_sendsOneRequest_forIdenticalRequestsInFlightAtTheSameTime() {
+		MonoProcessor<String> response = MonoProcessor.create();
+		Mono<String> first = requestCoalescer.coalesce(ApiUri.USERS, KEY, () -> send(response), UnaryOperator.identity());
+		Mono<String> second = requestCoalescer.coalesce(ApiUri.USERS, KEY, () -> send(response), UnaryOperator.identity());
+
+		MonoProcessor<String> firstResult = first.toProcessor();
+		MonoProcessor<String> secondResult = second.toProcessor();
+		response.onNext(RESULT);
+
+		assertEquals(RESULT, firstResult.block());
+		assertEquals(RESULT, secondResult.block());
+		assertEquals(1, requestsSent.get());
+		assertEquals(1.0, meterRegistry.get("data-service.requests.coalesced")
+				.tag("uri", ApiUri.USERS.getUri())
+				.counter()
+				.count());
+	}
+
+	@Test
+	void testCoalesce_sendsANewRequest_onceTheRequestInFlightHasCompleted() {
+		requestCoalescer.coalesce(ApiUri.USERS, KEY, () -> send(Mono.just(RESULT)), UnaryOperator.identity()).block();
+		requestCoalescer.coalesce(ApiUri.USERS, KEY, () -> send(Mono.just(RESULT)), UnaryOperator.identity()).block();
+
+		assertEquals(2, requestsSent.get());
+	}
+
+	@Test
+	void testCoalesce_sendsSeparateRequests_forDifferentKeysOrUris() {
+		MonoProcessor<String> response = MonoProcessor.create();
+		MonoProcessor<String> first = requestCoalescer.coalesce(ApiUri.USERS, KEY, () -> send(response), UnaryOperator.identity())
+				.toProcessor();
+		MonoProcessor<String> second = requestCoalescer.coalesce(ApiUri.USERS, "id=1", () -> send(response), UnaryOperator.identity())
+				.toProcessor();
+		MonoProcessor<String> third = requestCoalescer.coalesce(ApiUri.ACCOUNTS, KEY, () -> send(response), UnaryOperator.identity())
+				.toProcessor();
+		response.onNext(RESULT);
+
+		first.block();
+		second.block();
+		third.block();
+		assertEquals(3, requestsSent.get());
+	}
+
+	@Test
+	void testCoalesce_givesEachCallerItsOwnCopy_ofTheSharedResult() {
+		MonoProcessor<StringBuilder> response = MonoProcessor.create();
+		MonoProcessor<StringBuilder> first = requestCoalescer
+				.coalesce(ApiUri.USERS, KEY, () -> response, StringBuilder::new)
+				.toProcessor();
+		MonoProcessor<StringBuilder> second = requestCoalescer
+				.coalesce(ApiUri.USERS, KEY, () -> response, StringBuilder::new)
+				.toProcessor();
+		response.onNext(new StringBuilder(RESULT));
+
+		first.block().append("-changed");
+
+		assertNotSame(first.block(), second.block());
+		assertEquals(RESULT, second.block().toString());
+	}
+
+	@Test
+	void testCoalescer_registersTheCoalescedCounter_forEveryUri() {
+		for (ApiUri apiUri : ApiUri.values()) {
+			assertEquals(0.0, meterRegistry.get("data-service.requests.coalesced")
+					.tag("uri", apiUri.getUri())
+					.counter()
+					.count());
+		}
+	}
+
+	private Mono<String> send(Mono<String> response) {
+		requestsSent.incrementAndGet();
+		return response;
+	}
+
+}
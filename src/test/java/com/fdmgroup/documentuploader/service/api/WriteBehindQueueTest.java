@@ -0,0 +1,119 @@
+package com.fdmgroup.documentuploader.service.api;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.WriteBehind;
+import com.fdmgroup.documentuploader.exception.WriteQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindQueueTest {
+
+	private static final String ACCOUNT = "account:1";
+	private static final String OTHER_ACCOUNT = "account:2";
+
+	@Mock
+	private MessageSource mockMessageSource;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private WriteBehindQueue writeBehindQueue;
+
+	private final List<String> sentWrites = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setWriteBehind(new WriteBehind(3, Duration.ofMillis(50), 2, Duration.ofMillis(1), Duration.ofSeconds(1)))
+				.build();
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.writeBehindQueue = new WriteBehindQueue(applicationProperties, mockMessageSource, meterRegistry);
+	}
+
+	@Test
+	void testSubmit_sendsWritesForTheSameEntityInOrder_onlyAfterThePreviousWriteCompletes() {
+		MonoProcessor<Object> firstResponse = MonoProcessor.create();
+		writeBehindQueue.submit(ACCOUNT, () -> record("first").then(firstResponse), true);
+		writeBehindQueue.submit(ACCOUNT, () -> record("second"), true);
+		writeBehindQueue.submit(OTHER_ACCOUNT, () -> record("other"), true);
+
+		assertEquals(Arrays.asList("first", "other"), sentWrites);
+
+		firstResponse.onComplete();
+
+		assertEquals(Arrays.asList("first", "other", "second"), sentWrites);
+		assertEquals(0, writeBehindQueue.getPendingWrites());
+	}
+
+	@Test
+	void testSubmitUpdate_replacesAnUpdateOfTheSameEntityWhichIsStillWaiting() {
+		MonoProcessor<Object> firstResponse = MonoProcessor.create();
+		writeBehindQueue.submitUpdate(ACCOUNT, () -> record("first").then(firstResponse));
+		Mono<Void> second = writeBehindQueue.submitUpdate(ACCOUNT, () -> record("second"));
+		Mono<Void> third = writeBehindQueue.submitUpdate(ACCOUNT, () -> record("third"));
+
+		firstResponse.onComplete();
+
+		assertEquals(Arrays.asList("first", "third"), sentWrites);
+		assertTrue(second == third);
+		assertEquals(1.0, meterRegistry.get("data-service.writes").tag("outcome", "coalesced").counter().count(), 0);
+	}
+
+	@Test
+	void testSubmit_retriesIdempotentWrites_butNotClientErrors() {
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<Void> retried = writeBehindQueue.submit(ACCOUNT, () -> attempts.incrementAndGet() == 1
+				? Mono.error(new IOException()) : record("retried"), true);
+		Mono<Void> rejected = writeBehindQueue.submit(OTHER_ACCOUNT, () -> Mono.error(
+				WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "", null, null, null)), true);
+
+		retried.block(Duration.ofSeconds(1));
+		assertThrows(WebClientResponseException.class, () -> rejected.block(Duration.ofSeconds(1)));
+
+		assertEquals(Collections.singletonList("retried"), sentWrites);
+		assertEquals(1.0, meterRegistry.get("data-service.writes.retries").counter().count(), 0);
+		assertEquals(1.0, meterRegistry.get("data-service.writes").tag("outcome", "failed").counter().count(), 0);
+	}
+
+	@Test
+	void testSubmit_throwsWriteQueueFullException_whenNoSpaceFreesUpInTime() {
+		MonoProcessor<Object> response = MonoProcessor.create();
+		for (int i = 0; i < 3; i++) {
+			writeBehindQueue.submit(ACCOUNT, () -> response, false);
+		}
+
+		assertThrows(WriteQueueFullException.class, () -> writeBehindQueue.submit(OTHER_ACCOUNT, Mono::empty, false));
+		assertFalse(writeBehindQueue.awaitDrained(Duration.ofMillis(10)));
+
+		response.onComplete();
+
+		assertTrue(writeBehindQueue.awaitDrained(Duration.ofSeconds(1)));
+	}
+
+	private Mono<Object> record(String write) {
+		return Mono.fromRunnable(() -> sentWrites.add(write));
+	}
+
+}
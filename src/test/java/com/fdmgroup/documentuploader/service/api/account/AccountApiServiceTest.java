@@ -0,0 +1,155 @@
+package com.fdmgroup.documentuploader.service.api.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Documents;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.enums.ApiUri;
+import com.fdmgroup.documentuploader.model.account.Account;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.account.servicelevel.ServiceLevel;
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.api.BinaryCodecNegotiator;
+import com.fdmgroup.documentuploader.service.api.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class AccountApiServiceTest {
+
+	private static final long ACCOUNT_ID = 1L;
+	private static final String SUMMARIES_PATH = ApiUri.ACCOUNTS.getUri() + ApiUri.SUMMARIES.getUri();
+	private static final String DOCUMENTS_PATH = ApiUri.ACCOUNTS.getUri() + "/" + ACCOUNT_ID
+			+ ApiUri.DOCUMENTS.getUri();
+	private static final String DOCUMENT_NAME = "test";
+
+	/**
+	 * Larger than the 256KB a {@link WebClient} buffers by default.
+	 */
+	private static final int LARGE_CONTENT_SIZE = 512 * 1024;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<ClientRequest> requests = new ArrayList<>();
+
+	@Mock
+	private BinaryCodecNegotiator mockCodecNegotiator;
+
+	private AccountSummary summary;
+	private AccountApiService accountApiService;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		DocumentSummary document = new DocumentSummary("test", "docx", 4);
+		document.setHash("hash");
+		this.summary = new AccountSummary(ACCOUNT_ID, "account", new User(), ServiceLevel.GOLD,
+				Collections.emptySet(), Collections.singleton(document));
+		WebClient webClient = WebClient.builder()
+				.exchangeFunction(request -> {
+					requests.add(request);
+					return Mono.just(respondTo(request));
+				})
+				.build();
+		this.accountApiService = new AccountApiService(webClient,
+				new ApplicationPropertiesBuilder().setDocuments(new Documents(true, 1024, 1)).build(),
+				new RequestCoalescer(new SimpleMeterRegistry()), mockCodecNegotiator);
+	}
+
+	/**
+	 * Answers like the data service, which only sends the metadata of the
+	 * documents of an account from its summaries endpoint, but responds to a
+	 * change of the documents with the whole account, contents included.
+	 */
+	private ClientResponse respondTo(ClientRequest request) {
+		String path = request.url().getPath();
+		if (SUMMARIES_PATH.equals(path)) {
+			return json(summary);
+		}
+		if (path.startsWith(DOCUMENTS_PATH)) {
+			Account account = new Account();
+			account.setId(ACCOUNT_ID);
+			account.setDocuments(Collections.singleton(new Document("large", "docx", new byte[LARGE_CONTENT_SIZE])));
+			return json(account);
+		}
+		return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+	}
+
+	private ClientResponse json(Object body) {
+		try {
+			return ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.body(objectMapper.writeValueAsString(body))
+					.build();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Test
+	void testFindSummaryById_requestsTheSummaryOfTheAccount_withoutTheContentsOfItsDocuments() {
+		Optional<AccountSummary> actual = accountApiService.findSummaryById(ACCOUNT_ID);
+
+		assertTrue(actual.isPresent());
+		assertEquals(summary.getDocuments(), actual.get().getDocuments());
+		assertEquals("id=" + ACCOUNT_ID, requests.get(0).url().getQuery());
+	}
+
+	@Test
+	void testAddDocumentToAccountByAccountId_returnsTheSummary_whenTheUpdatedAccountIsLargerThanTheBufferLimit() {
+		when(mockCodecNegotiator.send(any())).thenAnswer(invocation -> invocation
+				.<Function<MediaType, Mono<?>>>getArgument(0).apply(MediaType.APPLICATION_JSON));
+
+		AccountSummary actual = accountApiService.addDocumentToAccountByAccountId(
+				new Document(DOCUMENT_NAME, "docx", new byte[4]), ACCOUNT_ID);
+
+		assertEquals(summary.getDocuments(), actual.getDocuments());
+	}
+
+	@Test
+	void testAddDocumentStreamToAccountByAccountId_returnsTheSummary_whenTheUpdatedAccountIsLargerThanTheBufferLimit()
+			throws IOException {
+		AccountSummary actual = accountApiService.addDocumentStreamToAccountByAccountId(DOCUMENT_NAME, "docx",
+				new ByteArrayResource(new byte[4]), ACCOUNT_ID);
+
+		assertEquals(summary.getDocuments(), actual.getDocuments());
+	}
+
+	@Test
+	void testAddDocumentReferenceToAccountByAccountId_returnsTheSummary_whenTheUpdatedAccountIsLargerThanTheBufferLimit() {
+		Optional<AccountSummary> actual = accountApiService.addDocumentReferenceToAccountByAccountId(DOCUMENT_NAME,
+				"docx", "hash", ACCOUNT_ID);
+
+		assertEquals(summary.getDocuments(), actual.get().getDocuments());
+	}
+
+	@Test
+	void testRemoveDocumentFromAccountByAccountId_returnsTheSummary_whenTheUpdatedAccountIsLargerThanTheBufferLimit() {
+		AccountSummary actual = accountApiService.removeDocumentFromAccountByAccountId(DOCUMENT_NAME, ACCOUNT_ID);
+
+		assertEquals(summary.getDocuments(), actual.getDocuments());
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.fdmgroup.documentuploader.service.api.document;
+
+import com.fdmgroup.documentuploader.service.api.BinaryCodecNegotiator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentApiServiceTest {
+
+	private static final String NAME = "test";
+	private static final String CONTENT = "0123456789";
+
+	@Mock
+	private BinaryCodecNegotiator mockCodecNegotiator;
+
+	private ClientResponse response;
+	private DocumentApiService documentApiService;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		WebClient webClient = WebClient.builder()
+				.exchangeFunction(request -> Mono.just(response))
+				.build();
+		this.documentApiService = new DocumentApiService(webClient, mockCodecNegotiator);
+	}
+
+	@Test
+	void testFindContentRangeByName_passesOnThePartialContent_whenTheDataServiceSendsTheRequestedRange() {
+		this.response = ClientResponse.create(HttpStatus.PARTIAL_CONTENT)
+				.header(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10")
+				.body("2345")
+				.build();
+
+		assertEquals("2345", findContentRange(2, 5));
+	}
+
+	@Test
+	void testFindContentRangeByName_cutsTheRangeFromTheContents_whenTheDataServiceSendsThemWhole() {
+		this.response = ClientResponse.create(HttpStatus.OK)
+				.body(CONTENT)
+				.build();
+
+		assertEquals("2345", findContentRange(2, 5));
+	}
+
+	@Test
+	void testFindContentRangeByName_cutsTheRangeFromALargerRange_sentByTheDataService() {
+		this.response = ClientResponse.create(HttpStatus.PARTIAL_CONTENT)
+				.header(HttpHeaders.CONTENT_RANGE, "bytes 1-8/10")
+				.body("12345678")
+				.build();
+
+		assertEquals("2345", findContentRange(2, 5));
+	}
+
+	@Test
+	void testFindContentRangeByName_fails_whenThePartialContentDoesNotHoldTheRequestedRange() {
+		this.response = ClientResponse.create(HttpStatus.PARTIAL_CONTENT)
+				.header(HttpHeaders.CONTENT_RANGE, "bytes 3-5/10")
+				.body("345")
+				.build();
+
+		assertThrows(WebClientResponseException.class, () -> findContentRange(2, 5));
+	}
+
+	@Test
+	void testFindContentRangeByName_fails_whenThePartialContentHasNoContentRange() {
+		this.response = ClientResponse.create(HttpStatus.PARTIAL_CONTENT)
+				.body("2345")
+				.build();
+
+		assertThrows(WebClientResponseException.class, () -> findContentRange(2, 5));
+	}
+
+	@Test
+	void testFindContentRangeByName_fails_whenTheDocumentIsNotFound() {
+		this.response = ClientResponse.create(HttpStatus.NOT_FOUND).build();
+
+		assertThrows(WebClientResponseException.NotFound.class, () -> findContentRange(2, 5));
+	}
+
+	private String findContentRange(long start, long end) {
+		DataBuffer content = DataBufferUtils.join(documentApiService.findContentRangeByName(NAME, start, end)).block();
+		try {
+			return content.toString(StandardCharsets.UTF_8);
+		} finally {
+			DataBufferUtils.release(content);
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.fdmgroup.documentuploader.service.api.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MeteredClientHttpConnectorTest {
+
+	private static final String RESPONSE_BODY = "{\"id\":1}";
+
+	private SimpleMeterRegistry meterRegistry;
+	private MonoProcessor<Void> dataServiceResponds;
+	private WebClient webClient;
+
+	@BeforeEach
+	void setup() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.dataServiceResponds = MonoProcessor.create();
+		ClientHttpConnector dataService = (method, uri, requestCallback) -> {
+			MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+			return requestCallback.apply(request)
+					.then(dataServiceResponds)
+					.then(Mono.fromSupplier(() -> {
+						if (uri.getPath().startsWith("/unreachable")) {
+							throw new IllegalStateException(new IOException());
+						}
+						MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+						response.setBody(RESPONSE_BODY);
+						return response;
+					}));
+		};
+		this.webClient = WebClient.builder()
+				.baseUrl("http://localhost")
+				.clientConnector(new MeteredClientHttpConnector(dataService, meterRegistry))
+				.build();
+	}
+
+	@Test
+	void testConnect_recordsLatencyBytesAndInFlightRequests_taggedByResource() {
+		MonoProcessor<String> response = webClient.put()
+				.uri("/accounts/1/documents")
+				.bodyValue("document")
+				.retrieve()
+				.bodyToMono(String.class)
+				.toProcessor();
+
+		assertEquals(1.0, inFlight("/accounts"), 0);
+
+		dataServiceResponds.onComplete();
+
+		assertEquals(RESPONSE_BODY, response.block());
+		assertEquals(0.0, inFlight("/accounts"), 0);
+		assertEquals(1, meterRegistry.get("data-service.requests")
+				.tags("uri", "/accounts", "method", "PUT", "status", "200").timer().count());
+		assertEquals("document".length(), meterRegistry.get("data-service.request.bytes")
+				.tags("uri", "/accounts", "method", "PUT").counter().count(), 0);
+		assertEquals(RESPONSE_BODY.length(), meterRegistry.get("data-service.response.bytes")
+				.tags("uri", "/accounts", "method", "PUT").counter().count(), 0);
+	}
+
+	@Test
+	void testConnect_tagsRequestsWhichReceiveNoResponse_withIoErrorAndOtherUri() {
+		dataServiceResponds.onComplete();
+
+		assertThrows(RuntimeException.class, () -> webClient.get()
+				.uri("/unreachable")
+				.retrieve()
+				.bodyToMono(String.class)
+				.block());
+
+		assertEquals(1, meterRegistry.get("data-service.requests")
+				.tags("uri", "other", "method", "GET", "status", "IO_ERROR").timer().count());
+		assertEquals(0.0, inFlight("other"), 0);
+	}
+
+	private double inFlight(String uri) {
+		return meterRegistry.get("data-service.requests.in-flight").tag("uri", uri).gauge().value();
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.fdmgroup.documentuploader.service.api.resilience;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Resilience;
+import com.fdmgroup.documentuploader.enums.ApiUri;
+import com.fdmgroup.documentuploader.exception.DataServiceUnavailableException;
+import com.fdmgroup.documentuploader.service.api.resilience.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataServiceResilienceFilterTest {
+
+	private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+	@Mock
+	private MessageSource mockMessageSource;
+
+	private SimpleMeterRegistry meterRegistry;
+	private MutableClock clock;
+	private DataServiceResilienceFilter resilienceFilter;
+
+	private final AtomicInteger requestsSent = new AtomicInteger();
+	private final Deque<HttpStatus> responses = new ArrayDeque<>();
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setResilience(new Resilience(2, Duration.ofMillis(1), 2, OPEN_DURATION))
+				.build();
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.clock = new MutableClock();
+		this.resilienceFilter = new DataServiceResilienceFilter(applicationProperties, mockMessageSource,
+				meterRegistry, clock);
+	}
+
+	@Test
+	void testFilter_retriesReadsWhichFailWithServerErrors() {
+		responses.addAll(Arrays.asList(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.BAD_GATEWAY, HttpStatus.OK));
+
+		ClientResponse response = send(HttpMethod.GET, "/accounts/1").block();
+
+		assertEquals(HttpStatus.OK, response.statusCode());
+		assertEquals(3, requestsSent.get());
+		assertEquals(2.0, meterRegistry.get("data-service.reads.retries").tag("uri", "/accounts").counter().count(), 0);
+		assertEquals(State.CLOSED, breaker(ApiUri.ACCOUNTS).getState());
+	}
+
+	@Test
+	void testFilter_passesOnClientErrorsAndWrites_withoutRetryingThem() {
+		responses.addAll(Arrays.asList(HttpStatus.NOT_FOUND, HttpStatus.SERVICE_UNAVAILABLE));
+
+		assertEquals(HttpStatus.NOT_FOUND, send(HttpMethod.GET, "/users?email=a@email.com").block().statusCode());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, send(HttpMethod.PUT, "/accounts/1").block().statusCode());
+		assertEquals(2, requestsSent.get());
+	}
+
+	@Test
+	void testFilter_failsReadsImmediately_whileTheCircuitBreakerIsOpen() {
+		failEveryAttempt(2);
+
+		assertEquals(State.OPEN, breaker(ApiUri.DOCUMENTS).getState());
+		int requestsBeforeOpening = requestsSent.get();
+		assertThrows(DataServiceUnavailableException.class, () -> send(HttpMethod.GET, "/documents/1").block());
+		assertEquals(requestsBeforeOpening, requestsSent.get());
+
+		responses.add(HttpStatus.OK);
+		assertEquals(HttpStatus.OK, send(HttpMethod.GET, "/users/1").block().statusCode());
+	}
+
+	@Test
+	void testFilter_closesTheCircuitBreaker_whenTheTrialReadAfterTheOpenDurationSucceeds() {
+		failEveryAttempt(2);
+		clock.advance(OPEN_DURATION);
+		responses.add(HttpStatus.OK);
+
+		assertEquals(HttpStatus.OK, send(HttpMethod.GET, "/documents/1").block().statusCode());
+		assertEquals(State.CLOSED, breaker(ApiUri.DOCUMENTS).getState());
+	}
+
+	/**
+	 * Sends the given number of reads from {@code /documents}, each of which
+	 * fails on every attempt.
+	 */
+	private void failEveryAttempt(int reads) {
+		for (int i = 0; i < reads; i++) {
+			responses.addAll(Arrays.asList(HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR,
+					HttpStatus.INTERNAL_SERVER_ERROR));
+			assertThrows(WebClientResponseException.InternalServerError.class,
+					() -> send(HttpMethod.GET, "/documents/1").block());
+		}
+	}
+
+	private Mono<ClientResponse> send(HttpMethod method, String path) {
+		ClientRequest request = ClientRequest.create(method, URI.create("http://localhost" + path)).build();
+		return resilienceFilter.filter(request, sent -> Mono.fromSupplier(() -> {
+			requestsSent.incrementAndGet();
+			return ClientResponse.create(responses.poll()).build();
+		}));
+	}
+
+	private CircuitBreaker breaker(ApiUri apiUri) {
+		return resilienceFilter.getCircuitBreakers().get(apiUri);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.EPOCH;
+
+		private void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.fdmgroup.documentuploader.service.api.user;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.UserCache;
+import com.fdmgroup.documentuploader.model.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+class CachingUserApiServiceTest {
+
+	private static final long USER_ID = 1L;
+	private static final String EMAIL = "testEmail@email.com";
+
+	private CachingUserApiService cachingUserApiService;
+
+	@Mock
+	private UserApiService mockUserApiService;
+
+	@Mock
+	private User mockUser;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setUserCache(new UserCache(Duration.ofMinutes(1), 100))
+				.build();
+		this.cachingUserApiService = new CachingUserApiService(mockUserApiService, applicationProperties,
+				new SimpleMeterRegistry());
+		when(mockUser.getId()).thenReturn(USER_ID);
+		when(mockUser.getEmail()).thenReturn(EMAIL);
+		when(mockUserApiService.findByEmail(EMAIL)).thenReturn(Optional.of(mockUser));
+		when(mockUserApiService.findById(USER_ID)).thenReturn(Optional.of(mockUser));
+	}
+
+	@Test
+	void testFindByEmail_callsUserApiServiceOnce_andCachesTheUserByEmailAndId() {
+		cachingUserApiService.findByEmail(EMAIL);
+		cachingUserApiService.findByEmail(EMAIL);
+		cachingUserApiService.findById(USER_ID);
+
+		verify(mockUserApiService, times(1)).findByEmail(EMAIL);
+		verify(mockUserApiService, never()).findById(anyLong());
+	}
+
+	@Test
+	void testFindByEmail_doesNotCacheUsersWhichAreNotFound() {
+		when(mockUserApiService.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+		Optional<User> first = cachingUserApiService.findByEmail(EMAIL);
+		cachingUserApiService.findByEmail(EMAIL);
+
+		assertFalse(first.isPresent());
+		verify(mockUserApiService, times(2)).findByEmail(EMAIL);
+	}
+
+	@Test
+	void testFindByIdAsync_sharesTheCacheWithTheBlockingLookups() {
+		when(mockUserApiService.findByIdAsync(USER_ID)).thenReturn(Mono.just(mockUser));
+
+		assertEquals(USER_ID, cachingUserApiService.findByIdAsync(USER_ID).block().getId());
+		cachingUserApiService.findByIdAsync(USER_ID).block();
+		cachingUserApiService.findById(USER_ID);
+		cachingUserApiService.findByEmail(EMAIL);
+
+		verify(mockUserApiService, times(1)).findByIdAsync(USER_ID);
+		verify(mockUserApiService, never()).findById(anyLong());
+		verify(mockUserApiService, never()).findByEmail(anyString());
+	}
+
+	@Test
+	void testFindById_returnsACopy_soChangingTheReturnedUserDoesNotChangeTheCache() {
+		User user = new User();
+		user.setId(USER_ID);
+		user.setEmail(EMAIL);
+		user.setPassword("password");
+		when(mockUserApiService.findById(USER_ID)).thenReturn(Optional.of(user));
+
+		cachingUserApiService.findById(USER_ID).get().setPassword("changed");
+		cachingUserApiService.findByEmail(EMAIL).get().setPassword("changed");
+		cachingUserApiService.findByIdAsync(USER_ID).block().setPassword("changed");
+
+		assertEquals("password", cachingUserApiService.findById(USER_ID).get().getPassword());
+		assertEquals("password", cachingUserApiService.findByEmail(EMAIL).get().getPassword());
+		assertEquals("password", user.getPassword());
+		verify(mockUserApiService, times(1)).findById(USER_ID);
+	}
+
+	@Test
+	void testUpdate_invalidatesTheCachedUser() {
+		when(mockUserApiService.update(mockUser)).thenReturn(Mono.just(mockUser));
+		cachingUserApiService.findById(USER_ID);
+
+		cachingUserApiService.update(mockUser).block();
+		cachingUserApiService.findById(USER_ID);
+		cachingUserApiService.findByEmail(EMAIL);
+
+		verify(mockUserApiService, times(2)).findById(USER_ID);
+		verify(mockUserApiService, never()).findByEmail(EMAIL);
+	}
+
+	@Test
+	void testDeleteById_invalidatesTheCachedUser() {
+		when(mockUserApiService.deleteById(USER_ID)).thenReturn(Mono.just(mockUser));
+		cachingUserApiService.findByEmail(EMAIL);
+
+		cachingUserApiService.deleteById(USER_ID).block();
+		cachingUserApiService.findByEmail(EMAIL);
+
+		verify(mockUserApiService, times(2)).findByEmail(EMAIL);
+	}
+
+	@Test
+	void testChangePassword_invalidatesTheCachedUser() {
+		cachingUserApiService.findByEmail(EMAIL);
+
+		cachingUserApiService.changePassword(EMAIL, "newPassword", "token");
+		Optional<User> actual = cachingUserApiService.findById(USER_ID);
+
+		assertEquals(USER_ID, actual.get().getId());
+		verify(mockUserApiService, times(1)).findById(USER_ID);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.fdmgroup.documentuploader.service.document;
+
+import com.fdmgroup.documentuploader.model.document.Document;
+import com.fdmgroup.documentuploader.model.document.DocumentSummary;
+import com.fdmgroup.documentuploader.service.api.WriteBehindQueue;
+import com.fdmgroup.documentuploader.service.api.document.AbstractDocumentApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentServiceTest {
+
+	private static final String NAME = "text";
+	private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+	@Mock
+	private AbstractDocumentApiService mockDocumentApiService;
+
+	@Mock
+	private WriteBehindQueue mockWriteBehindQueue;
+
+	private DocumentService documentService;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		this.documentService = new DocumentService(mockDocumentApiService, mockWriteBehindQueue);
+		DocumentSummary summary = new DocumentSummary();
+		summary.setId(1);
+		summary.setName(NAME);
+		summary.setExtension("txt");
+		summary.setHash(HASH);
+		when(mockDocumentApiService.findSummaryByName(NAME)).thenReturn(Optional.of(summary));
+	}
+
+	@Test
+	void testFindByName_returnsDocumentWithoutRetrievingItsContents() {
+		Document document = documentService.findByName(NAME).get();
+
+		assertEquals(NAME, document.getName());
+		assertEquals(HASH, document.getHash());
+		assertFalse(document.isContentLoaded());
+		verify(mockDocumentApiService, never()).findByName(anyString());
+		verify(mockDocumentApiService, never()).findContentByName(anyString());
+	}
+
+	@Test
+	void testOpenStream_streamsTheContentsEachTime_withoutKeepingThem() throws IOException {
+		when(mockDocumentApiService.findContentByName(NAME)).thenAnswer(invocation -> contents());
+		Document document = documentService.findByName(NAME).get();
+
+		for (int i = 0; i < 2; i++) {
+			try (InputStream inputStream = document.openStream()) {
+				assertEquals("tested", new String(StreamUtils.copyToByteArray(inputStream), StandardCharsets.UTF_8));
+			}
+		}
+
+		assertFalse(document.isContentLoaded());
+		verify(mockDocumentApiService, times(2)).findContentByName(NAME);
+	}
+
+	@Test
+	void testOpenStream_cancelsTheRestOfTheContents_whenClosedEarly() throws IOException {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		when(mockDocumentApiService.findContentByName(NAME))
+				.thenReturn(contents().doOnCancel(() -> cancelled.set(true)));
+		Document document = documentService.findByName(NAME).get();
+
+		try (InputStream inputStream = document.openStream()) {
+			assertEquals('t', inputStream.read());
+		}
+
+		assertTrue(cancelled.get());
+	}
+
+	@Test
+	void testGetContent_loadsTheContentsOnce() {
+		when(mockDocumentApiService.findContentByName(NAME)).thenAnswer(invocation -> contents());
+		Document document = documentService.findByName(NAME).get();
+
+		assertEquals("tested", new String(document.getContent(), StandardCharsets.UTF_8));
+		assertEquals("tested", new String(document.getContent(), StandardCharsets.UTF_8));
+
+		assertTrue(document.isContentLoaded());
+		verify(mockDocumentApiService, times(1)).findContentByName(NAME);
+	}
+
+	private Flux<DataBuffer> contents() {
+		return Flux.just("te", "st", "ed")
+				.map(this::buffer);
+	}
+
+	private DataBuffer buffer(String content) {
+		return new DefaultDataBufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
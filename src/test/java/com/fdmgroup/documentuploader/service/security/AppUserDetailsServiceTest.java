@@ -1,6 +1,7 @@
 package com.fdmgroup.documentuploader.service.security;
 
 
+import com.fdmgroup.documentuploader.model.user.AuthGroup;
 import com.fdmgroup.documentuploader.model.user.User;
 import com.fdmgroup.documentuploader.security.AppUserPrincipal;
 import com.fdmgroup.documentuploader.service.user.UserService;
@@ -9,14 +10,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 
+import java.time.Duration;
 import java.util.Collections;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,20 +45,22 @@ class AppUserDetailsServiceTest {
     void setup() {
         MockitoAnnotations.initMocks(this);
         this.appUserDetailsService = new AppUserDetailsService(mockUserService, mockAuthGroupService);
+        when(mockAuthGroupService.findByUsernameAsync(TEST_USERNAME)).thenReturn(Mono.just(Collections.emptyList()));
+        when(mockUserService.hasActivatedAccountAsync(TEST_USERNAME)).thenReturn(Mono.just(false));
     }
 
     @Test
-    void testLoadUserByUsername_callsUserServiceFindByEmail() {
-        when(mockUserService.findByEmail(TEST_USERNAME)).thenReturn(Optional.of(mockUser));
+    void testLoadUserByUsername_callsUserServiceFindByEmailAsync() {
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
 
         appUserDetailsService.loadUserByUsername(TEST_USERNAME);
 
-        verify(mockUserService).findByEmail(TEST_USERNAME);
+        verify(mockUserService).findByEmailAsync(TEST_USERNAME);
     }
 
     @Test
     void testLoadUserByUsername_throwsUsernameNotFoundException_whenUsernameNotFound() {
-        when(mockUserService.findByEmail(TEST_USERNAME)).thenReturn(Optional.empty());
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.empty());
 
         assertThrows(UsernameNotFoundException.class,
                 () -> appUserDetailsService.loadUserByUsername(TEST_USERNAME));
@@ -57,27 +68,65 @@ class AppUserDetailsServiceTest {
 
     @Test
     void testLoadByUsername_doesNotThrowUsernameNotFoundException_whenUsernameIsNotFound() {
-        when(mockUserService.findByEmail(TEST_USERNAME)).thenReturn(Optional.of(mockUser));
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
 
         Assertions.assertDoesNotThrow(() -> appUserDetailsService.loadUserByUsername(TEST_USERNAME));
     }
 
     @Test
-    void testLoadUserByUsername_callsAuthGroupServiceFindByUsername() {
-        when(mockUserService.findByEmail(TEST_USERNAME)).thenReturn(Optional.of(mockUser));
+    void testLoadUserByUsername_callsAuthGroupServiceFindByUsernameAsync() {
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
 
         appUserDetailsService.loadUserByUsername(TEST_USERNAME);
 
-        verify(mockAuthGroupService).findByUsername(TEST_USERNAME);
+        verify(mockAuthGroupService).findByUsernameAsync(TEST_USERNAME);
     }
 
     @Test
     void testLoadByUsername_returnsUserDetailsWithUserAndAuthGroups() {
-        when(mockUserService.findByEmail(TEST_USERNAME)).thenReturn(Optional.of(mockUser));
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
 
         UserDetails userDetails = appUserDetailsService.loadUserByUsername(TEST_USERNAME);
 
-        UserDetails expected = new AppUserPrincipal(mockUserService, mockUser, Collections.emptyList());
+        UserDetails expected = new AppUserPrincipal(mockUser, Collections.emptyList(), false);
         assertEquals(expected, userDetails);
     }
+
+    @Test
+    void testLoadUserByUsername_resolvesEnabledOnce_whenPrincipalIsCheckedRepeatedly() {
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
+        when(mockUserService.hasActivatedAccountAsync(TEST_USERNAME)).thenReturn(Mono.just(true));
+
+        UserDetails userDetails = appUserDetailsService.loadUserByUsername(TEST_USERNAME);
+        userDetails.isEnabled();
+
+        assertTrue(userDetails.isEnabled());
+        verify(mockUserService, times(1)).hasActivatedAccountAsync(TEST_USERNAME);
+    }
+
+    @Test
+    void testLoadUserByUsername_fetchesUserAndAuthGroupsConcurrently() {
+        MonoProcessor<Void> authGroupsRequested = MonoProcessor.create();
+        when(mockUserService.findByEmailAsync(TEST_USERNAME))
+                .thenReturn(authGroupsRequested.then(Mono.just(mockUser)));
+        when(mockAuthGroupService.findByUsernameAsync(TEST_USERNAME))
+                .thenReturn(Mono.just(Collections.<AuthGroup>emptyList())
+                        .doOnSubscribe(subscription -> authGroupsRequested.onComplete()));
+
+        UserDetails userDetails = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> appUserDetailsService.loadUserByUsername(TEST_USERNAME));
+
+        assertEquals(new AppUserPrincipal(mockUser, Collections.emptyList(), false), userDetails);
+    }
+
+    @Test
+    void testLoadUserByUsername_treatsUserAsDisabled_whenEnabledCheckReturnsNotFound() {
+        when(mockUserService.findByEmailAsync(TEST_USERNAME)).thenReturn(Mono.just(mockUser));
+        when(mockUserService.hasActivatedAccountAsync(TEST_USERNAME)).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null)));
+
+        UserDetails userDetails = appUserDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        assertFalse(userDetails.isEnabled());
+    }
 }
@@ -0,0 +1,137 @@
+package com.fdmgroup.documentuploader.service.session;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Session;
+import com.fdmgroup.documentuploader.enums.AttributeName;
+import com.fdmgroup.documentuploader.exception.SessionExpiredException;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.user.User;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import com.fdmgroup.documentuploader.service.user.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpSession;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class SessionServiceTest {
+
+	private static final long USER_ID = 1L;
+	private static final long ACCOUNT_ID = 2L;
+
+	private SessionService sessionService;
+
+	private MockHttpSession session;
+
+	@Mock
+	private UserService mockUserService;
+
+	@Mock
+	private AccountService mockAccountService;
+
+	@Mock
+	private MessageSource mockMessageSource;
+
+	@Mock
+	private User mockUser;
+
+	@Mock
+	private AccountSummary mockAccount;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setSession(new Session(Duration.ofMinutes(1), 100))
+				.build();
+		this.sessionService = new SessionService(mockUserService, mockAccountService, mockMessageSource,
+				applicationProperties, new SimpleMeterRegistry());
+		this.session = new MockHttpSession();
+		when(mockUser.getId()).thenReturn(USER_ID);
+		when(mockAccount.getId()).thenReturn(ACCOUNT_ID);
+	}
+
+	@Test
+	void testGetCurrentUser_throwsSessionExpiredException_whenNoUserIdIsStoredInTheSession() {
+		assertThrows(SessionExpiredException.class, () -> sessionService.getCurrentUser(session));
+	}
+
+	@Test
+	void testGetCurrentUser_throwsSessionExpiredException_whenTheUserNoLongerExists() {
+		session.setAttribute(AttributeName.USER_ID.getValue(), USER_ID);
+		when(mockUserService.findById(USER_ID)).thenReturn(Optional.empty());
+
+		assertThrows(SessionExpiredException.class, () -> sessionService.getCurrentUser(session));
+	}
+
+	@Test
+	void testGetCurrentUser_resolvesTheUserIdStoredInTheSession() {
+		when(mockUserService.findById(USER_ID)).thenReturn(Optional.of(mockUser));
+
+		sessionService.setCurrentUser(session, mockUser);
+		User actual = sessionService.getCurrentUser(session);
+
+		assertSame(mockUser, actual);
+		assertEquals(USER_ID, session.getAttribute(AttributeName.USER_ID.getValue()));
+	}
+
+	@Test
+	void testGetCurrentUserAsync_failsWithSessionExpiredException_whenNoUserIdIsStoredInTheSession() {
+		Mono<User> user = sessionService.getCurrentUserAsync(session);
+
+		assertThrows(SessionExpiredException.class, user::block);
+		verify(mockUserService, never()).findByIdAsync(anyLong());
+	}
+
+	@Test
+	void testGetCurrentUserAsync_failsWithSessionExpiredException_whenTheUserNoLongerExists() {
+		session.setAttribute(AttributeName.USER_ID.getValue(), USER_ID);
+		when(mockUserService.findByIdAsync(USER_ID)).thenReturn(Mono.empty());
+
+		assertThrows(SessionExpiredException.class, () -> sessionService.getCurrentUserAsync(session).block());
+	}
+
+	@Test
+	void testGetCurrentUserAsync_resolvesTheUserIdStoredInTheSession_withoutBlockingLookups() {
+		when(mockUserService.findByIdAsync(USER_ID)).thenReturn(Mono.just(mockUser));
+
+		sessionService.setCurrentUser(session, mockUser);
+
+		assertSame(mockUser, sessionService.getCurrentUserAsync(session).block());
+		verify(mockUserService, never()).findById(anyLong());
+	}
+
+	@Test
+	void testSetCurrentAccount_storesOnlyTheAccountIdInTheSession() {
+		sessionService.setCurrentAccount(session, mockAccount);
+
+		assertEquals(ACCOUNT_ID, session.getAttribute(AttributeName.ACCOUNT_ID.getValue()));
+		assertEquals(1, session.getValueNames().length);
+		assertSame(mockAccount, sessionService.getCurrentAccount(session));
+		verify(mockAccountService, never()).findSummaryById(anyLong());
+	}
+
+	@Test
+	void testRefreshAccount_replacesThePreviouslyResolvedAccount() {
+		AccountSummary updatedAccount = mock(AccountSummary.class);
+		when(updatedAccount.getId()).thenReturn(ACCOUNT_ID);
+		sessionService.setCurrentAccount(session, mockAccount);
+
+		sessionService.refreshAccount(updatedAccount);
+
+		assertSame(updatedAccount, sessionService.getCurrentAccount(session));
+	}
+
+}
@@ -0,0 +1,225 @@
+package com.fdmgroup.documentuploader.service.upload;
+
+import com.fdmgroup.documentuploader.config.ApplicationProperties;
+import com.fdmgroup.documentuploader.config.ApplicationPropertiesBuilder;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.ChunkedUpload;
+import com.fdmgroup.documentuploader.config.ApplicationProperties.Documents;
+import com.fdmgroup.documentuploader.exception.InvalidChunkException;
+import com.fdmgroup.documentuploader.exception.UploadSessionNotFoundException;
+import com.fdmgroup.documentuploader.model.account.AccountSummary;
+import com.fdmgroup.documentuploader.model.upload.UploadSession;
+import com.fdmgroup.documentuploader.service.account.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+	private static final long ACCOUNT_ID = 1L;
+	private static final String FILE_NAME = "text.txt";
+	private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+	private static final long CHUNK_SIZE = 4;
+	private static final int MAX_SESSIONS = 2;
+	private static final long MAX_STAGED_SIZE = 25;
+
+	@TempDir
+	Path stagingDirectory;
+
+	private ChunkedUploadService chunkedUploadService;
+
+	@Mock
+	private AccountService mockAccountService;
+
+	@Mock
+	private MessageSource mockMessageSource;
+
+	@Mock
+	private AccountSummary mockAccount;
+
+	@BeforeEach
+	void setup() {
+		MockitoAnnotations.initMocks(this);
+		ApplicationProperties applicationProperties = new ApplicationPropertiesBuilder()
+				.setDocuments(new Documents(true, 3, 1))
+				.setChunkedUpload(new ChunkedUpload(stagingDirectory, DataSize.ofBytes(CHUNK_SIZE),
+						DataSize.ofBytes(100), Duration.ofMinutes(1), MAX_SESSIONS, DataSize.ofBytes(MAX_STAGED_SIZE)))
+				.build();
+		this.chunkedUploadService = new ChunkedUploadService(mockAccountService, mockMessageSource,
+				applicationProperties);
+		when(mockAccount.getId()).thenReturn(ACCOUNT_ID);
+	}
+
+	@Test
+	void testWriteChunk_assemblesTheFile_whenChunksArriveOutOfOrder() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+
+		writeChunk(session, 8);
+		writeChunk(session, 0);
+		writeChunk(session, 4);
+
+		assertTrue(session.isComplete());
+		assertEquals(CONTENT.length, session.getReceivedBytes());
+		assertArrayEquals(CONTENT, Files.readAllBytes(session.getStagingFile()));
+	}
+
+	@Test
+	void testGetSession_reportsMissingChunks_soAnInterruptedUploadCanResume() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		writeChunk(session, 4);
+
+		UploadSession progress = chunkedUploadService.getSession(session.getId(), ACCOUNT_ID);
+
+		assertEquals(Arrays.asList(0, 2), progress.getMissingChunks());
+		assertEquals(CHUNK_SIZE, progress.getReceivedBytes());
+	}
+
+	@Test
+	void testWriteChunk_throwsInvalidChunkException_whenOffsetIsNotAtAChunkBoundary() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+
+		assertThrows(InvalidChunkException.class, () -> chunkedUploadService.writeChunk(session.getId(), ACCOUNT_ID, 3,
+				new ByteArrayInputStream(CONTENT, 3, 4)));
+	}
+
+	@Test
+	void testWriteChunk_throwsInvalidChunkException_whenChunkIsLongerThanExpected() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+
+		assertThrows(InvalidChunkException.class, () -> chunkedUploadService.writeChunk(session.getId(), ACCOUNT_ID, 0,
+				new ByteArrayInputStream(CONTENT)));
+		assertEquals(Arrays.asList(0, 1, 2), session.getMissingChunks());
+	}
+
+	@Test
+	void testGetSession_throwsUploadSessionNotFoundException_forADifferentAccount() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+
+		assertThrows(UploadSessionNotFoundException.class, () -> chunkedUploadService.getSession(session.getId(), 2L));
+	}
+
+	@Test
+	void testCompleteSession_throwsInvalidChunkException_whenChunksAreMissing() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		writeChunk(session, 0);
+
+		assertThrows(InvalidChunkException.class,
+				() -> chunkedUploadService.completeSession(session.getId(), mockAccount));
+		verify(mockAccountService, never()).addFileToAccount(any(MultipartFile.class), any(AccountSummary.class));
+	}
+
+	@Test
+	void testCompleteSession_addsStagedFileToAccount_andRemovesTheSession() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		writeChunk(session, 0);
+		writeChunk(session, 4);
+		writeChunk(session, 8);
+		ArgumentCaptor<MultipartFile> fileCaptor = ArgumentCaptor.forClass(MultipartFile.class);
+		when(mockAccountService.addFileToAccount(fileCaptor.capture(), any(AccountSummary.class))).thenAnswer(invocation -> {
+			MultipartFile file = invocation.getArgument(0);
+			assertArrayEquals(CONTENT, file.getBytes());
+			return mockAccount;
+		});
+
+		chunkedUploadService.completeSession(session.getId(), mockAccount);
+
+		assertEquals(FILE_NAME, fileCaptor.getValue().getOriginalFilename());
+		assertFalse(Files.exists(session.getStagingFile()));
+		assertThrows(UploadSessionNotFoundException.class,
+				() -> chunkedUploadService.getSession(session.getId(), ACCOUNT_ID));
+	}
+
+	@Test
+	void testWriteChunk_throwsInvalidChunkException_whileTheSessionIsBeingCompleted() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		writeChunk(session, 0);
+		writeChunk(session, 4);
+		writeChunk(session, 8);
+		when(mockAccountService.addFileToAccount(any(MultipartFile.class), any(AccountSummary.class)))
+				.thenAnswer(invocation -> {
+					assertThrows(InvalidChunkException.class, () -> writeChunk(session, 0));
+					return mockAccount;
+				});
+
+		chunkedUploadService.completeSession(session.getId(), mockAccount);
+
+		verify(mockAccountService).addFileToAccount(any(MultipartFile.class), any(AccountSummary.class));
+	}
+
+	@Test
+	void testWriteChunk_throwsUploadSessionNotFoundException_whenTheStagingFileWasRemoved() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		Files.delete(session.getStagingFile());
+
+		assertThrows(UploadSessionNotFoundException.class, () -> writeChunk(session, 0));
+		assertFalse(Files.exists(session.getStagingFile()));
+	}
+
+	@Test
+	void testCreateSession_throwsInvalidChunkException_whenTheAccountHasTooManyUnfinishedUploads()
+			throws IOException {
+		for (int i = 0; i < MAX_SESSIONS; i++) {
+			chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		}
+
+		assertThrows(InvalidChunkException.class,
+				() -> chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length));
+		chunkedUploadService.createSession(2L, FILE_NAME, CONTENT.length);
+	}
+
+	@Test
+	void testCreateSession_throwsInvalidChunkException_whenTheAccountWouldStageTooMuchData() throws IOException {
+		chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+
+		assertThrows(InvalidChunkException.class,
+				() -> chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, MAX_STAGED_SIZE));
+		try (DirectoryStream<Path> stagingFiles = Files.newDirectoryStream(stagingDirectory)) {
+			assertEquals(1, StreamSupport.stream(stagingFiles.spliterator(), false).count());
+		}
+	}
+
+	@Test
+	void testRemoveSessionsInactiveSince_removesAbandonedSessions_andDeletesTheirStagedChunks() throws IOException {
+		UploadSession session = chunkedUploadService.createSession(ACCOUNT_ID, FILE_NAME, CONTENT.length);
+		writeChunk(session, 0);
+
+		chunkedUploadService.removeSessionsInactiveSince(Instant.now().plusSeconds(1));
+
+		assertFalse(Files.exists(session.getStagingFile()));
+		assertThrows(UploadSessionNotFoundException.class,
+				() -> chunkedUploadService.getSession(session.getId(), ACCOUNT_ID));
+	}
+
+	private void writeChunk(UploadSession session, int offset) throws IOException {
+		int length = (int) Math.min(CHUNK_SIZE, CONTENT.length - offset);
+		chunkedUploadService.writeChunk(session.getId(), ACCOUNT_ID, offset,
+				new ByteArrayInputStream(CONTENT, offset, length));
+	}
+
+}
@@ -1,11 +1,15 @@
 package com.fdmgroup.documentuploader.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.mock.web.MockMultipartFile;
 
 import com.fdmgroup.documentuploader.model.document.Document;
@@ -17,6 +21,7 @@ class DocumentUtilTest {
 	private static final String DOCX = "docx";
 	private static final String TEXT = "text";
 	private static final String FILE = "file";
+	private static final String TEST_SHA_256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
 
 	private MockMultipartFile mockMultipartFile;
 	
@@ -33,4 +38,34 @@ class DocumentUtilTest {
 		Document actual = DocumentUtil.createDocument(mockMultipartFile);
 		assertEquals(expected, actual);
 	}
+	
+	@Test
+	void testCreateDocumentMetadata_splitsTheNameAtTheLastDot() {
+		mockMultipartFile = new MockMultipartFile(FILE, "text.v2.docx", TEST, TEST.getBytes());
+		Document actual = DocumentUtil.createDocumentMetadata(mockMultipartFile);
+		assertEquals("text.v2", actual.getName());
+		assertEquals(DOCX, actual.getExtension());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = { "a.", ".a", TEXT })
+	void testHasValidFileName_returnsFalse_whenTheNameOrExtensionIsMissing(String fileName) {
+		assertFalse(DocumentUtil.hasValidFileName(fileName));
+	}
+	
+	@Test
+	void testHasValidFileName_returnsTrue_whenTheFileNameHasANameAndAnExtension() {
+		assertTrue(DocumentUtil.hasValidFileName(TEST_FILE_PATH));
+	}
+	
+	@Test
+	void testCalculateHash_returnsHexEncodedSha256OfFileContents() throws IOException {
+		mockMultipartFile = new MockMultipartFile(FILE, TEST_FILE_PATH, TEST, TEST.getBytes());
+		assertEquals(TEST_SHA_256, DocumentUtil.calculateHash(mockMultipartFile));
+	}
+	
+	@Test
+	void testCalculateHash_returnsTheSameHashForContentsAsForTheFileHoldingThem() {
+		assertEquals(TEST_SHA_256, DocumentUtil.calculateHash(TEST.getBytes()));
+	}
 }